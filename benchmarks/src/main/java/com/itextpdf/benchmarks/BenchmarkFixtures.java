@@ -0,0 +1,117 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Generates the documents the benchmarks are run against, so that no fixture files are needed.
+ */
+public final class BenchmarkFixtures {
+
+    /**
+     * The text which is written to the pages of the generated documents.
+     */
+    public static final String LOREM_IPSUM = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod "
+            + "tempor incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation "
+            + "ullamco laboris nisi ut aliquip ex ea commodo consequat.";
+
+    private static final int LINES_PER_PAGE = 60;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates a document which pages contain lines of text.
+     *
+     * @param numberOfPages   the number of pages
+     * @param fullCompression whether the document is written with object streams and a cross-reference stream
+     * @return the bytes of the document
+     * @throws IOException if the document cannot be created
+     */
+    public static byte[] createTextDocument(int numberOfPages, boolean fullCompression) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        WriterProperties properties = new WriterProperties().setFullCompressionMode(fullCompression);
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, properties))) {
+            PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            for (int i = 1; i <= numberOfPages; i++) {
+                PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+                canvas.beginText().setFontAndSize(font, 8).setLeading(12).moveText(20, 800);
+                for (int line = 0; line < LINES_PER_PAGE; line++) {
+                    canvas.newlineShowText(i + "." + line + " " + LOREM_IPSUM.substring(0, 100));
+                }
+                canvas.endText();
+                canvas.rectangle(20, 20, 555, 50).stroke();
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * Creates a content stream with the given number of text lines.
+     *
+     * @param numberOfLines the number of lines
+     * @return the bytes of the content stream
+     */
+    public static byte[] createContentStream(int numberOfLines) {
+        StringBuilder content = new StringBuilder("BT\n/F1 8 Tf\n12 TL\n20 800 Td\n");
+        for (int line = 0; line < numberOfLines; line++) {
+            content.append('(').append(LOREM_IPSUM, 0, 80).append(") Tj T*\n")
+                    .append("[(Kerned) -120 (text) 30.5 (line)] TJ\n")
+                    .append("0.5 0 0 RG 0.25 g 20 ").append(line).append(".5 m 575 ").append(line)
+                    .append(".5 l S\n");
+        }
+        content.append("ET\n");
+        return content.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
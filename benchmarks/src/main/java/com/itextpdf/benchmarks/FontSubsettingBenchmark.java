@@ -0,0 +1,120 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.font.PdfFontFactory.EmbeddingStrategy;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing of text with an embedded {@link com.itextpdf.kernel.font.PdfType0Font},
+ * including subsetting of the font program when the document is closed.
+ * <p>
+ * The FreeSans font is bundled with the benchmarks and loaded from the classpath. Another TrueType font
+ * can be measured by passing its path with {@code -p fontFile=...}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FontSubsettingBenchmark {
+
+    private static final String BUNDLED_FONT = "FreeSans.ttf";
+
+    @Param("")
+    public String fontFile;
+
+    private byte[] fontProgram;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream is = fontFile.isEmpty()
+                ? FontSubsettingBenchmark.class.getResourceAsStream(BUNDLED_FONT)
+                : new FileInputStream(fontFile)) {
+            if (is == null) {
+                throw new IOException(BUNDLED_FONT + " is not found on the classpath");
+            }
+            fontProgram = StreamUtil.inputStreamToArray(is);
+        }
+    }
+
+    @Benchmark
+    public int writeTextWithSubset() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfFont font = PdfFontFactory.createFont(fontProgram, PdfEncodings.IDENTITY_H,
+                    EmbeddingStrategy.FORCE_EMBEDDED);
+            PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+            canvas.beginText().setFontAndSize(font, 8).setLeading(12).moveText(20, 800);
+            for (int line = 0; line < 60; line++) {
+                canvas.newlineShowText(BenchmarkFixtures.LOREM_IPSUM.substring(line % 40, 100));
+            }
+            canvas.endText();
+        }
+        return baos.size();
+    }
+}
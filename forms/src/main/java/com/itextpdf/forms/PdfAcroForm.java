@@ -43,6 +43,7 @@
  */
 package com.itextpdf.forms;
 
+import com.itextpdf.forms.fields.FieldAppearanceCache;
 import com.itextpdf.forms.fields.PdfFormField;
 import com.itextpdf.forms.xfa.XfaForm;
 import com.itextpdf.io.LogMessageConstant;
@@ -74,12 +75,16 @@ import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * This class represents the static form technology AcroForm on a PDF file.
@@ -575,6 +580,47 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         return fields.get(fieldName);
     }
 
+    /**
+     * Sets the values of the {@link PdfFormField form field}s with the specified names and
+     * regenerates their appearances, like {@link PdfFormField#setValue(String)} does.
+     * The names of the fields which are not found in the document are logged and ignored.
+     *
+     * @param values the map from the field names to the field values
+     * @return this {@link PdfAcroForm} instance
+     */
+    public PdfAcroForm setFieldValues(Map<String, String> values) {
+        return setFieldValues(values, new FieldAppearanceCache());
+    }
+
+    /**
+     * Sets the values of the {@link PdfFormField form field}s with the specified names and
+     * regenerates their appearances, like {@link PdfFormField#setValue(String)} does.
+     * The names of the fields which are not found in the document are logged and ignored.
+     * <p>
+     * The data needed to regenerate the appearances which doesn't depend on the values, e.g. the parsed
+     * default appearances and the static parts of text field appearances, is taken from the cache.
+     * When the same {@link FieldAppearanceCache} is passed for each document created from the same
+     * form template, this data is computed only once for the whole batch.
+     *
+     * @param values          the map from the field names to the field values
+     * @param appearanceCache the {@link FieldAppearanceCache cache} shared between the documents
+     *                        created from the same template
+     * @return this {@link PdfAcroForm} instance
+     */
+    public PdfAcroForm setFieldValues(Map<String, String> values, FieldAppearanceCache appearanceCache) {
+        Map<String, PdfFormField> formFields = getFormFields();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            PdfFormField field = formFields.get(entry.getKey());
+            if (field == null) {
+                logger.warn(MessageFormatUtil.format(LogMessageConstant.FORM_FIELD_WITH_SUCH_NAME_NOT_FOUND,
+                        entry.getKey()));
+            } else {
+                field.setValue(entry.getValue(), appearanceCache);
+            }
+        }
+        return this;
+    }
+
     /**
      * Gets the attribute generateAppearance, which tells {@link #flattenFields()}
      * to generate an appearance Stream for all {@link PdfFormField form field}s
@@ -618,6 +664,23 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
      * flattened.
      */
     public void flattenFields() {
+        flattenFields(false);
+    }
+
+    /**
+     * Flattens interactive {@link PdfFormField form field}s in the document. If
+     * no fields have been explicitly included via {@link #partialFormFlattening},
+     * then all fields are flattened. Otherwise only the included fields are
+     * flattened.
+     * <p>
+     * If flushPages is <code>true</code>, the fields are grouped by the pages of their widgets
+     * and the pages are processed in order. Each page is flushed with {@link PdfPage#flush()}
+     * right after its fields are flattened, so that only one page and its resources are kept
+     * in memory at a time. Note that flushed pages can't be modified anymore.
+     *
+     * @param flushPages whether to flush each page as soon as its fields are flattened
+     */
+    public void flattenFields(boolean flushPages) {
         if (document.isAppendMode()) {
             throw new PdfException(PdfException.FieldFlatteningIsNotSupportedInAppendMode);
         }
@@ -632,112 +695,29 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
             }
         }
 
-        // In case of appearance resources and page resources are the same object, it would not be possible to add
-        // the xObject to the page resources. So in that case we would copy page resources and use the copy for
-        // xObject, so that circular reference is avoided.
-        // We copy beforehand firstly not to produce a copy every time, and secondly not to copy all the
-        // xObjects that have already been added to the page resources.
-        Map<Integer, PdfObject> initialPageResourceClones = new LinkedHashMap<>();
-        for (int i = 1; i <= document.getNumberOfPages(); i++) {
-            PdfObject resources = document.getPage(i).getPdfObject().getAsDictionary(PdfName.Resources);
-            initialPageResourceClones.put(i, resources == null ? null : resources.clone());
-        }
-
-        Set<PdfPage> wrappedPages = new LinkedHashSet<>();
-        PdfPage page;
-        for (PdfFormField field : fields) {
-            PdfDictionary fieldObject = field.getPdfObject();
-            page = getFieldPage(fieldObject);
-            if (page == null) {
-                continue;
-            }
-
-            PdfAnnotation annotation = PdfAnnotation.makeAnnotation(fieldObject);
-            TagTreePointer tagPointer = null;
-            if (annotation != null && document.isTagged()) {
-                tagPointer = document.getTagStructureContext().removeAnnotationTag(annotation);
+        if (flushPages) {
+            flattenFieldsPageByPage(fields);
+        } else {
+            // In case of appearance resources and page resources are the same object, it would not be possible to add
+            // the xObject to the page resources. So in that case we would copy page resources and use the copy for
+            // xObject, so that circular reference is avoided.
+            // We copy beforehand firstly not to produce a copy every time, and secondly not to copy all the
+            // xObjects that have already been added to the page resources.
+            Map<Integer, PdfObject> initialPageResourceClones = new LinkedHashMap<>();
+            for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                initialPageResourceClones.put(i, cloneInitialPageResources(document.getPage(i)));
             }
 
-            PdfDictionary appDic = fieldObject.getAsDictionary(PdfName.AP);
-            PdfObject asNormal = null;
-            if (appDic != null) {
-                asNormal = appDic.getAsStream(PdfName.N);
-                if (asNormal == null) {
-                    asNormal = appDic.getAsDictionary(PdfName.N);
-                }
-            }
-            if (generateAppearance) {
-                if (appDic == null || asNormal == null) {
-                    field.regenerateField();
-                    appDic = fieldObject.getAsDictionary(PdfName.AP);
-                }
-            }
-            PdfObject normal = appDic != null ? appDic.get(PdfName.N) : null;
-            if (null != normal) {
-                PdfFormXObject xObject = null;
-                if (normal.isStream()) {
-                    xObject = new PdfFormXObject((PdfStream) normal);
-                } else if (normal.isDictionary()) {
-                    PdfName as = fieldObject.getAsName(PdfName.AS);
-                    if (((PdfDictionary) normal).getAsStream(as) != null) {
-                        xObject = new PdfFormXObject(((PdfDictionary) normal).getAsStream(as));
-                        xObject.makeIndirect(document);
-                    }
+            Set<PdfPage> wrappedPages = new LinkedHashSet<>();
+            PdfPage page;
+            for (PdfFormField field : fields) {
+                page = getFieldPage(field.getPdfObject());
+                if (page == null) {
+                    continue;
                 }
-
-                if (xObject != null) {
-                    //subtype is required field for FormXObject, but can be omitted in normal appearance.
-                    xObject.put(PdfName.Subtype, PdfName.Form);
-                    Rectangle annotBBox = fieldObject.getAsRectangle(PdfName.Rect);
-                    if (page.isFlushed()) {
-                        throw new PdfException(PdfException.PageAlreadyFlushedUseAddFieldAppearanceToPageMethodBeforePageFlushing);
-                    }
-                    PdfCanvas canvas = new PdfCanvas(page, !wrappedPages.contains(page));
+                if (flattenField(field, page, !wrappedPages.contains(page),
+                        initialPageResourceClones.get(document.getPageNumber(page)))) {
                     wrappedPages.add(page);
-
-                    // Here we avoid circular reference which might occur when page resources and the appearance xObject's
-                    // resources are the same object
-                    PdfObject xObjectResources = xObject.getPdfObject().get(PdfName.Resources);
-                    PdfObject pageResources = page.getResources().getPdfObject();
-                    if (xObjectResources != null && xObjectResources == pageResources) {
-                        xObject.getPdfObject().put(PdfName.Resources, initialPageResourceClones.get(document.getPageNumber(page)));
-                    }
-
-                    if (tagPointer != null) {
-                        tagPointer.setPageForTagging(page);
-                        TagReference tagRef = tagPointer.getTagReference();
-                        canvas.openTag(tagRef);
-                    }
-
-                    AffineTransform at = calcFieldAppTransformToAnnotRect(xObject, annotBBox);
-                    float[] m = new float[6];
-                    at.getMatrix(m);
-                    canvas.addXObject(xObject, m[0], m[1], m[2], m[3], m[4], m[5]);
-
-                    if (tagPointer != null) {
-                        canvas.closeTag();
-                    }
-                }
-            } else {
-                logger.error(LogMessageConstant.N_ENTRY_IS_REQUIRED_FOR_APPEARANCE_DICTIONARY);
-            }
-
-            PdfArray fFields = getFields();
-            fFields.remove(fieldObject);
-            if (annotation != null) {
-                page.removeAnnotation(annotation);
-            }
-            PdfDictionary parent = fieldObject.getAsDictionary(PdfName.Parent);
-            if (parent != null) {
-                PdfArray kids = parent.getAsArray(PdfName.Kids);
-                if (kids != null) {
-                    kids.remove(fieldObject);
-                    // TODO DEVSIX-2715 if parent was in it's turn the only child of it's parent, we should remove them recursively
-                    if (kids.isEmpty()) {
-                        fFields.remove(parent);
-                    }
-                } else {
-                    fFields.remove(parent);
                 }
             }
         }
@@ -1068,6 +1048,180 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         return null;
     }
 
+    private void flattenFieldsPageByPage(Set<PdfFormField> fields) {
+        Map<Integer, List<PdfFormField>> fieldsByPage = new TreeMap<>();
+        Map<PdfDictionary, Integer> widgetPageNumbers = null;
+        for (PdfFormField field : fields) {
+            PdfDictionary fieldObject = field.getPdfObject();
+            PdfDictionary pageDic = fieldObject.getAsDictionary(PdfName.P);
+            int pageNumber;
+            if (pageDic != null) {
+                pageNumber = document.getPageNumber(pageDic);
+            } else {
+                // Widgets without /P are looked up in the annotations of all pages at once, instead of per widget
+                if (widgetPageNumbers == null) {
+                    widgetPageNumbers = getWidgetPageNumbers();
+                }
+                Integer widgetPageNumber = widgetPageNumbers.get(fieldObject);
+                pageNumber = widgetPageNumber == null ? 0 : (int) widgetPageNumber;
+            }
+            if (pageNumber < 1) {
+                continue;
+            }
+            List<PdfFormField> pageFields = fieldsByPage.get(pageNumber);
+            if (pageFields == null) {
+                pageFields = new ArrayList<>();
+                fieldsByPage.put(pageNumber, pageFields);
+            }
+            pageFields.add(field);
+        }
+
+        for (Map.Entry<Integer, List<PdfFormField>> entry : fieldsByPage.entrySet()) {
+            PdfPage page = document.getPage((int) entry.getKey());
+            // Page resources are not modified before the first field of the page is flattened,
+            // so it is enough to clone them at this point
+            PdfObject initialPageResources = cloneInitialPageResources(page);
+            boolean wrapPageContent = true;
+            for (PdfFormField field : entry.getValue()) {
+                if (flattenField(field, page, wrapPageContent, initialPageResources)) {
+                    wrapPageContent = false;
+                }
+            }
+            page.flush();
+        }
+    }
+
+    /**
+     * Flattens the field into the page content and removes it from the form.
+     *
+     * @param field the field to flatten
+     * @param page the page of the field widget
+     * @param wrapPageContent whether the existing page content shall be wrapped in q/Q operators
+     * @param initialPageResources the clone of page resources, taken before any field has been flattened on the page
+     * @return true if the appearance of the field has been added to the page content
+     */
+    private boolean flattenField(PdfFormField field, PdfPage page, boolean wrapPageContent,
+            PdfObject initialPageResources) {
+        PdfDictionary fieldObject = field.getPdfObject();
+        boolean pageContentAdded = false;
+
+        PdfAnnotation annotation = PdfAnnotation.makeAnnotation(fieldObject);
+        TagTreePointer tagPointer = null;
+        if (annotation != null && document.isTagged()) {
+            tagPointer = document.getTagStructureContext().removeAnnotationTag(annotation);
+        }
+
+        PdfDictionary appDic = fieldObject.getAsDictionary(PdfName.AP);
+        PdfObject asNormal = null;
+        if (appDic != null) {
+            asNormal = appDic.getAsStream(PdfName.N);
+            if (asNormal == null) {
+                asNormal = appDic.getAsDictionary(PdfName.N);
+            }
+        }
+        if (generateAppearance) {
+            if (appDic == null || asNormal == null) {
+                field.regenerateField();
+                appDic = fieldObject.getAsDictionary(PdfName.AP);
+            }
+        }
+        PdfObject normal = appDic != null ? appDic.get(PdfName.N) : null;
+        if (null != normal) {
+            PdfFormXObject xObject = null;
+            if (normal.isStream()) {
+                xObject = new PdfFormXObject((PdfStream) normal);
+            } else if (normal.isDictionary()) {
+                PdfName as = fieldObject.getAsName(PdfName.AS);
+                if (((PdfDictionary) normal).getAsStream(as) != null) {
+                    xObject = new PdfFormXObject(((PdfDictionary) normal).getAsStream(as));
+                    xObject.makeIndirect(document);
+                }
+            }
+
+            if (xObject != null) {
+                //subtype is required field for FormXObject, but can be omitted in normal appearance.
+                xObject.put(PdfName.Subtype, PdfName.Form);
+                Rectangle annotBBox = fieldObject.getAsRectangle(PdfName.Rect);
+                if (page.isFlushed()) {
+                    throw new PdfException(PdfException.PageAlreadyFlushedUseAddFieldAppearanceToPageMethodBeforePageFlushing);
+                }
+                PdfCanvas canvas = new PdfCanvas(page, wrapPageContent);
+                pageContentAdded = true;
+
+                // Here we avoid circular reference which might occur when page resources and the appearance xObject's
+                // resources are the same object
+                PdfObject xObjectResources = xObject.getPdfObject().get(PdfName.Resources);
+                PdfObject pageResources = page.getResources().getPdfObject();
+                if (xObjectResources != null && xObjectResources == pageResources) {
+                    xObject.getPdfObject().put(PdfName.Resources, initialPageResources);
+                }
+
+                if (tagPointer != null) {
+                    tagPointer.setPageForTagging(page);
+                    TagReference tagRef = tagPointer.getTagReference();
+                    canvas.openTag(tagRef);
+                }
+
+                AffineTransform at = calcFieldAppTransformToAnnotRect(xObject, annotBBox);
+                float[] m = new float[6];
+                at.getMatrix(m);
+                canvas.addXObject(xObject, m[0], m[1], m[2], m[3], m[4], m[5]);
+
+                if (tagPointer != null) {
+                    canvas.closeTag();
+                }
+            }
+        } else {
+            logger.error(LogMessageConstant.N_ENTRY_IS_REQUIRED_FOR_APPEARANCE_DICTIONARY);
+        }
+
+        PdfArray fFields = getFields();
+        fFields.remove(fieldObject);
+        if (annotation != null) {
+            page.removeAnnotation(annotation);
+        }
+        PdfDictionary parent = fieldObject.getAsDictionary(PdfName.Parent);
+        if (parent != null) {
+            PdfArray kids = parent.getAsArray(PdfName.Kids);
+            if (kids != null) {
+                kids.remove(fieldObject);
+                // TODO DEVSIX-2715 if parent was in it's turn the only child of it's parent, we should remove them recursively
+                if (kids.isEmpty()) {
+                    fFields.remove(parent);
+                }
+            } else {
+                fFields.remove(parent);
+            }
+        }
+        return pageContentAdded;
+    }
+
+    private static PdfObject cloneInitialPageResources(PdfPage page) {
+        PdfObject resources = page.getPdfObject().getAsDictionary(PdfName.Resources);
+        return resources == null ? null : resources.clone();
+    }
+
+    private Map<PdfDictionary, Integer> getWidgetPageNumbers() {
+        Map<PdfDictionary, Integer> widgetPageNumbers = new HashMap<>();
+        for (int i = 1; i <= document.getNumberOfPages(); i++) {
+            PdfPage page = document.getPage(i);
+            if (page.isFlushed()) {
+                continue;
+            }
+            PdfArray annots = page.getPdfObject().getAsArray(PdfName.Annots);
+            if (annots == null) {
+                continue;
+            }
+            for (int j = 0; j < annots.size(); j++) {
+                PdfDictionary annot = annots.getAsDictionary(j);
+                if (annot != null && !widgetPageNumbers.containsKey(annot)) {
+                    widgetPageNumbers.put(annot, i);
+                }
+            }
+        }
+        return widgetPageNumbers;
+    }
+
     private Set<PdfFormField> prepareFieldsForFlattening(PdfFormField field) {
         Set<PdfFormField> preparedFields = new LinkedHashSet<>();
         preparedFields.add(field);
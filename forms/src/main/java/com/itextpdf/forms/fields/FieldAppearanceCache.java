@@ -0,0 +1,187 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.forms.fields;
+
+import com.itextpdf.kernel.pdf.PdfName;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caches the data which is needed to regenerate the appearances of {@link PdfFormField form fields}
+ * and which doesn't depend on the field values, so that it can be reused when filling many documents
+ * created from the same form template.
+ * <p>
+ * The cache keeps the parsed default appearance strings and the static parts of the appearance
+ * streams of single-line text fields. Once the static parts of an appearance are known, the appearance
+ * for a new value is built by writing the encoded value between them, instead of laying the text out again.
+ * <p>
+ * An instance shall only be shared between documents created from the same template. It is not thread safe.
+ */
+public class FieldAppearanceCache {
+
+    private final Map<String, Object[]> defaultAppearances = new HashMap<>();
+    private final Map<String, TextAppearance> textAppearances = new HashMap<>();
+
+    /**
+     * Creates an empty cache.
+     */
+    public FieldAppearanceCache() {
+    }
+
+    Object[] splitDefaultAppearance(String defaultAppearance) {
+        Object[] elements = defaultAppearances.get(defaultAppearance);
+        if (elements == null) {
+            elements = PdfFormField.splitDAelements(defaultAppearance);
+            defaultAppearances.put(defaultAppearance, elements);
+        }
+        return elements;
+    }
+
+    TextAppearance getTextAppearance(String key) {
+        return textAppearances.get(key);
+    }
+
+    void putTextAppearance(String key, TextAppearance textAppearance) {
+        textAppearances.put(key, textAppearance);
+    }
+
+    /**
+     * The appearance stream of a text field split into the content preceding the encoded field value
+     * and the content following it.
+     */
+    static final class TextAppearance {
+        private static final byte[] SHOW_TEXT = new byte[] {(byte) 'T', (byte) 'j'};
+
+        private final byte[] prefix;
+        private final byte[] suffix;
+        private final PdfName fontName;
+        private boolean verified;
+        private boolean rejected;
+
+        private TextAppearance(byte[] prefix, byte[] suffix, PdfName fontName) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.fontName = fontName;
+        }
+
+        /**
+         * Splits the appearance stream around the only occurrence of the value shown with Tj operator.
+         *
+         * @param content the content of the appearance stream
+         * @param encodedValue the value as it's written to the content, i.e. as an encoded PDF string
+         * @param fontName the name of the appearance font in the appearance resources
+         * @return the split appearance, or null if the value can't be located unambiguously
+         */
+        static TextAppearance split(byte[] content, byte[] encodedValue, PdfName fontName) {
+            int index = indexOfShownText(content, encodedValue, 0);
+            if (index < 0 || indexOfShownText(content, encodedValue, index + 1) >= 0) {
+                return null;
+            }
+            return new TextAppearance(Arrays.copyOfRange(content, 0, index),
+                    Arrays.copyOfRange(content, index + encodedValue.length, content.length), fontName);
+        }
+
+        byte[] getPrefix() {
+            return prefix;
+        }
+
+        byte[] getSuffix() {
+            return suffix;
+        }
+
+        PdfName getFontName() {
+            return fontName;
+        }
+
+        /**
+         * Checks whether the static parts are shared with another appearance of the field, built for another value.
+         * Only verified appearances are used instead of the text layout, the rejected ones are never used.
+         *
+         * @param content the content of the appearance stream built for another value
+         * @param encodedValue that value, encoded as a PDF string
+         */
+        void verify(byte[] content, byte[] encodedValue) {
+            if (content.length == prefix.length + encodedValue.length + suffix.length
+                    && regionMatches(content, 0, prefix)
+                    && regionMatches(content, prefix.length, encodedValue)
+                    && regionMatches(content, prefix.length + encodedValue.length, suffix)) {
+                verified = true;
+            } else {
+                rejected = true;
+            }
+        }
+
+        boolean isVerified() {
+            return verified;
+        }
+
+        boolean isRejected() {
+            return rejected;
+        }
+
+        private static int indexOfShownText(byte[] content, byte[] encodedValue, int fromIndex) {
+            int lastIndex = content.length - encodedValue.length - SHOW_TEXT.length;
+            for (int i = fromIndex; i <= lastIndex; i++) {
+                if (regionMatches(content, i, encodedValue)
+                        && regionMatches(content, i + encodedValue.length, SHOW_TEXT)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static boolean regionMatches(byte[] content, int offset, byte[] region) {
+            if (offset + region.length > content.length) {
+                return false;
+            }
+            for (int i = 0; i < region.length; i++) {
+                if (content[offset + i] != region[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -51,6 +51,7 @@ import com.itextpdf.io.codec.Base64;
 import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.font.otf.GlyphLine;
 import com.itextpdf.io.image.ImageData;
 import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.io.source.OutputStream;
@@ -66,6 +67,7 @@ import com.itextpdf.kernel.colors.DeviceGray;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.font.PdfSimpleFont;
 import com.itextpdf.kernel.geom.Matrix;
 import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfAConformanceLevel;
@@ -234,10 +236,14 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
      * @param pdfObject the dictionary to be wrapped, must have an indirect reference.
      */
     public PdfFormField(PdfDictionary pdfObject) {
+        this(pdfObject, null);
+    }
+
+    private PdfFormField(PdfDictionary pdfObject, FieldAppearanceCache appearanceCache) {
         super(pdfObject);
         ensureObjectIsAddedToDocument(pdfObject);
         setForbidRelease();
-        retrieveStyles();
+        retrieveStyles(appearanceCache);
     }
 
     /**
@@ -1150,9 +1156,7 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
      * @return the field
      */
     public PdfFormField setValue(String value) {
-        PdfName formType = getFormType();
-        boolean autoGenerateAppearance = !(PdfName.Btn.equals(formType) && getFieldFlag(PdfButtonFormField.FF_RADIO));
-        return setValue(value, autoGenerateAppearance);
+        return setValue(value, isAppearanceGeneratedOnSetValue());
     }
 
     /**
@@ -1218,6 +1222,33 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
         return this;
     }
 
+    /**
+     * Sets a value to the field and generates field appearance if needed, like {@link #setValue(String)} does.
+     * The data needed to regenerate the appearance which doesn't depend on the value is taken from the cache,
+     * so that it's not computed again for every document created from the same form template.
+     *
+     * @param value           of the field
+     * @param appearanceCache the {@link FieldAppearanceCache cache} shared between the documents
+     *                        created from the same template
+     * @return the field
+     */
+    public PdfFormField setValue(String value, FieldAppearanceCache appearanceCache) {
+        boolean generateAppearance = isAppearanceGeneratedOnSetValue();
+        setValue(value, false);
+        if (generateAppearance) {
+            regenerateField(appearanceCache);
+        }
+        return this;
+    }
+
+    /**
+     * Checks whether setting a value without specifying whether to generate the appearance regenerates it.
+     * The appearance of radio buttons is not regenerated, since their appearance states are only switched.
+     */
+    private boolean isAppearanceGeneratedOnSetValue() {
+        return !(PdfName.Btn.equals(getFormType()) && getFieldFlag(PdfButtonFormField.FF_RADIO));
+    }
+
     /**
      * Set text field value with given font and size
      *
@@ -2013,14 +2044,7 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
      * @return whether or not the regeneration was successful.
      */
     public boolean regenerateField() {
-        boolean result = true;
-        updateDefaultAppearance();
-        for (PdfWidgetAnnotation widget: getWidgets()) {
-            PdfFormField field = new PdfFormField(widget.getPdfObject());
-            copyParamsToKids(field);
-            result &= field.regenerateWidget(this.getValueAsString());
-        }
-        return result;
+        return regenerateField(null);
     }
 
 
@@ -2519,6 +2543,96 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
         appearance.getPdfObject().setData(stream.getBytes());
     }
 
+    private void drawTextAppearance(Rectangle rect, float fontSize, String value, PdfFormXObject appearance,
+            FieldAppearanceCache appearanceCache) {
+        if (!isTextAppearanceCacheable(value)) {
+            drawTextAppearance(rect, this.font, fontSize, value, appearance);
+            return;
+        }
+        String key = getTextAppearanceKey(rect, fontSize);
+        FieldAppearanceCache.TextAppearance textAppearance = appearanceCache.getTextAppearance(key);
+        GlyphLine glyphLine = this.font.createGlyphLine(value);
+        if (textAppearance != null && textAppearance.isVerified()) {
+            PdfName fontName = appearance.getResources().addFont(getDocument(), this.font);
+            if (fontName.equals(textAppearance.getFontName())) {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                PdfOutputStream pdfStream = new PdfOutputStream(new OutputStream<>(output));
+                pdfStream.writeBytes(textAppearance.getPrefix());
+                this.font.writeText(glyphLine, 0, glyphLine.size() - 1, pdfStream);
+                pdfStream.writeBytes(textAppearance.getSuffix());
+                appearance.getPdfObject().setData(output.toByteArray());
+                return;
+            }
+        }
+
+        drawTextAppearance(rect, this.font, fontSize, value, appearance);
+        if (textAppearance == null || !textAppearance.isVerified() && !textAppearance.isRejected()) {
+            Set<PdfName> fontNames = appearance.getResources().getResourceNames(PdfName.Font);
+            if (appearance.getResources().getResourceNames().size() != 1 || fontNames.size() != 1) {
+                return;
+            }
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            this.font.writeText(glyphLine, 0, glyphLine.size() - 1, new PdfOutputStream(new OutputStream<>(output)));
+            byte[] content = appearance.getPdfObject().getBytes();
+            if (textAppearance == null) {
+                textAppearance = FieldAppearanceCache.TextAppearance.split(content, output.toByteArray(),
+                        fontNames.iterator().next());
+                if (textAppearance != null) {
+                    appearanceCache.putTextAppearance(key, textAppearance);
+                }
+            } else {
+                textAppearance.verify(content, output.toByteArray());
+            }
+        }
+    }
+
+    /**
+     * Checks whether the appearance of the value consists of the static parts and the encoded value only,
+     * i.e. whether the appearance can be built from the {@link FieldAppearanceCache cached} static parts.
+     * That is the case for the left-aligned single-line text without leading and trailing spaces
+     * with the fixed font size, shown with a simple font.
+     */
+    private boolean isTextAppearanceCacheable(String value) {
+        if (!(this.font instanceof PdfSimpleFont) || this.fontSize == 0 || value == null || value.isEmpty()
+                || isPassword() || getFieldFlag(PdfTextFormField.FF_COMB)
+                || convertJustificationToTextAlignment() != TextAlignment.LEFT) {
+            return false;
+        }
+        // The layout trims the leading spaces and shows the trailing ones separately
+        if (value.charAt(0) == ' ' || value.charAt(value.length() - 1) == ' ') {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            // Line breaks, tabs, special spaces and other characters treated specially by the layout are excluded
+            if (ch < ' ' || ch != ' ' && (Character.isSpaceChar(ch) || Character.isWhitespace(ch))
+                    || Character.getType(ch) == Character.FORMAT || Character.isSurrogate(ch)
+                    || !this.font.containsGlyph(ch)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String getTextAppearanceKey(Rectangle rect, float fontSize) {
+        PdfDictionary borderStyle = getWidgets().get(0).getBorderStyle();
+        return new StringBuilder()
+                .append(rect.getWidth()).append(' ').append(rect.getHeight()).append(' ')
+                .append(this.font.getFontProgram().getFontNames().getFontName()).append(' ')
+                .append(((PdfSimpleFont) this.font).getFontEncoding().getBaseEncoding()).append(' ')
+                .append(fontSize).append(' ')
+                .append(colorToString(this.color)).append(' ')
+                .append(colorToString(this.backgroundColor)).append(' ')
+                .append(colorToString(this.borderColor)).append(' ')
+                .append(getBorderWidth()).append(' ')
+                .append(borderStyle)
+                .toString();
+    }
+
+    private static String colorToString(Color color) {
+        return color == null ? "null" : color.getClass().getName() + Arrays.toString(color.getColorValue());
+    }
+
     /**
      * Draws the visual appearance of multiline text in a form field.
      *
@@ -3368,7 +3482,7 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
         return null;
     }
 
-    private void retrieveStyles() {
+    private void retrieveStyles(FieldAppearanceCache appearanceCache) {
         // For now we retrieve styles only in case of merged widget with the field,
         // for one field might contain several widgets with their own different styles
         // and it's unclear how to handle it with the way iText processes fields with multiple widgets currently.
@@ -3384,7 +3498,8 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
         }
         PdfString defaultAppearance = getDefaultAppearance();
         if (defaultAppearance != null) {
-            Object[] fontData = splitDAelements(defaultAppearance.getValue());
+            Object[] fontData = appearanceCache == null ? splitDAelements(defaultAppearance.getValue())
+                    : appearanceCache.splitDefaultAppearance(defaultAppearance.getValue());
             if (fontData[DA_SIZE] != null && fontData[DA_FONT] != null) {
                 color = (Color) fontData[DA_COLOR];
                 fontSize = (float) fontData[DA_SIZE];
@@ -3474,7 +3589,18 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
         }
     }
 
-    private boolean regenerateTextAndChoiceField(String value, PdfName type) {
+    private boolean regenerateField(FieldAppearanceCache appearanceCache) {
+        boolean result = true;
+        updateDefaultAppearance();
+        for (PdfWidgetAnnotation widget: getWidgets()) {
+            PdfFormField field = new PdfFormField(widget.getPdfObject(), appearanceCache);
+            copyParamsToKids(field);
+            result &= field.regenerateWidget(this.getValueAsString(), appearanceCache);
+        }
+        return result;
+    }
+
+    private boolean regenerateTextAndChoiceField(String value, PdfName type, FieldAppearanceCache appearanceCache) {
         PdfPage page = PdfWidgetAnnotation.makeAnnotation(getPdfObject()).getPage();
         PdfArray bBox = getPdfObject().getAsArray(PdfName.Rect);
 
@@ -3566,6 +3692,8 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
         if (PdfName.Tx.equals(type)) {
             if (isMultiline()) {
                 drawMultiLineTextAppearance(bboxRectangle, this.font, value, appearance);
+            } else if (appearanceCache != null) {
+                drawTextAppearance(bboxRectangle, getFontSize(bBox, value), value, appearance, appearanceCache);
             } else {
                 drawTextAppearance(bboxRectangle, this.font, getFontSize(bBox, value), value, appearance);
             }
@@ -3634,11 +3762,11 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
         }
     }
 
-    private boolean regenerateWidget(String value) {
+    private boolean regenerateWidget(String value, FieldAppearanceCache appearanceCache) {
         PdfName type = getFormType();
 
         if (PdfName.Tx.equals(type) || PdfName.Ch.equals(type)) {
-            return regenerateTextAndChoiceField(value, type);
+            return regenerateTextAndChoiceField(value, type, appearanceCache);
         } else if (PdfName.Btn.equals(type)) {
             if (getFieldFlag(PdfButtonFormField.FF_PUSH_BUTTON)) {
                 regeneratePushButtonField();
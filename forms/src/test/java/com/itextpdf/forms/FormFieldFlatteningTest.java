@@ -53,8 +53,11 @@ import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfDocumentInfo;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.layout.Document;
 import com.itextpdf.test.ExtendedITextTest;
@@ -62,6 +65,7 @@ import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Map;
@@ -184,6 +188,50 @@ public class FormFieldFlatteningTest extends ExtendedITextTest {
         flattenFieldsAndCompare(srcFilename, filename);
     }
 
+    @Test
+    public void formFlatteningFlushPagesTest() throws IOException, InterruptedException {
+        String src = sourceFolder + "formFlatteningSource.pdf";
+        String dest = destinationFolder + "formFlatteningFlushPagesTest.pdf";
+        String cmp = sourceFolder + "cmp_formFlatteningTest01.pdf";
+
+        PdfDocument doc = new PdfDocument(new PdfReader(src), new PdfWriter(dest));
+        PdfAcroForm.getAcroForm(doc, false).flattenFields(true);
+        doc.close();
+
+        Assert.assertNull(new CompareTool().compareByContent(dest, cmp, destinationFolder, "diff_"));
+    }
+
+    @Test
+    public void flattenFieldsOnManyPagesFlushPagesTest() throws IOException {
+        int pagesNumber = 20;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        PdfAcroForm form = PdfAcroForm.getAcroForm(pdfDoc, true);
+        for (int i = 1; i <= pagesNumber; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            form.addField(PdfFormField.createText(pdfDoc, new Rectangle(36, 700, 200, 20), "field" + i,
+                    "value" + i), page);
+        }
+        pdfDoc.close();
+
+        ByteArrayOutputStream flattened = new ByteArrayOutputStream();
+        pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())),
+                new PdfWriter(flattened));
+        PdfAcroForm.getAcroForm(pdfDoc, false).flattenFields(true);
+        for (int i = 1; i <= pagesNumber; i++) {
+            Assert.assertTrue(pdfDoc.getPage(i).isFlushed());
+        }
+        pdfDoc.close();
+
+        pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(flattened.toByteArray())));
+        Assert.assertNull(PdfAcroForm.getAcroForm(pdfDoc, false));
+        for (int i = 1; i <= pagesNumber; i++) {
+            Assert.assertNull(pdfDoc.getPage(i).getPdfObject().get(PdfName.Annots));
+            Assert.assertEquals("value" + i, PdfTextExtractor.getTextFromPage(pdfDoc.getPage(i)));
+        }
+        pdfDoc.close();
+    }
+
     private static void flattenFieldsAndCompare(String srcFile, String outFile)
             throws IOException, InterruptedException {
         PdfReader reader = new PdfReader(sourceFolder + srcFile);
@@ -22,21 +22,31 @@
  */
 package com.itextpdf.forms;
 
+import com.itextpdf.forms.fields.FieldAppearanceCache;
 import com.itextpdf.forms.fields.PdfFormField;
+import com.itextpdf.forms.fields.PdfTextFormField;
+import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfString;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
@@ -91,6 +101,47 @@ public class PdfFormFieldTextTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void setFieldValuesWithSharedAppearanceCacheTest() throws IOException {
+        byte[] template = createTemplateWithTextFields();
+        FieldAppearanceCache appearanceCache = new FieldAppearanceCache();
+        for (int i = 0; i < 3; i++) {
+            Map<String, String> values = new HashMap<>();
+            values.put("left", "Customer (" + i + ")");
+            values.put("right", "Right " + i);
+
+            assertSameAppearanceWithCache(template, appearanceCache, values);
+        }
+    }
+
+    @Test
+    public void setFieldValuesWithSpacesAndSharedAppearanceCacheTest() throws IOException {
+        byte[] template = createTemplateWithTextFields();
+        FieldAppearanceCache appearanceCache = new FieldAppearanceCache();
+        String[] leftValues = {"first", "second", "trail  ", "  lead", "in  side", " "};
+        for (String leftValue : leftValues) {
+            Map<String, String> values = new HashMap<>();
+            values.put("left", leftValue);
+            assertSameAppearanceWithCache(template, appearanceCache, values);
+        }
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = LogMessageConstant.FORM_FIELD_WITH_SUCH_NAME_NOT_FOUND))
+    public void setFieldValuesWithUnknownFieldTest() throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(createTemplateWithTextFields())),
+                new PdfWriter(new ByteArrayOutputStream()));
+        PdfAcroForm form = PdfAcroForm.getAcroForm(pdfDoc, false);
+        Map<String, String> values = new HashMap<>();
+        values.put("left", "value");
+        values.put("unknown", "value");
+        form.setFieldValues(values);
+
+        Assert.assertEquals("value", form.getField("left").getValueAsString());
+        Assert.assertNull(form.getField("unknown"));
+        pdfDoc.close();
+    }
+
     @Test
     public void fontsResourcesHelvFontTest() throws IOException {
         String filename = "fontsResourcesHelvFontTest.pdf";
@@ -164,4 +215,49 @@ public class PdfFormFieldTextTest extends ExtendedITextTest {
 
         ExtendedITextTest.printOutputPdfNameAndDir(destinationFolder + filename);
     }
+
+    private static void assertSameAppearanceWithCache(byte[] template, FieldAppearanceCache appearanceCache,
+            Map<String, String> values) throws IOException {
+        PdfDocument expectedDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(template)),
+                new PdfWriter(new ByteArrayOutputStream()));
+        PdfAcroForm expectedForm = PdfAcroForm.getAcroForm(expectedDoc, false);
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            expectedForm.getField(entry.getKey()).setValue(entry.getValue());
+        }
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(template)),
+                new PdfWriter(new ByteArrayOutputStream()));
+        PdfAcroForm form = PdfAcroForm.getAcroForm(pdfDoc, false);
+        form.setFieldValues(values, appearanceCache);
+
+        for (String name : values.keySet()) {
+            PdfFormField expectedField = expectedForm.getField(name);
+            PdfFormField field = form.getField(name);
+            Assert.assertEquals(values.get(name), field.getValueAsString());
+            PdfStream expectedAppearance = expectedField.getPdfObject().getAsDictionary(PdfName.AP)
+                    .getAsStream(PdfName.N);
+            PdfStream appearance = field.getPdfObject().getAsDictionary(PdfName.AP).getAsStream(PdfName.N);
+            Assert.assertArrayEquals(expectedAppearance.getBytes(), appearance.getBytes());
+            Assert.assertEquals(expectedAppearance.get(PdfName.Resources).toString(),
+                    appearance.get(PdfName.Resources).toString());
+        }
+        expectedDoc.close();
+        pdfDoc.close();
+    }
+
+    private static byte[] createTemplateWithTextFields() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        PdfPage page = pdfDoc.addNewPage();
+        PdfAcroForm form = PdfAcroForm.getAcroForm(pdfDoc, true);
+        PdfTextFormField leftField = PdfFormField.createText(pdfDoc, new Rectangle(36, 700, 200, 20), "left", "");
+        leftField.setFontSize(12);
+        form.addField(leftField, page);
+        PdfTextFormField rightField = PdfFormField.createText(pdfDoc, new Rectangle(36, 650, 200, 20), "right", "");
+        rightField.setFontSize(12);
+        rightField.setJustification(PdfFormField.ALIGN_RIGHT);
+        form.addField(rightField, page);
+        pdfDoc.close();
+        return baos.toByteArray();
+    }
 }
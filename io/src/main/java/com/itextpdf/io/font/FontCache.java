@@ -55,14 +55,20 @@ import com.itextpdf.io.font.constants.FontResources;
 import com.itextpdf.io.util.IntHashtable;
 import com.itextpdf.io.util.ResourceUtil;
 import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class FontCache {
 
@@ -75,7 +81,15 @@ public class FontCache {
     private static final String W_PROP = "W";
     private static final String W2_PROP = "W2";
 
-    private static Map<FontCacheKey, FontProgram> fontCache = new ConcurrentHashMap<>();
+    private static Map<FontCacheKey, CachedFontProgram> fontCache = new ConcurrentHashMap<>();
+
+    private static volatile FontCachePolicy cachePolicy = FontCachePolicy.UNBOUNDED;
+
+    private static final AtomicLong accessClock = new AtomicLong();
+    private static final AtomicLong cachedWeight = new AtomicLong();
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+    private static final AtomicLong evictionCount = new AtomicLong();
 
     static {
         try {
@@ -176,14 +190,62 @@ public class FontCache {
      */
     public static void clearSavedFonts() {
         fontCache.clear();
+        cachedWeight.set(0);
+    }
+
+    /**
+     * Sets the policy limiting the cache of the fonts added via {@link #saveFont(FontProgram, String)}.
+     * The fonts exceeding the new limits are evicted immediately, while the way the fonts are referenced
+     * only changes for the fonts added afterwards.
+     *
+     * @param policy the cache policy, {@link FontCachePolicy#UNBOUNDED} by default
+     */
+    public static void setCachePolicy(FontCachePolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("The font cache policy cannot be null");
+        }
+        cachePolicy = policy;
+        evictIfNeeded(policy);
+    }
+
+    /**
+     * Gets the policy limiting the cache of the fonts added via {@link #saveFont(FontProgram, String)}.
+     *
+     * @return the cache policy
+     */
+    public static FontCachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    /**
+     * Gets the statistics of the cache of the fonts added via {@link #saveFont(FontProgram, String)}.
+     * The counters are accumulated since the class is loaded.
+     *
+     * @return a snapshot of the cache statistics
+     */
+    public static FontCacheStatistics getStatistics() {
+        return new FontCacheStatistics(hitCount.get(), missCount.get(), evictionCount.get(), fontCache.size(),
+                cachedWeight.get());
     }
 
     public static FontProgram getFont(String fontName) {
-        return fontCache.get(FontCacheKey.create(fontName));
+        return getFont(FontCacheKey.create(fontName));
     }
 
     static FontProgram getFont(FontCacheKey key) {
-        return fontCache.get(key);
+        CachedFontProgram cached = fontCache.get(key);
+        FontProgram font = cached != null ? cached.get() : null;
+        if (font == null) {
+            if (cached != null && fontCache.remove(key, cached)) {
+                // the font program has been reclaimed by the garbage collector
+                cachedWeight.addAndGet(-cached.weight);
+                evictionCount.incrementAndGet();
+            }
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return font;
     }
 
     public static FontProgram saveFont(FontProgram font, String fontName) {
@@ -191,14 +253,48 @@ public class FontCache {
     }
 
     static FontProgram saveFont(FontProgram font, FontCacheKey key) {
-        FontProgram fontFound = fontCache.get(key);
+        CachedFontProgram cached = fontCache.get(key);
+        FontProgram fontFound = cached != null ? cached.get() : null;
         if (fontFound != null) {
             return fontFound;
         }
-        fontCache.put(key, font);
+        FontCachePolicy policy = cachePolicy;
+        CachedFontProgram newCached = new CachedFontProgram(font, key.estimateWeight(), policy.isSoftValues());
+        CachedFontProgram previous = fontCache.put(key, newCached);
+        cachedWeight.addAndGet(newCached.weight - (previous != null ? previous.weight : 0));
+        evictIfNeeded(policy);
         return font;
     }
 
+    private static void evictIfNeeded(FontCachePolicy policy) {
+        if (policy.isBounded() && policy.isExceeded(fontCache.size(), cachedWeight.get())) {
+            evict(policy);
+        }
+    }
+
+    private static synchronized void evict(FontCachePolicy policy) {
+        if (!policy.isExceeded(fontCache.size(), cachedWeight.get())) {
+            return;
+        }
+        // evict a batch of fonts at once, so that the entries are not sorted on every put
+        List<Map.Entry<FontCacheKey, CachedFontProgram>> entries = new ArrayList<>(fontCache.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<FontCacheKey, CachedFontProgram>>() {
+            @Override
+            public int compare(Map.Entry<FontCacheKey, CachedFontProgram> o1, Map.Entry<FontCacheKey, CachedFontProgram> o2) {
+                return Long.compare(o1.getValue().lastAccess, o2.getValue().lastAccess);
+            }
+        });
+        for (Map.Entry<FontCacheKey, CachedFontProgram> entry : entries) {
+            if (policy.isEvictionTargetReached(fontCache.size(), cachedWeight.get())) {
+                break;
+            }
+            if (fontCache.remove(entry.getKey(), entry.getValue())) {
+                cachedWeight.addAndGet(-entry.getValue().weight);
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
     private static void loadRegistry() throws java.io.IOException {
         InputStream resource = ResourceUtil.getResourceStream(FontResources.CMAPS + CJK_REGISTRY_FILENAME);
         try {
@@ -259,6 +355,25 @@ public class FontCache {
         return h;
     }
 
+    private static final class CachedFontProgram {
+        private final FontProgram font;
+        private final SoftReference<FontProgram> softFont;
+        final long weight;
+        volatile long lastAccess;
+
+        CachedFontProgram(FontProgram font, long weight, boolean soft) {
+            this.font = soft ? null : font;
+            this.softFont = soft ? new SoftReference<>(font) : null;
+            this.weight = weight;
+            this.lastAccess = accessClock.incrementAndGet();
+        }
+
+        FontProgram get() {
+            lastAccess = accessClock.incrementAndGet();
+            return softFont != null ? softFont.get() : font;
+        }
+    }
+
     private static <T extends AbstractCMap> T parseCmap(String name, T cmap) {
         try {
             CMapParser.parseCid(name, cmap, new CMapLocationResource());
@@ -42,6 +42,7 @@
  */
 package com.itextpdf.io.font;
 
+import java.io.File;
 import java.util.Arrays;
 
 public abstract class FontCacheKey {
@@ -62,6 +63,15 @@ public abstract class FontCacheKey {
         return new FontCacheTtcKey(fontProgram, ttcIndex);
     }
 
+    /**
+     * Estimates the size of the font data the cached font program is created from.
+     *
+     * @return the size of the font data in bytes, or 0 if it is unknown
+     */
+    long estimateWeight() {
+        return 0;
+    }
+
     private static class FontCacheStringKey extends FontCacheKey {
         private String fontName;
 
@@ -83,6 +93,15 @@ public abstract class FontCacheKey {
         public int hashCode() {
             return fontName != null ? fontName.hashCode() : 0;
         }
+
+        @Override
+        long estimateWeight() {
+            if (fontName == null) {
+                return 0;
+            }
+            // the length of a missing file is 0, e.g. for the standard fonts
+            return new File(FontProgram.trimFontStyle(fontName)).length();
+        }
     }
 
     private static class FontCacheBytesKey extends FontCacheKey {
@@ -116,6 +135,11 @@ public abstract class FontCacheKey {
             return hashcode;
         }
 
+        @Override
+        long estimateWeight() {
+            return fontLength;
+        }
+
         private int calcHashCode() {
             int result = Arrays.hashCode(firstFontBytes);
             result = 31 * result + fontLength;
@@ -154,5 +178,10 @@ public abstract class FontCacheKey {
             result = 31 * result + ttcIndex;
             return result;
         }
+
+        @Override
+        long estimateWeight() {
+            return ttcKey.estimateWeight();
+        }
     }
 }
@@ -0,0 +1,122 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+/**
+ * Limits of the {@link FontCache} of font programs created by {@link FontProgramFactory}.
+ * <p>
+ * The cache can be bounded by the number of the cached font programs and by their total weight, which is estimated
+ * as the size of the font data the programs were created from. Once a limit is exceeded, the least recently used
+ * font programs are evicted in a batch, until the cache is within three quarters of the limits. The font programs can also be referenced softly, so that the garbage collector can
+ * reclaim them when the memory is low.
+ */
+public final class FontCachePolicy {
+
+    /**
+     * The default policy: the cache is not bounded and the font programs are referenced strongly.
+     */
+    public static final FontCachePolicy UNBOUNDED = new FontCachePolicy(0, 0, false);
+
+    private static final int EVICTION_DIVISOR = 4;
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final boolean softValues;
+
+    /**
+     * Creates a new cache policy.
+     *
+     * @param maxEntries the maximal number of cached font programs, 0 if it is not limited
+     * @param maxWeight  the maximal total size of the font data of the cached font programs in bytes,
+     *                   0 if it is not limited
+     * @param softValues whether the font programs are referenced softly
+     */
+    public FontCachePolicy(int maxEntries, long maxWeight, boolean softValues) {
+        if (maxEntries < 0 || maxWeight < 0) {
+            throw new IllegalArgumentException("The limits of the font cache cannot be negative");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.softValues = softValues;
+    }
+
+    /**
+     * Gets the maximal number of cached font programs.
+     *
+     * @return the maximal number of cached font programs, 0 if it is not limited
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Gets the maximal total size of the font data of the cached font programs.
+     *
+     * @return the maximal weight in bytes, 0 if it is not limited
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Checks whether the font programs are referenced softly.
+     *
+     * @return true if the font programs are referenced softly, false if strongly
+     */
+    public boolean isSoftValues() {
+        return softValues;
+    }
+
+    boolean isBounded() {
+        return maxEntries > 0 || maxWeight > 0;
+    }
+
+    boolean isExceeded(int entries, long weight) {
+        return (maxEntries > 0 && entries > maxEntries) || (maxWeight > 0 && weight > maxWeight);
+    }
+
+    boolean isEvictionTargetReached(int entries, long weight) {
+        return (maxEntries == 0 || entries <= maxEntries - maxEntries / EVICTION_DIVISOR)
+                && (maxWeight == 0 || weight <= maxWeight - maxWeight / EVICTION_DIVISOR);
+    }
+}
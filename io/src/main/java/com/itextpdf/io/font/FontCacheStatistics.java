@@ -0,0 +1,109 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+/**
+ * Snapshot of the statistics of the {@link FontCache} of font programs.
+ */
+public final class FontCacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+    private final long weight;
+
+    FontCacheStatistics(long hitCount, long missCount, long evictionCount, int size, long weight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.weight = weight;
+    }
+
+    /**
+     * Gets the number of lookups which found the font program in the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of lookups which did not find the font program in the cache.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of font programs evicted because of the limits of the {@link FontCachePolicy}
+     * or reclaimed by the garbage collector.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the number of cached font programs.
+     *
+     * @return the number of cached font programs
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the estimated total size of the font data of the cached font programs.
+     *
+     * @return the weight in bytes
+     */
+    public long getWeight() {
+        return weight;
+    }
+}
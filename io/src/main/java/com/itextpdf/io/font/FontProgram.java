@@ -79,6 +79,9 @@ public abstract class FontProgram implements Serializable {
 
     protected String registry;
 
+    private transient volatile GlyphLookup unicodeGlyphLookup;
+    private transient volatile GlyphLookup codeGlyphLookup;
+
     public int countOfGlyphs() {
         return Math.max(codeToGlyph.size(), unicodeToGlyph.size());
     }
@@ -132,12 +135,17 @@ public abstract class FontProgram implements Serializable {
     }
 
     public Glyph getGlyph(int unicode) {
-        return unicodeToGlyph.get(unicode);
+        return getUnicodeGlyphLookup().get(unicode);
     }
 
     // char code in case Type1 or index in case OpenType
     public Glyph getGlyphByCode(int charCode) {
-        return codeToGlyph.get(charCode);
+        GlyphLookup lookup = codeGlyphLookup;
+        if (lookup == null || !lookup.isValidFor(codeToGlyph)) {
+            lookup = new GlyphLookup(codeToGlyph);
+            codeGlyphLookup = lookup;
+        }
+        return lookup.get(charCode);
     }
 
     public boolean hasKernPairs() {
@@ -152,7 +160,8 @@ public abstract class FontProgram implements Serializable {
      * @return the kerning to be applied
      */
     public int getKerning(int first, int second) {
-        return getKerning(unicodeToGlyph.get(first), unicodeToGlyph.get(second));
+        GlyphLookup lookup = getUnicodeGlyphLookup();
+        return getKerning(lookup.get(first), lookup.get(second));
     }
 
     /**
@@ -292,6 +301,24 @@ public abstract class FontProgram implements Serializable {
         }
     }
 
+    /**
+     * Drops the lookups built over {@link #codeToGlyph} and {@link #unicodeToGlyph}. Shall be called
+     * if glyphs in these maps are replaced, while adding or removing glyphs is detected automatically.
+     */
+    protected void invalidateGlyphLookups() {
+        unicodeGlyphLookup = null;
+        codeGlyphLookup = null;
+    }
+
+    private GlyphLookup getUnicodeGlyphLookup() {
+        GlyphLookup lookup = unicodeGlyphLookup;
+        if (lookup == null || !lookup.isValidFor(unicodeToGlyph)) {
+            lookup = new GlyphLookup(unicodeToGlyph);
+            unicodeGlyphLookup = lookup;
+        }
+        return lookup;
+    }
+
     protected void fixSpaceIssue() {
         Glyph space = unicodeToGlyph.get(32);
         if (space != null) {
@@ -49,16 +49,32 @@ import com.itextpdf.io.font.woff2.Woff2Converter;
 public final class FontProgramDescriptorFactory {
     private static boolean FETCH_CACHED_FIRST = true;
 
+    private static volatile FontProgramDescriptorIndex descriptorIndex;
+
+    /**
+     * Sets the index the descriptors of the font files are looked up in before parsing the files.
+     * The index is used by all the threads, e.g. when font directories are registered or added to a font set.
+     *
+     * @param index the descriptor index, or null to always parse the font files
+     */
+    public static void setDescriptorIndex(FontProgramDescriptorIndex index) {
+        descriptorIndex = index;
+    }
+
+    /**
+     * Gets the index the descriptors of the font files are looked up in before parsing the files.
+     *
+     * @return the descriptor index, or null if it is not set
+     */
+    public static FontProgramDescriptorIndex getDescriptorIndex() {
+        return descriptorIndex;
+    }
+
     public static FontProgramDescriptor fetchDescriptor(String fontName) {
         if (fontName == null || fontName.length() == 0) {
             return null;
         }
 
-        String baseName = FontProgram.trimFontStyle(fontName);
-        //yes, we trying to find built-in standard font with original name, not baseName.
-        boolean isBuiltinFonts14 = StandardFonts.isStandardFont(fontName);
-        boolean isCidFont = !isBuiltinFonts14 && FontCache.isPredefinedCidFont(baseName);
-
         FontProgramDescriptor fontDescriptor = null;
         if (FETCH_CACHED_FIRST) {
             fontDescriptor = fetchCachedDescriptor(fontName, null);
@@ -67,6 +83,20 @@ public final class FontProgramDescriptorFactory {
             }
         }
 
+        FontProgramDescriptorIndex index = descriptorIndex;
+        if (index != null) {
+            return index.fetchDescriptor(fontName);
+        }
+        return parseDescriptor(fontName);
+    }
+
+    static FontProgramDescriptor parseDescriptor(String fontName) {
+        String baseName = FontProgram.trimFontStyle(fontName);
+        //yes, we trying to find built-in standard font with original name, not baseName.
+        boolean isBuiltinFonts14 = StandardFonts.isStandardFont(fontName);
+        boolean isCidFont = !isBuiltinFonts14 && FontCache.isPredefinedCidFont(baseName);
+
+        FontProgramDescriptor fontDescriptor;
         try {
             String fontNameLowerCase = baseName.toLowerCase();
             if (isBuiltinFonts14 || fontNameLowerCase.endsWith(".afm") || fontNameLowerCase.endsWith(".pfm")) {
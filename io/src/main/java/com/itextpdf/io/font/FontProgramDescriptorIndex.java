@@ -0,0 +1,261 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.util.MessageFormatUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the {@link FontProgramDescriptor}s of font files, which can be persisted between runs,
+ * so that the font files are not parsed again while their size and modification time stay the same.
+ * <p>
+ * The index is thread-safe. It is used by {@link FontProgramDescriptorFactory} once it is set with
+ * {@link FontProgramDescriptorFactory#setDescriptorIndex(FontProgramDescriptorIndex)}. Fonts which are not
+ * stored in files, e.g. the standard Type 1 fonts or the predefined CID fonts, are never indexed.
+ */
+public final class FontProgramDescriptorIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FontProgramDescriptorIndex.class);
+
+    private static final int INDEX_MAGIC = 0x69544644;
+    private static final int INDEX_VERSION = 1;
+
+    private final Map<String, IndexEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty index.
+     */
+    public FontProgramDescriptorIndex() {
+    }
+
+    /**
+     * Loads the index saved with {@link #save(String)}. If the index file does not exist or cannot be read,
+     * an empty index is returned, so that the fonts are parsed again.
+     *
+     * @param indexPath the path to the index file
+     * @return the loaded index
+     */
+    public static FontProgramDescriptorIndex load(String indexPath) {
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex();
+        File indexFile = new File(indexPath);
+        if (!indexFile.isFile()) {
+            return index;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) {
+                throw new IOException("Unsupported format of the font descriptor index");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String fontName = in.readUTF();
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                FontProgramDescriptor descriptor = in.readBoolean() ? readDescriptor(in) : null;
+                index.entries.put(fontName, new IndexEntry(size, lastModified, descriptor));
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn(MessageFormatUtil.format(LogMessageConstant.FONT_DESCRIPTOR_INDEX_CANNOT_BE_READ, indexPath,
+                    e.getMessage()));
+            index.entries.clear();
+        }
+        return index;
+    }
+
+    /**
+     * Saves the index. The index file is replaced once the whole index is written.
+     *
+     * @param indexPath the path to the index file
+     * @throws IOException if the index cannot be written
+     */
+    public void save(String indexPath) throws IOException {
+        File indexFile = new File(indexPath).getAbsoluteFile();
+        File tempFile = new File(indexFile.getParentFile(), indexFile.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            // take a snapshot, so that the count matches the entries even if the index is being updated
+            Map<String, IndexEntry> snapshot = new HashMap<>(entries);
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(INDEX_VERSION);
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String, IndexEntry> entry : snapshot.entrySet()) {
+                IndexEntry indexEntry = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeLong(indexEntry.size);
+                out.writeLong(indexEntry.lastModified);
+                out.writeBoolean(indexEntry.descriptor != null);
+                if (indexEntry.descriptor != null) {
+                    writeDescriptor(out, indexEntry.descriptor);
+                }
+            }
+        }
+        Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Gets the number of indexed font files.
+     *
+     * @return the number of indexed font files
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Fetches the descriptor of the font from the index, or parses the font file and indexes its descriptor
+     * if the file is not indexed yet or has been changed since.
+     *
+     * @param fontName the path to the font file, possibly followed by the index of the font in a TrueType collection
+     * @return the font descriptor, or null if the font cannot be parsed
+     */
+    public FontProgramDescriptor fetchDescriptor(String fontName) {
+        File fontFile = getFontFile(fontName);
+        if (fontFile == null || !fontFile.isFile()) {
+            return FontProgramDescriptorFactory.parseDescriptor(fontName);
+        }
+        long size = fontFile.length();
+        long lastModified = fontFile.lastModified();
+        IndexEntry entry = entries.get(fontName);
+        if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+            return entry.descriptor;
+        }
+        FontProgramDescriptor descriptor = FontProgramDescriptorFactory.parseDescriptor(fontName);
+        entries.put(fontName, new IndexEntry(size, lastModified, descriptor));
+        return descriptor;
+    }
+
+    private static File getFontFile(String fontName) {
+        String baseName = FontProgram.trimFontStyle(fontName);
+        int ttcSplit = baseName.toLowerCase().indexOf(".ttc,");
+        if (ttcSplit > 0) {
+            // count(.ttc) = 4
+            baseName = baseName.substring(0, ttcSplit + 4);
+        }
+        return baseName.length() == 0 ? null : new File(baseName);
+    }
+
+    private static void writeDescriptor(DataOutputStream out, FontProgramDescriptor descriptor) throws IOException {
+        out.writeUTF(descriptor.getFontName());
+        writeNullableString(out, descriptor.getFullNameLowerCase());
+        writeNullableString(out, descriptor.getFamilyNameLowerCase());
+        writeNullableString(out, descriptor.getStyle());
+        out.writeInt(descriptor.getMacStyle());
+        out.writeInt(descriptor.getFontWeight());
+        out.writeFloat(descriptor.getItalicAngle());
+        out.writeBoolean(descriptor.isMonospace());
+        writeStrings(out, descriptor.getFullNameAllLangs());
+        writeStrings(out, descriptor.getFullNamesEnglishOpenType());
+        writeNullableString(out, descriptor.getFamilyNameEnglishOpenType());
+    }
+
+    private static FontProgramDescriptor readDescriptor(DataInputStream in) throws IOException {
+        String fontName = in.readUTF();
+        String fullNameLowerCase = readNullableString(in);
+        String familyNameLowerCase = readNullableString(in);
+        String style = readNullableString(in);
+        int macStyle = in.readInt();
+        int weight = in.readInt();
+        float italicAngle = in.readFloat();
+        boolean isMonospace = in.readBoolean();
+        Set<String> fullNamesAllLangs = readStrings(in);
+        Set<String> fullNamesEnglishOpenType = readStrings(in);
+        String familyNameEnglishOpenType = readNullableString(in);
+        return new FontProgramDescriptor(fontName, fullNameLowerCase, familyNameLowerCase, style, macStyle, weight,
+                italicAngle, isMonospace, fullNamesAllLangs, fullNamesEnglishOpenType, familyNameEnglishOpenType);
+    }
+
+    private static void writeNullableString(DataOutputStream out, String str) throws IOException {
+        out.writeBoolean(str != null);
+        if (str != null) {
+            out.writeUTF(str);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeStrings(DataOutputStream out, Set<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String str : strings) {
+            out.writeUTF(str);
+        }
+    }
+
+    private static Set<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        Set<String> strings = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            strings.add(in.readUTF());
+        }
+        return strings;
+    }
+
+    private static final class IndexEntry {
+        final long size;
+        final long lastModified;
+        final FontProgramDescriptor descriptor;
+
+        IndexEntry(long size, long lastModified, FontProgramDescriptor descriptor) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.descriptor = descriptor;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.font.otf.Glyph;
+
+import java.util.Map;
+
+/**
+ * Read-only snapshot of a glyph map, which finds glyphs by their unicode values or codes without boxing the keys.
+ * The glyphs are stored in the pages of 256 glyphs, only the pages which contain glyphs are allocated.
+ */
+final class GlyphLookup {
+
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    /**
+     * The greatest key stored in pages, i.e. the greatest unicode code point.
+     */
+    private static final int MAX_PAGED_KEY = 0x10FFFF;
+
+    private final Map<Integer, Glyph> glyphs;
+    private final int size;
+    private final Glyph[][] pages;
+    private final boolean hasNotPagedKeys;
+
+    GlyphLookup(Map<Integer, Glyph> glyphs) {
+        this.glyphs = glyphs;
+        this.size = glyphs.size();
+        int maxKey = -1;
+        boolean notPagedKeys = false;
+        for (Integer key : glyphs.keySet()) {
+            if (key == null || key < 0 || key > MAX_PAGED_KEY) {
+                notPagedKeys = true;
+            } else if (key > maxKey) {
+                maxKey = (int) key;
+            }
+        }
+        this.pages = new Glyph[(maxKey >>> PAGE_BITS) + 1][];
+        for (Map.Entry<Integer, Glyph> entry : glyphs.entrySet()) {
+            Integer key = entry.getKey();
+            if (key != null && key >= 0 && key <= MAX_PAGED_KEY) {
+                int pageIndex = key >>> PAGE_BITS;
+                Glyph[] page = pages[pageIndex];
+                if (page == null) {
+                    page = new Glyph[PAGE_SIZE];
+                    pages[pageIndex] = page;
+                }
+                page[key & PAGE_MASK] = entry.getValue();
+            }
+        }
+        this.hasNotPagedKeys = notPagedKeys;
+    }
+
+    /**
+     * Checks whether the lookup still reflects the glyph map. The map is considered to be changed
+     * if it is another map or its size has changed.
+     *
+     * @param glyphs the glyph map
+     * @return true if the lookup can be used instead of the glyph map
+     */
+    boolean isValidFor(Map<Integer, Glyph> glyphs) {
+        return this.glyphs == glyphs && size == glyphs.size();
+    }
+
+    /**
+     * Gets the glyph by its key.
+     *
+     * @param key the unicode value or the code of the glyph
+     * @return the glyph or null if there is no glyph with such a key
+     */
+    Glyph get(int key) {
+        if (key >= 0) {
+            int pageIndex = key >>> PAGE_BITS;
+            if (pageIndex < pages.length) {
+                Glyph[] page = pages[pageIndex];
+                return page != null ? page[key & PAGE_MASK] : null;
+            }
+        }
+        return hasNotPagedKeys ? glyphs.get(key) : null;
+    }
+}
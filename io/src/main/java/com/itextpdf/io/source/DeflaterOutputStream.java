@@ -45,12 +45,11 @@ package com.itextpdf.io.source;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.zip.Deflater;
 
 public class DeflaterOutputStream extends java.util.zip.DeflaterOutputStream {
 
     public DeflaterOutputStream(OutputStream out, int level, int size) {
-        super(out, new Deflater(level), size);
+        super(out, FlateCodecs.getCodec().createDeflater(level), size);
     }
 
     public DeflaterOutputStream(OutputStream out, int level) {
@@ -0,0 +1,76 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+
+/**
+ * The implementation of the Flate (zlib/deflate) compression used for pdf streams and images.
+ * The codec in use is set with {@link FlateCodecs#setCodec(IFlateCodec)}, which allows replacing
+ * the default {@link java.util.zip} based implementation with a faster or native backed one.
+ * <p>
+ * Implementations shall be thread-safe, as the same codec is used by all documents.
+ */
+public interface IFlateCodec {
+
+    /**
+     * Creates a deflater for {@link DeflaterOutputStream}. The deflater is ended by the stream when it is finished.
+     *
+     * @param level the compression level, from -1 (default) to 9
+     * @return the deflater
+     */
+    Deflater createDeflater(int level);
+
+    /**
+     * Decompresses the zlib data.
+     *
+     * @param input  the compressed data
+     * @param output the stream to write the decompressed data to
+     * @param strict {@code true} to fail on corrupted data, {@code false} to write as much of the corrupted
+     *               data as can be decompressed and return normally
+     * @throws IOException if the data is corrupted and decoding is strict, or if writing to the output fails
+     */
+    void inflate(byte[] input, OutputStream output, boolean strict) throws IOException;
+}
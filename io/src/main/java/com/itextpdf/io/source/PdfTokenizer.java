@@ -120,7 +120,23 @@ public class PdfTokenizer implements Closeable, Serializable {
     protected boolean hexString;
     protected ByteBuffer outBuf;
 
+    private static final long NOT_A_DECIMAL = Long.MIN_VALUE;
+
+    /**
+     * Exactly representable powers of ten used for the fast parsing of real numbers.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
     private final RandomAccessFileOrArray file;
+
+    /**
+     * Reusable buffers keeping the numbers which may turn out to be the object and generation numbers
+     * of an indirect reference while looking ahead in {@link #nextValidToken()}.
+     */
+    private final ByteBuffer firstNumberBuf = new ByteBuffer(16);
+    private final ByteBuffer secondNumberBuf = new ByteBuffer(16);
     /**
      * Streams are closed automatically.
      */
@@ -183,6 +199,16 @@ public class PdfTokenizer implements Closeable, Serializable {
         return outBuf.toByteArray();
     }
 
+    /**
+     * Gets the buffer holding the bytes of the current token. The buffer is reused for the following tokens,
+     * so it shall be neither modified nor kept: use {@link #getByteContent()} to get a copy of the bytes.
+     *
+     * @return the buffer of the current token
+     */
+    public ByteBuffer getTokenBuffer() {
+        return outBuf;
+    }
+
     public String getStringValue() {
         return new String(outBuf.getInternalBuffer(), 0, outBuf.size());
     }
@@ -265,8 +291,8 @@ public class PdfTokenizer implements Closeable, Serializable {
 
     public void nextValidToken() throws java.io.IOException {
         int level = 0;
-        byte[] n1 = null;
-        byte[] n2 = null;
+        firstNumberBuf.reset();
+        secondNumberBuf.reset();
         long ptr = 0;
         while (nextToken()) {
             if (type == TokenType.Comment)
@@ -276,7 +302,7 @@ public class PdfTokenizer implements Closeable, Serializable {
                     if (type != TokenType.Number)
                         return;
                     ptr = file.getPosition();
-                    n1 = getByteContent();
+                    firstNumberBuf.append(outBuf.getInternalBuffer(), 0, outBuf.size());
                     ++level;
                     break;
                 }
@@ -284,41 +310,39 @@ public class PdfTokenizer implements Closeable, Serializable {
                     if (type != TokenType.Number) {
                         file.seek(ptr);
                         type = TokenType.Number;
-                        outBuf.reset().append(n1);
+                        outBuf.reset().append(firstNumberBuf.getInternalBuffer(), 0, firstNumberBuf.size());
                         return;
                     }
-                    n2 = getByteContent();
+                    secondNumberBuf.append(outBuf.getInternalBuffer(), 0, outBuf.size());
                     ++level;
                     break;
                 }
                 case 2: {
                     if (type == TokenType.Other) {
                         if (tokenValueEqualsTo(R)) {
-                            assert n2 != null;
                             type = TokenType.Ref;
                             try {
-                                reference = Integer.parseInt(new String(n1));
-                                generation = Integer.parseInt(new String(n2));
+                                reference = parseInt(firstNumberBuf);
+                                generation = parseInt(secondNumberBuf);
                             } catch (Exception ex) {
                                 //warn about incorrect reference number
                                 //Exception: NumberFormatException for java, FormatException or OverflowException for .NET
                                 Logger logger = LoggerFactory.getLogger(PdfTokenizer.class);
-                                logger.error(MessageFormatUtil.format(LogMessageConstant.INVALID_INDIRECT_REFERENCE, new String(n1), new String(n2)));
+                                logger.error(MessageFormatUtil.format(LogMessageConstant.INVALID_INDIRECT_REFERENCE, toString(firstNumberBuf), toString(secondNumberBuf)));
                                 reference = -1;
                                 generation = 0;
                             }
                             return;
                         } else if (tokenValueEqualsTo(Obj)) {
-                            assert n2 != null;
                             type = TokenType.Obj;
-                            reference = Integer.parseInt(new String(n1));
-                            generation = Integer.parseInt(new String(n2));
+                            reference = parseInt(firstNumberBuf);
+                            generation = parseInt(secondNumberBuf);
                             return;
                         }
                     }
                     file.seek(ptr);
                     type = TokenType.Number;
-                    outBuf.reset().append(n1);
+                    outBuf.reset().append(firstNumberBuf.getInternalBuffer(), 0, firstNumberBuf.size());
                     return;
                 }
             }
@@ -328,7 +352,7 @@ public class PdfTokenizer implements Closeable, Serializable {
         // then we are still looking at a number - set the type back to Number
         if (level == 1) {
             type = TokenType.Number;
-            outBuf.reset().append(n1);
+            outBuf.reset().append(firstNumberBuf.getInternalBuffer(), 0, firstNumberBuf.size());
         }
 
         // if we hit here, the file is either corrupt (stream ended unexpectedly),
@@ -505,11 +529,75 @@ public class PdfTokenizer implements Closeable, Serializable {
     }
 
     public long getLongValue() {
-        return Long.parseLong(getStringValue());
+        long value = parseDecimal(outBuf.getInternalBuffer(), outBuf.size(), Long.MAX_VALUE);
+        return value != NOT_A_DECIMAL ? value : Long.parseLong(getStringValue());
     }
 
     public int getIntValue() {
-        return Integer.parseInt(getStringValue());
+        return parseInt(outBuf);
+    }
+
+    /**
+     * Gets the value of the current token as a real number without creating intermediate strings.
+     *
+     * @return the value of the token or {@link Double#NaN} if the token is not a valid number
+     */
+    public double getDoubleValue() {
+        byte[] bytes = outBuf.getInternalBuffer();
+        int length = outBuf.size();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (bytes[0] == '-' || bytes[0] == '+')) {
+            negative = bytes[0] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < length; i++) {
+            int digit = bytes[i] - '0';
+            if (digit >= 0 && digit <= 9) {
+                mantissa = mantissa * 10 + digit;
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+                if (mantissa >= 1L << 53 || fractionDigits >= POWERS_OF_TEN.length) {
+                    // the mantissa or the divisor are not exact anymore, so dividing them would not be
+                    // correctly rounded
+                    return parseDoubleValue();
+                }
+            } else if (bytes[i] == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return parseDoubleValue();
+            }
+        }
+        if (digits == 0) {
+            return parseDoubleValue();
+        }
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : (double) mantissa;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Checks whether the current token is an integer number written exactly as its int value is written by iText,
+     * i.e. an optional minus followed by digits without leading zeros. Such a token can be kept as a primitive
+     * value without its byte content.
+     *
+     * @return true if the current token is a number token holding an int in its canonical form, false otherwise
+     */
+    public boolean isCanonicalIntToken() {
+        if (type != TokenType.Number) {
+            return false;
+        }
+        byte[] bytes = outBuf.getInternalBuffer();
+        int length = outBuf.size();
+        if (parseDecimal(bytes, length, Integer.MAX_VALUE) == NOT_A_DECIMAL) {
+            return false;
+        }
+        int firstDigit = bytes[0] == '-' ? 1 : 0;
+        return bytes[firstDigit] != '0' || firstDigit == 0 && length == 1;
     }
 
     public boolean isHexString() {
@@ -822,6 +910,50 @@ public class PdfTokenizer implements Closeable, Serializable {
         return null;
     }
 
+    /**
+     * Parses an optional minus followed by decimal digits.
+     *
+     * @return the parsed value or {@link #NOT_A_DECIMAL} if the bytes are not a decimal number
+     * with the absolute value not greater than maxValue
+     */
+    private static long parseDecimal(byte[] bytes, int length, long maxValue) {
+        boolean negative = length > 0 && bytes[0] == '-';
+        int i = negative ? 1 : 0;
+        // 18 digits always fit into long
+        if (i == length || length - i > 18) {
+            return NOT_A_DECIMAL;
+        }
+        long value = 0;
+        for (; i < length; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_A_DECIMAL;
+            }
+            value = value * 10 + digit;
+        }
+        if (value > maxValue) {
+            return NOT_A_DECIMAL;
+        }
+        return negative ? -value : value;
+    }
+
+    private static int parseInt(ByteBuffer number) {
+        long value = parseDecimal(number.getInternalBuffer(), number.size(), Integer.MAX_VALUE);
+        return value != NOT_A_DECIMAL ? (int) value : Integer.parseInt(toString(number));
+    }
+
+    private static String toString(ByteBuffer buffer) {
+        return new String(buffer.getInternalBuffer(), 0, buffer.size());
+    }
+
+    private double parseDoubleValue() {
+        try {
+            return Double.parseDouble(getStringValue());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
     /**
      * @deprecated Will be removed in 7.2. This inner class is not used anywhere
      */
@@ -603,7 +603,7 @@ public class RandomAccessFileOrArray implements DataInput, Serializable {
         return new String(buf, encoding);
     }
 
-    private void ensureByteSourceIsThreadSafe() {
+    private synchronized void ensureByteSourceIsThreadSafe() {
         if (!(byteSource instanceof ThreadSafeRandomAccessSource)) {
             byteSource = new ThreadSafeRandomAccessSource(byteSource);
         }
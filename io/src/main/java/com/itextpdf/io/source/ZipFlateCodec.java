@@ -0,0 +1,140 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * The default {@link IFlateCodec} based on {@link java.util.zip}.
+ * <p>
+ * Inflaters are expensive to create as each of them allocates native memory, so they are pooled together with
+ * their output buffers and reused for the following streams.
+ */
+public class ZipFlateCodec implements IFlateCodec {
+
+    private static final int BUFFER_SIZE = 16384;
+
+    private final BlockingQueue<PooledInflater> pool;
+
+    /**
+     * Creates a codec pooling as many inflaters as there are available processors.
+     */
+    public ZipFlateCodec() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a codec.
+     *
+     * @param maxPooledInflaters the maximum number of idle inflaters kept for reuse
+     */
+    public ZipFlateCodec(int maxPooledInflaters) {
+        this.pool = new ArrayBlockingQueue<>(Math.max(maxPooledInflaters, 1));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Deflater createDeflater(int level) {
+        return new Deflater(level);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void inflate(byte[] input, OutputStream output, boolean strict) throws IOException {
+        PooledInflater pooledInflater = pool.poll();
+        if (pooledInflater == null) {
+            pooledInflater = new PooledInflater();
+        }
+        Inflater inflater = pooledInflater.inflater;
+        byte[] buffer = pooledInflater.buffer;
+        // Inflater loses the output of the call which fails, so corrupted data is decompressed byte by byte
+        // in order to keep as much of it as possible
+        int chunkSize = strict ? buffer.length : 1;
+        try {
+            inflater.setInput(input);
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer, 0, chunkSize);
+                if (n > 0) {
+                    output.write(buffer, 0, n);
+                } else if (inflater.needsDictionary()) {
+                    // PDF has no way to specify a preset dictionary, so the rest of the stream can't be decoded
+                    if (strict) {
+                        throw new ZipException("Missing preset dictionary");
+                    }
+                    break;
+                } else if (inflater.needsInput()) {
+                    if (strict) {
+                        throw new EOFException("Unexpected end of ZLIB input stream");
+                    }
+                    break;
+                }
+            }
+        } catch (DataFormatException e) {
+            if (strict) {
+                throw new ZipException(e.getMessage());
+            }
+        } finally {
+            inflater.reset();
+            if (!pool.offer(pooledInflater)) {
+                inflater.end();
+            }
+        }
+    }
+
+    private static class PooledInflater {
+        final Inflater inflater = new Inflater();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+    }
+}
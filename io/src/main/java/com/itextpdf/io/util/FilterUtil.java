@@ -44,10 +44,8 @@
 package com.itextpdf.io.util;
 
 import com.itextpdf.io.IOException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.itextpdf.io.source.FlateCodecs;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.zip.DataFormatException;
@@ -60,9 +58,6 @@ import java.util.zip.InflaterInputStream;
  */
 public final class FilterUtil {
 
-    /** The Logger instance. */
-    private static final Logger LOGGER = LoggerFactory.getLogger(FilterUtil.class);
-
     private FilterUtil() {
     }
 
@@ -75,28 +70,12 @@ public final class FilterUtil {
      * @return the decoded data
      */
     public static byte[] flateDecode(byte[] input, boolean strict) {
-        ByteArrayInputStream stream = new ByteArrayInputStream(input);
-        InflaterInputStream zip = new InflaterInputStream(stream);
-        ByteArrayOutputStream output = new ByteArrayOutputStream();
-        byte[] b = new byte[strict ? 4092 : 1];
+        ByteArrayOutputStream output = new ByteArrayOutputStream(input.length);
         try {
-            int n;
-            while ((n = zip.read(b)) >= 0) {
-                output.write(b, 0, n);
-            }
-            zip.close();
-            output.close();
+            FlateCodecs.getCodec().inflate(input, output, strict);
             return output.toByteArray();
         } catch (Exception e) {
             return strict ? null : output.toByteArray();
-        }finally {
-            try {
-                zip.close();
-                output.close();
-            }catch(Exception e){
-                //Log the error
-                LOGGER.error(e.getMessage(),e);
-            }
         }
     }
 
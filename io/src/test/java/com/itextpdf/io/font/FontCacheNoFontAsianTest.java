@@ -49,6 +49,7 @@ import com.itextpdf.io.util.MessageFormatUtil;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
 import java.nio.charset.StandardCharsets;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -67,6 +68,12 @@ public class FontCacheNoFontAsianTest extends ExtendedITextTest {
         FontCache.clearSavedFonts();
     }
 
+    @After
+    public void after() {
+        FontCache.setCachePolicy(FontCachePolicy.UNBOUNDED);
+        FontCache.clearSavedFonts();
+    }
+
     @Test
     public void clearFontCacheTest() {
         String fontName = "FreeSans.ttf";
@@ -121,6 +128,90 @@ public class FontCacheNoFontAsianTest extends ExtendedITextTest {
         Assert.assertEquals(normalMockFontProgram, FontCache.getFont(normal));
     }
 
+    @Test
+    public void leastRecentlyUsedFontIsEvictedTest() {
+        FontCache.setCachePolicy(new FontCachePolicy(2, 0, false));
+        FontProgram first = new FontProgramMock();
+        FontCache.saveFont(first, "first.ttf");
+        FontCache.saveFont(new FontProgramMock(), "second.ttf");
+        // make the second font the least recently used one
+        Assert.assertEquals(first, FontCache.getFont("first.ttf"));
+        long evictions = FontCache.getStatistics().getEvictionCount();
+        FontCache.saveFont(new FontProgramMock(), "third.ttf");
+
+        Assert.assertEquals(2, FontCache.getStatistics().getSize());
+        Assert.assertEquals(evictions + 1, FontCache.getStatistics().getEvictionCount());
+        Assert.assertEquals(first, FontCache.getFont("first.ttf"));
+        Assert.assertNull(FontCache.getFont("second.ttf"));
+        Assert.assertNotNull(FontCache.getFont("third.ttf"));
+    }
+
+    @Test
+    public void fontsExceedingWeightAreEvictedTest() {
+        FontCache.setCachePolicy(new FontCachePolicy(0, 25, false));
+        FontCacheKey first = FontCacheKey.create(new byte[10]);
+        FontCacheKey second = FontCacheKey.create(new byte[11]);
+        FontCacheKey third = FontCacheKey.create(new byte[12]);
+        FontCache.saveFont(new FontProgramMock(), first);
+        FontCache.saveFont(new FontProgramMock(), second);
+        Assert.assertEquals(21, FontCache.getStatistics().getWeight());
+
+        // the fonts are evicted until the weight is within three quarters of the limit
+        FontCache.saveFont(new FontProgramMock(), third);
+        Assert.assertEquals(12, FontCache.getStatistics().getWeight());
+        Assert.assertNull(FontCache.getFont(first));
+        Assert.assertNull(FontCache.getFont(second));
+        Assert.assertNotNull(FontCache.getFont(third));
+    }
+
+    @Test
+    public void fontsAreEvictedInBatchTest() {
+        FontCache.setCachePolicy(new FontCachePolicy(8, 0, false));
+        for (int i = 0; i < 8; i++) {
+            FontCache.saveFont(new FontProgramMock(), "batch" + i + ".ttf");
+        }
+        long evictions = FontCache.getStatistics().getEvictionCount();
+        FontCache.saveFont(new FontProgramMock(), "batch8.ttf");
+
+        Assert.assertEquals(6, FontCache.getStatistics().getSize());
+        Assert.assertEquals(evictions + 3, FontCache.getStatistics().getEvictionCount());
+        Assert.assertNull(FontCache.getFont("batch2.ttf"));
+        Assert.assertNotNull(FontCache.getFont("batch3.ttf"));
+        Assert.assertNotNull(FontCache.getFont("batch8.ttf"));
+    }
+
+    @Test
+    public void stricterPolicyEvictsFontsTest() {
+        FontCache.saveFont(new FontProgramMock(), "first.ttf");
+        FontCache.saveFont(new FontProgramMock(), "second.ttf");
+        FontCache.setCachePolicy(new FontCachePolicy(1, 0, false));
+        Assert.assertEquals(1, FontCache.getStatistics().getSize());
+        Assert.assertNotNull(FontCache.getFont("second.ttf"));
+    }
+
+    @Test
+    public void softlyReferencedFontIsCachedTest() {
+        FontCache.setCachePolicy(new FontCachePolicy(0, 0, true));
+        FontProgram fontProgram = new FontProgramMock();
+        FontCache.saveFont(fontProgram, "soft.ttf");
+        // the font program is strongly reachable, so it cannot be reclaimed
+        Assert.assertEquals(fontProgram, FontCache.getFont("soft.ttf"));
+    }
+
+    @Test
+    public void cacheStatisticsTest() {
+        FontCacheStatistics before = FontCache.getStatistics();
+        FontCache.getFont("statistics.ttf");
+        FontCache.saveFont(new FontProgramMock(), "statistics.ttf");
+        FontCache.getFont("statistics.ttf");
+        FontCache.getFont("statistics.ttf");
+
+        FontCacheStatistics after = FontCache.getStatistics();
+        Assert.assertEquals(before.getMissCount() + 1, after.getMissCount());
+        Assert.assertEquals(before.getHitCount() + 2, after.getHitCount());
+        Assert.assertEquals(1, after.getSize());
+    }
+
     @Test
     public void getCompatibleCidFontNoFontAsian() {
         // Without font-asian module in the class path
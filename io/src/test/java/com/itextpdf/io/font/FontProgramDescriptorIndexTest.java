@@ -0,0 +1,162 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+@Category(UnitTest.class)
+public class FontProgramDescriptorIndexTest extends ExtendedITextTest {
+
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/io/font/MonospaceFontTest/";
+    private static final String destinationFolder = "./target/test/com/itextpdf/io/font/FontProgramDescriptorIndexTest/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void savedIndexKeepsDescriptorTest() throws IOException {
+        String fontPath = copyFont("DejaVuSansMono.ttf", "savedIndexKeepsDescriptor.ttf");
+        String indexPath = destinationFolder + "savedIndexKeepsDescriptor.idx";
+        FontProgramDescriptor parsed = FontProgramDescriptorFactory.parseDescriptor(fontPath);
+
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex();
+        assertDescriptorEquals(parsed, index.fetchDescriptor(fontPath));
+        index.save(indexPath);
+
+        FontProgramDescriptorIndex loadedIndex = FontProgramDescriptorIndex.load(indexPath);
+        Assert.assertEquals(1, loadedIndex.size());
+        assertDescriptorEquals(parsed, loadedIndex.fetchDescriptor(fontPath));
+    }
+
+    @Test
+    public void changedFontIsParsedAgainTest() throws IOException {
+        String fontPath = copyFont("DejaVuSansMono.ttf", "changedFontIsParsedAgain.ttf");
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex();
+        Assert.assertEquals("DejaVuSansMono", index.fetchDescriptor(fontPath).getFontName());
+
+        copyFont("DejaVuSerif.ttf", "changedFontIsParsedAgain.ttf");
+        Assert.assertEquals("DejaVuSerif", index.fetchDescriptor(fontPath).getFontName());
+        Assert.assertEquals(1, index.size());
+    }
+
+    @Test
+    public void notFileFontsAreNotIndexedTest() {
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex();
+        Assert.assertEquals(StandardFonts.HELVETICA, index.fetchDescriptor(StandardFonts.HELVETICA).getFontName());
+        Assert.assertEquals(0, index.size());
+    }
+
+    @Test
+    public void invalidFontIsIndexedTest() throws IOException {
+        String fontPath = destinationFolder + "invalidFontIsIndexed.ttf";
+        try (OutputStream out = new FileOutputStream(fontPath)) {
+            out.write(new byte[] {1, 2, 3, 4});
+        }
+        String indexPath = destinationFolder + "invalidFontIsIndexed.idx";
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex();
+        Assert.assertNull(index.fetchDescriptor(fontPath));
+        index.save(indexPath);
+
+        FontProgramDescriptorIndex loadedIndex = FontProgramDescriptorIndex.load(indexPath);
+        Assert.assertEquals(1, loadedIndex.size());
+        Assert.assertNull(loadedIndex.fetchDescriptor(fontPath));
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = LogMessageConstant.FONT_DESCRIPTOR_INDEX_CANNOT_BE_READ))
+    public void corruptedIndexIsIgnoredTest() throws IOException {
+        String indexPath = destinationFolder + "corruptedIndexIsIgnored.idx";
+        try (OutputStream out = new FileOutputStream(indexPath)) {
+            out.write(new byte[] {0x69, 0x54, 0x46});
+        }
+        Assert.assertEquals(0, FontProgramDescriptorIndex.load(indexPath).size());
+    }
+
+    @Test
+    public void missingIndexIsEmptyTest() {
+        Assert.assertEquals(0, FontProgramDescriptorIndex.load(destinationFolder + "missingIndexIsEmpty.idx").size());
+    }
+
+    private static String copyFont(String fontName, String targetName) throws IOException {
+        String target = destinationFolder + targetName;
+        try (InputStream in = new FileInputStream(sourceFolder + fontName);
+                OutputStream out = new FileOutputStream(target)) {
+            StreamUtil.transferBytes(in, out);
+        }
+        return target;
+    }
+
+    private static void assertDescriptorEquals(FontProgramDescriptor expected, FontProgramDescriptor actual) {
+        Assert.assertEquals(expected.getFontName(), actual.getFontName());
+        Assert.assertEquals(expected.getFontNameLowerCase(), actual.getFontNameLowerCase());
+        Assert.assertEquals(expected.getFullNameLowerCase(), actual.getFullNameLowerCase());
+        Assert.assertEquals(expected.getFamilyNameLowerCase(), actual.getFamilyNameLowerCase());
+        Assert.assertEquals(expected.getStyle(), actual.getStyle());
+        Assert.assertEquals(expected.getFontWeight(), actual.getFontWeight());
+        Assert.assertEquals(expected.isBold(), actual.isBold());
+        Assert.assertEquals(expected.isItalic(), actual.isItalic());
+        Assert.assertEquals(expected.getItalicAngle(), actual.getItalicAngle(), 0);
+        Assert.assertEquals(expected.isMonospace(), actual.isMonospace());
+        Assert.assertEquals(expected.getFullNameAllLangs(), actual.getFullNameAllLangs());
+        Assert.assertEquals(expected.getFullNamesEnglishOpenType(), actual.getFullNamesEnglishOpenType());
+        Assert.assertEquals(expected.getFamilyNameEnglishOpenType(), actual.getFamilyNameEnglishOpenType());
+    }
+}
@@ -43,6 +43,7 @@
 package com.itextpdf.io.font;
 
 import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
 import org.junit.Assert;
@@ -106,4 +107,38 @@ public class FontProgramTest extends ExtendedITextTest {
         Assert.assertNotNull(computerModern);
         Assert.assertNotNull(cmr10);
     }
+
+    @Test
+    public void glyphLookupMatchesGlyphMapsTest() throws IOException {
+        FontProgram fp = FontProgramFactory.createFont(StandardFonts.HELVETICA, false);
+        for (Map.Entry<Integer, Glyph> entry : fp.unicodeToGlyph.entrySet()) {
+            Assert.assertSame(entry.getValue(), fp.getGlyph((int) entry.getKey()));
+        }
+        for (Map.Entry<Integer, Glyph> entry : fp.codeToGlyph.entrySet()) {
+            Assert.assertSame(entry.getValue(), fp.getGlyphByCode((int) entry.getKey()));
+        }
+        Assert.assertNull(fp.getGlyph(0x4E00));
+        Assert.assertNull(fp.getGlyph(-5));
+        Assert.assertNull(fp.getGlyph(0x10FFFF + 1));
+    }
+
+    @Test
+    public void glyphLookupReflectsGlyphMapChangesTest() throws IOException {
+        FontProgram fp = FontProgramFactory.createFont(StandardFonts.HELVETICA, false);
+        Assert.assertNull(fp.getGlyph(0x4E00));
+
+        Glyph added = new Glyph(400, 1000, 0x4E00);
+        fp.unicodeToGlyph.put(0x4E00, added);
+        Assert.assertSame(added, fp.getGlyph(0x4E00));
+
+        Glyph negative = new Glyph(401, 500, -7);
+        fp.unicodeToGlyph.put(-7, negative);
+        Assert.assertSame(negative, fp.getGlyph(-7));
+        Assert.assertSame(added, fp.getGlyph(0x4E00));
+
+        Glyph replaced = new Glyph(402, 800, 0x4E00);
+        fp.unicodeToGlyph.put(0x4E00, replaced);
+        fp.invalidateGlyphLookups();
+        Assert.assertSame(replaced, fp.getGlyph(0x4E00));
+    }
 }
@@ -119,6 +119,77 @@ public class PdfTokenizerTest extends ExtendedITextTest {
         Assert.assertEquals(15, tok.getIntValue());
     }
 
+    @Test
+    public void getNegativeIntValueTest() throws IOException {
+        String data = "-2147483648 --15 null";
+
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(
+                factory.createSource(data.getBytes(StandardCharsets.ISO_8859_1))));
+
+        tok.nextValidToken();
+        Assert.assertEquals(Integer.MIN_VALUE, tok.getIntValue());
+        Assert.assertFalse(tok.isCanonicalIntToken());
+        tok.nextValidToken();
+        Assert.assertEquals(0, tok.getIntValue());
+        Assert.assertTrue(tok.isCanonicalIntToken());
+    }
+
+    @Test
+    public void getDoubleValueTest() throws IOException {
+        String data = "15 -0.5 +.25 3. 0.1 -.000001 123456789012345678.9 0.12345678901234567890123 - . null";
+        double[] expected = new double[] {15, -0.5, 0.25, 3, 0.1, -0.000001, 123456789012345678.9,
+                0.12345678901234567890123, Double.NaN, Double.NaN};
+
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(
+                factory.createSource(data.getBytes(StandardCharsets.ISO_8859_1))));
+
+        for (double value : expected) {
+            tok.nextValidToken();
+            Assert.assertEquals(TokenType.Number, tok.getTokenType());
+            Assert.assertEquals(Double.doubleToLongBits(value), Double.doubleToLongBits(tok.getDoubleValue()));
+        }
+    }
+
+    @Test
+    public void isCanonicalIntTokenTest() throws IOException {
+        String data = "0 -17 2147483647 -0 007 +5 1.0 2147483648 /Name";
+        boolean[] expected = new boolean[] {true, true, true, false, false, false, false, false, false};
+
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(
+                factory.createSource(data.getBytes(StandardCharsets.ISO_8859_1))));
+
+        for (boolean isCanonical : expected) {
+            tok.nextValidToken();
+            Assert.assertEquals(isCanonical, tok.isCanonicalIntToken());
+        }
+    }
+
+    @Test
+    public void referenceAfterNumberTest() throws IOException {
+        String data = "12 0 R 7 [ 13 2 R";
+
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer tok = new PdfTokenizer(new RandomAccessFileOrArray(
+                factory.createSource(data.getBytes(StandardCharsets.ISO_8859_1))));
+
+        tok.nextValidToken();
+        Assert.assertEquals(TokenType.Ref, tok.getTokenType());
+        Assert.assertEquals(12, tok.getObjNr());
+        Assert.assertEquals(0, tok.getGenNr());
+        tok.nextValidToken();
+        Assert.assertEquals(TokenType.Number, tok.getTokenType());
+        Assert.assertEquals("7", tok.getStringValue());
+        tok.nextValidToken();
+        Assert.assertEquals(TokenType.StartArray, tok.getTokenType());
+        tok.nextValidToken();
+        Assert.assertEquals(TokenType.Ref, tok.getTokenType());
+        Assert.assertEquals(13, tok.getObjNr());
+        Assert.assertEquals(2, tok.getGenNr());
+    }
+
     @Test
     public void getPositionTest() throws IOException {
         String data = "/Name1 70";
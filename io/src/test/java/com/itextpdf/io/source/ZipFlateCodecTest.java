@@ -0,0 +1,167 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.ZipException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+
+@Category(UnitTest.class)
+public class ZipFlateCodecTest extends ExtendedITextTest {
+
+    @Rule
+    public ExpectedException junitExpectedException = ExpectedException.none();
+
+    @Test
+    public void inflateDeflatedDataTest() throws IOException {
+        byte[] data = createData(100000);
+        ZipFlateCodec codec = new ZipFlateCodec(1);
+        for (int i = 0; i < 3; i++) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            codec.inflate(deflate(data), output, true);
+            Assert.assertArrayEquals(data, output.toByteArray());
+        }
+    }
+
+    @Test
+    public void inflateTruncatedDataStrictTest() throws IOException {
+        junitExpectedException.expect(EOFException.class);
+
+        ZipFlateCodec codec = new ZipFlateCodec();
+        byte[] compressed = deflate(createData(10000));
+        codec.inflate(Arrays.copyOf(compressed, compressed.length / 2), new ByteArrayOutputStream(), true);
+    }
+
+    @Test
+    public void inflateCorruptedDataStrictTest() throws IOException {
+        junitExpectedException.expect(ZipException.class);
+
+        new ZipFlateCodec().inflate(new byte[] {1, 2, 3, 4}, new ByteArrayOutputStream(), true);
+    }
+
+    @Test
+    public void inflateTruncatedDataLenientTest() throws IOException {
+        ZipFlateCodec codec = new ZipFlateCodec();
+        byte[] data = createData(10000);
+        byte[] compressed = deflate(data);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        codec.inflate(Arrays.copyOf(compressed, compressed.length / 2), output, false);
+        byte[] decoded = output.toByteArray();
+        Assert.assertTrue(decoded.length > 0 && decoded.length < data.length);
+        Assert.assertArrayEquals(Arrays.copyOf(data, decoded.length), decoded);
+    }
+
+    @Test
+    public void inflatePresetDictionaryDataStrictTest() throws IOException {
+        junitExpectedException.expect(ZipException.class);
+
+        new ZipFlateCodec().inflate(deflateWithDictionary(createData(10000)), new ByteArrayOutputStream(), true);
+    }
+
+    @Test
+    public void inflatePresetDictionaryDataLenientTest() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ZipFlateCodec().inflate(deflateWithDictionary(createData(10000)), output, false);
+        Assert.assertEquals(0, output.size());
+    }
+
+    @Test
+    public void deflaterOutputStreamUsesCodecTest() throws IOException {
+        final int[] requestedLevel = {Integer.MIN_VALUE};
+        FlateCodecs.setCodec(new ZipFlateCodec() {
+            @Override
+            public Deflater createDeflater(int level) {
+                requestedLevel[0] = level;
+                return super.createDeflater(level);
+            }
+        });
+        try {
+            DeflaterOutputStream zip = new DeflaterOutputStream(new ByteArrayOutputStream(), 7);
+            zip.close();
+            Assert.assertEquals(7, requestedLevel[0]);
+        } finally {
+            FlateCodecs.setCodec(null);
+        }
+        Assert.assertEquals(ZipFlateCodec.class, FlateCodecs.getCodec().getClass());
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        DeflaterOutputStream zip = new DeflaterOutputStream(compressed, 9);
+        zip.write(data);
+        zip.close();
+        return compressed.toByteArray();
+    }
+
+    private static byte[] deflateWithDictionary(byte[] data) {
+        Deflater deflater = new Deflater(9);
+        deflater.setDictionary(new byte[] {'a', 'b', 'c', 'd'});
+        deflater.setInput(data);
+        deflater.finish();
+        byte[] buffer = new byte[data.length + 64];
+        int length = deflater.deflate(buffer);
+        deflater.end();
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private static byte[] createData(int length) {
+        Random random = new Random(42);
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ('a' + random.nextInt(4));
+        }
+        return data;
+    }
+}
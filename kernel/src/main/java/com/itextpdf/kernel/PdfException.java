@@ -154,6 +154,7 @@ public class PdfException extends RuntimeException {
     public static final String DocumentDoesntContainStructTreeRoot = "Document doesn't contain StructTreeRoot.";
     public static final String DocumentHasNoPages = "Document has no pages.";
     public static final String DocumentHasNoPdfCatalogObject = "Document has no PDF Catalog object.";
+    public static final String DocumentHasNoReaderPagesCannotBeProcessedConcurrently = "Document has no PdfReader. Pages can be processed concurrently only for documents opened with PdfReader.";
     public static final String DocumentHasNotBeenReadYet = "The PDF document has not been read yet. Document reading occurs in PdfDocument class constructor";
     public static final String DocumentMustBePreClosed = "Document must be preClosed.";
     public static final String DocumentForCopyToCannotBeNull = "Document for copyTo cannot be null.";
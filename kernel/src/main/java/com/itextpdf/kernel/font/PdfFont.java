@@ -62,6 +62,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
@@ -96,6 +98,8 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
     protected boolean subset = true;
     protected List<int[]> subsetRanges;
 
+    private transient volatile ConcurrentMap<Object, Object> glyphDataCache;
+
     protected PdfFont(PdfDictionary fontDictionary) {
         super(fontDictionary);
         getPdfObject().put(PdfName.Type, PdfName.Font);
@@ -384,6 +388,30 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
         return fontProgram;
     }
 
+    /**
+     * Gets the cache of the data derived from the glyphs of the font, e.g. the glyph lines of repeated texts.
+     * The cache lives as long as the font and is cleared whenever glyphs are added to the font.
+     * Its users shall key their data with objects of their own classes, so that the keys do not clash.
+     *
+     * @return the cache of the data derived from the glyphs
+     */
+    public ConcurrentMap<Object, Object> getGlyphDataCache() {
+        ConcurrentMap<Object, Object> cache = glyphDataCache;
+        if (cache == null) {
+            cache = new ConcurrentHashMap<>();
+            glyphDataCache = cache;
+        }
+        return cache;
+    }
+
+    /**
+     * Drops the data derived from the glyphs of the font. Shall be called if glyphs are added to
+     * the font or replaced after the font is created.
+     */
+    protected void clearGlyphDataCache() {
+        glyphDataCache = null;
+    }
+
     public boolean isEmbedded() {
         return embedded;
     }
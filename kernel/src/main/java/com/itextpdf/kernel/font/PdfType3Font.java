@@ -273,6 +273,7 @@ public class PdfType3Font extends PdfSimpleFont<Type3Font> {
         glyph = new Type3Glyph(getDocument(), wx, llx, lly, urx, ury, ((Type3Font) getFontProgram()).isColorized());
         ((Type3Font) getFontProgram()).addGlyph(code, c, wx, new int[]{llx, lly, urx, ury}, glyph);
         fontEncoding.addSymbol(code, c);
+        clearGlyphDataCache();
 
         if (!((Type3Font) getFontProgram()).isColorized()) {
             if (fontProgram.countOfGlyphs() == 0) {
@@ -219,6 +219,7 @@ public class Type3Font extends FontProgram {
             unicodeToGlyph.put(unicode, glyph);
             type3Glyphs.put(unicode, type3Glyph);
         }
+        invalidateGlyphLookups();
         recalculateAverageWidth();
     }
 
@@ -60,7 +60,19 @@ public abstract class MemoryLimitsAwareFilter implements IFilterHandler {
      * @return the {@link ByteArrayOutputStream} which will be used for decompression of the passed pdf stream
      */
     public ByteArrayOutputStream enableMemoryLimitsAwareHandler(PdfDictionary streamDictionary) {
-        MemoryLimitsAwareOutputStream outputStream = new MemoryLimitsAwareOutputStream();
+        return enableMemoryLimitsAwareHandler(streamDictionary, 32);
+    }
+
+    /**
+     * Creates a {@link MemoryLimitsAwareOutputStream} which will be used for decompression of the passed pdf stream.
+     * The stream is presized to the expected decompressed size as long as it does not exceed the memory limits,
+     * so that its buffer does not have to grow while decompressing.
+     *
+     * @param streamDictionary the pdf stream which is going to be decompressed.
+     * @param expectedSize     the expected size of the decompressed data in bytes
+     * @return the {@link ByteArrayOutputStream} which will be used for decompression of the passed pdf stream
+     */
+    public ByteArrayOutputStream enableMemoryLimitsAwareHandler(PdfDictionary streamDictionary, int expectedSize) {
         MemoryLimitsAwareHandler memoryLimitsAwareHandler = null;
         if (null != streamDictionary.getIndirectReference()) {
             memoryLimitsAwareHandler = streamDictionary.getIndirectReference().getDocument().memoryLimitsAwareHandler;
@@ -69,8 +81,10 @@ public abstract class MemoryLimitsAwareFilter implements IFilterHandler {
             memoryLimitsAwareHandler = new MemoryLimitsAwareHandler();
         }
         if (null != memoryLimitsAwareHandler && memoryLimitsAwareHandler.considerCurrentPdfStream) {
-            outputStream.setMaxStreamSize(memoryLimitsAwareHandler.getMaxSizeOfSingleDecompressedPdfStream());
+            int maxStreamSize = memoryLimitsAwareHandler.getMaxSizeOfSingleDecompressedPdfStream();
+            return new MemoryLimitsAwareOutputStream(Math.max(Math.min(expectedSize, maxStreamSize), 0))
+                    .setMaxStreamSize(maxStreamSize);
         }
-        return outputStream;
+        return new MemoryLimitsAwareOutputStream(Math.max(expectedSize, 0));
     }
 }
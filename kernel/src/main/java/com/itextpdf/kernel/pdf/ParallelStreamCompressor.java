@@ -0,0 +1,194 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.DeflaterOutputStream;
+import com.itextpdf.kernel.PdfException;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Deflates the content of streams which are about to be flushed in advance, using the executor specified in
+ * {@link WriterProperties#useParallelStreamCompression(ExecutorService, int)}.
+ * <p>
+ * The compressed bytes are only taken by {@link PdfOutputStream} when the stream is actually written, so the order
+ * of the objects in the output and therefore the output itself do not depend on the number of workers.
+ * The number of streams compressed in advance is limited, so that the memory consumption stays bounded.
+ */
+class ParallelStreamCompressor {
+
+    private final ExecutorService executorService;
+    private final int maxPendingStreams;
+    private final Map<PdfStream, PendingCompression> pending = new IdentityHashMap<>();
+
+    ParallelStreamCompressor(ExecutorService executorService, int maxPendingStreams) {
+        this.executorService = executorService;
+        this.maxPendingStreams = Math.max(maxPendingStreams, 1);
+    }
+
+    /**
+     * Checks whether more streams can be scheduled for the compression.
+     *
+     * @return true if the limit of the pending streams is not reached, false otherwise
+     */
+    boolean canSchedule() {
+        return pending.size() < maxPendingStreams;
+    }
+
+    /**
+     * Schedules the compression of the stream content with the given compression level.
+     * Nothing is done if the limit of the pending streams is reached or if the stream is already scheduled.
+     *
+     * @param pdfStream        the stream which content will be compressed
+     * @param compressionLevel the compression level
+     */
+    void schedule(PdfStream pdfStream, int compressionLevel) {
+        if (!canSchedule() || pending.containsKey(pdfStream)) {
+            return;
+        }
+        // The content is copied, since the stream may still be modified while it is being compressed,
+        // e.g. by the handlers of the end page events
+        PdfOutputStream outputStream = pdfStream.getOutputStream();
+        byte[] content = ((ByteArrayOutputStream) outputStream.getOutputStream()).toByteArray();
+        Future<ByteArrayOutputStream> result = executorService.submit(new CompressionTask(content, compressionLevel));
+        pending.put(pdfStream, new PendingCompression(outputStream, content.length, pdfStream.getDataVersion(),
+                compressionLevel, result));
+    }
+
+    /**
+     * Takes the compressed content of the stream, waiting for the compression to finish if needed.
+     *
+     * @param pdfStream        the stream which is being written
+     * @param compressionLevel the compression level the stream is written with
+     * @return the compressed content, or null if the stream was not scheduled
+     * or was modified after it had been scheduled
+     */
+    ByteArrayOutputStream takeCompressed(PdfStream pdfStream, int compressionLevel) {
+        PendingCompression compression = pending.remove(pdfStream);
+        if (compression == null) {
+            return null;
+        }
+        ByteArrayOutputStream compressed = waitFor(compression.result);
+        if (compression.compressionLevel != compressionLevel || !compression.isUpToDate(pdfStream)) {
+            return null;
+        }
+        return compressed;
+    }
+
+    /**
+     * Discards the results of all the pending compressions.
+     */
+    void clear() {
+        for (PendingCompression compression : pending.values()) {
+            compression.result.cancel(false);
+        }
+        pending.clear();
+    }
+
+    private static ByteArrayOutputStream waitFor(Future<ByteArrayOutputStream> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(PdfException.IoException, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PdfException(PdfException.IoException, e.getCause());
+        }
+    }
+
+    private static class PendingCompression {
+        final PdfOutputStream outputStream;
+        final int size;
+        final int dataVersion;
+        final int compressionLevel;
+        final Future<ByteArrayOutputStream> result;
+
+        PendingCompression(PdfOutputStream outputStream, int size, int dataVersion, int compressionLevel,
+                Future<ByteArrayOutputStream> result) {
+            this.outputStream = outputStream;
+            this.size = size;
+            this.dataVersion = dataVersion;
+            this.compressionLevel = compressionLevel;
+            this.result = result;
+        }
+
+        /**
+         * Checks whether the stream content is still the one which was compressed. Writing to the stream
+         * changes its size, while {@link PdfStream#setData(byte[], boolean)} increments the data version,
+         * even if the new content has the same length.
+         */
+        boolean isUpToDate(PdfStream pdfStream) {
+            return pdfStream.getOutputStream() == outputStream && pdfStream.getDataVersion() == dataVersion
+                    && ((ByteArrayOutputStream) outputStream.getOutputStream()).size() == size;
+        }
+    }
+
+    private static class CompressionTask implements Callable<ByteArrayOutputStream> {
+        private final byte[] content;
+        private final int compressionLevel;
+
+        CompressionTask(byte[] content, int compressionLevel) {
+            this.content = content;
+            this.compressionLevel = compressionLevel;
+        }
+
+        @Override
+        public ByteArrayOutputStream call() throws IOException {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            DeflaterOutputStream zip = new DeflaterOutputStream(compressed, compressionLevel);
+            zip.write(content);
+            zip.finish();
+            return compressed;
+        }
+    }
+}
@@ -934,7 +934,10 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
                         }
                     }
 
+                    int compressInAdvanceFromPage = 1;
                     for (int pageNum = 1; pageNum <= getNumberOfPages(); pageNum++) {
+                        compressInAdvanceFromPage = writer.compressPageContentsInAdvance(
+                                Math.max(pageNum, compressInAdvanceFromPage));
                         getPage(pageNum).flush();
                     }
                     if (structTreeRoot != null) {
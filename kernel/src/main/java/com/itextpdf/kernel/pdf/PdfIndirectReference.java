@@ -62,8 +62,9 @@ public class PdfIndirectReference extends PdfObject implements Comparable<PdfInd
 
     /**
      * PdfObject that current PdfIndirectReference instance refers to.
+     * Volatile, so that an object read by one thread is safely visible to others.
      */
-    protected PdfObject refersTo = null;
+    protected volatile PdfObject refersTo = null;
 
     /**
      * Indirect reference number of object stream containing refersTo object.
@@ -287,6 +287,7 @@ public class PdfName extends PdfPrimitiveObject implements Comparable<PdfName> {
     public static final PdfName Direction = createDirectName("Direction");
     public static final PdfName Disc = createDirectName("Disc");
     public static final PdfName DisplayDocTitle = createDirectName("DisplayDocTitle");
+    public static final PdfName DL = createDirectName("DL");
     public static final PdfName DocMDP = createDirectName("DocMDP");
     public static final PdfName DocOpen = createDirectName("DocOpen");
     public static final PdfName DocTimeStamp = createDirectName("DocTimeStamp");
@@ -937,6 +938,12 @@ public class PdfName extends PdfPrimitiveObject implements Comparable<PdfName> {
      */
     public static Map<String, PdfName> staticNames;
 
+    /**
+     * Open addressing table of the static names used to look them up by the bytes of read names
+     * without creating strings.
+     */
+    private static PdfName[] staticNamesTable;
+
     /**
      * Use reflection to cache all the public static final names so
      * future <code>PdfName</code> additions don't have to be "added twice".
@@ -945,6 +952,32 @@ public class PdfName extends PdfPrimitiveObject implements Comparable<PdfName> {
      */
     static {
         staticNames = PdfNameLoader.loadNames();
+        staticNamesTable = PdfNameLoader.createLookupTable(staticNames);
+    }
+
+    /**
+     * Finds the static name which value consists of the specified bytes.
+     *
+     * @param bytes  the buffer holding the name bytes
+     * @param length the number of the name bytes in the buffer
+     * @return the static name or null if there is no static name with such value
+     */
+    static PdfName getStaticName(byte[] bytes, int length) {
+        PdfName[] table = staticNamesTable;
+        if (table == null) {
+            return null;
+        }
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + (bytes[i] & 0xff);
+        }
+        int mask = table.length - 1;
+        for (int i = PdfNameLoader.spread(hash) & mask; table[i] != null; i = (i + 1) & mask) {
+            if (table[i].valueEqualsTo(bytes, length)) {
+                return table[i];
+            }
+        }
+        return null;
     }
 
     private static PdfName createDirectName(String name) {
@@ -1016,6 +1049,18 @@ public class PdfName extends PdfPrimitiveObject implements Comparable<PdfName> {
         return getValue().hashCode();
     }
 
+    private boolean valueEqualsTo(byte[] bytes, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != (bytes[i] & 0xff)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected void generateValue() {
         StringBuilder buf = new StringBuilder();
         try {
@@ -66,4 +66,30 @@ final class PdfNameLoader {
         }
         return staticNames;
     }
+
+    /**
+     * Creates the open addressing table of the names for {@link PdfName#getStaticName(byte[], int)}.
+     * The names are placed by the hash codes of their values, so all of them shall consist of
+     * single byte characters.
+     */
+    static PdfName[] createLookupTable(Map<String, PdfName> staticNames) {
+        if (staticNames == null) {
+            return null;
+        }
+        int capacity = Integer.highestOneBit(Math.max(staticNames.size(), 1) * 2 - 1) << 1;
+        PdfName[] table = new PdfName[capacity];
+        int mask = capacity - 1;
+        for (PdfName name : staticNames.values()) {
+            int i = spread(name.getValue().hashCode()) & mask;
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            table[i] = name;
+        }
+        return table;
+    }
+
+    static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
 }
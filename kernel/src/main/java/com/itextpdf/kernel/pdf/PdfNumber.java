@@ -70,6 +70,18 @@ public class PdfNumber extends PdfPrimitiveObject {
         this.value = java.lang.Double.NaN;
     }
 
+    /**
+     * Creates a number with both its byte content and its already parsed value.
+     *
+     * @param content the bytes of the number as they were read
+     * @param value   the value of the bytes or {@link Double#NaN} if they are not a valid number
+     */
+    PdfNumber(byte[] content, double value) {
+        super(content);
+        this.isDouble = true;
+        this.value = value;
+    }
+
     private PdfNumber() {
         super();
     }
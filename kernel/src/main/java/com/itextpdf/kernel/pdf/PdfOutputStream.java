@@ -71,6 +71,11 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
     // For internal usage only
     private byte[] duplicateContentBuffer = null;
 
+    /**
+     * Compresses the streams in advance, if parallel stream compression is enabled.
+     */
+    transient ParallelStreamCompressor streamCompressor = null;
+
     /**
      * Document associated with PdfOutputStream.
      */
@@ -273,6 +278,31 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
     }
 
+    /**
+     * Schedules the compression of the stream in advance if parallel stream compression is enabled
+     * and the stream will be compressed with the default settings when it is written.
+     *
+     * @param pdfStream the stream which is going to be flushed
+     */
+    void compressInAdvance(PdfStream pdfStream) {
+        if (streamCompressor == null || !streamCompressor.canSchedule() || pdfStream.isFlushed()
+                || pdfStream instanceof PdfObjectStream || pdfStream.getInputStream() != null
+                || pdfStream.getOutputStream() == null
+                || !(pdfStream.getOutputStream().getOutputStream() instanceof ByteArrayOutputStream)
+                || pdfStream.containsKey(PdfName.Filter) || !isNotMetadataPdfStream(pdfStream)) {
+            return;
+        }
+        int compressionLevel = pdfStream.getCompressionLevel();
+        if (compressionLevel == CompressionConstants.UNDEFINED_COMPRESSION) {
+            compressionLevel = document != null
+                    ? document.getWriter().getCompressionLevel()
+                    : CompressionConstants.DEFAULT_COMPRESSION;
+        }
+        if (compressionLevel != CompressionConstants.NO_COMPRESSION) {
+            streamCompressor.schedule(pdfStream, compressionLevel);
+        }
+    }
+
     private boolean isNotMetadataPdfStream(PdfStream pdfStream) {
         return pdfStream.getAsName(PdfName.Type) == null ||
                 (pdfStream.getAsName(PdfName.Type) != null && !pdfStream.getAsName(PdfName.Type).equals(PdfName.Metadata));
@@ -339,22 +369,28 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                     pdfStream.getOutputStream().write(bytes);
                 }
                 assert pdfStream.getOutputStream() != null : "PdfStream lost OutputStream";
+                ByteArrayOutputStream compressedInAdvance = streamCompressor != null
+                        ? streamCompressor.takeCompressed(pdfStream, pdfStream.getCompressionLevel())
+                        : null;
                 ByteArrayOutputStream byteArrayStream;
                 try {
                     if (toCompress && !containsFlateFilter(pdfStream) && (allowCompression || userDefinedCompression)) {
                         // compress
                         updateCompressionFilter(pdfStream);
-                        byteArrayStream = new ByteArrayOutputStream();
-                        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
-                        if (pdfStream instanceof PdfObjectStream) {
-                            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
-                            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        } else {
-                            assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+                        byteArrayStream = compressedInAdvance;
+                        if (byteArrayStream == null) {
+                            byteArrayStream = new ByteArrayOutputStream();
+                            DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
+                            if (pdfStream instanceof PdfObjectStream) {
+                                PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
+                                ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
+                                ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
+                            } else {
+                                assert pdfStream.getOutputStream() != null : "Error in outputStream";
+                                ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+                            }
+                            zip.finish();
                         }
-                        zip.finish();
                     } else {
                         if (pdfStream instanceof PdfObjectStream) {
                             PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
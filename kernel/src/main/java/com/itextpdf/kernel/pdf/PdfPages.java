@@ -122,6 +122,30 @@ class PdfPages extends PdfObjectWrapper<PdfDictionary> {
         setModified();
     }
 
+    /**
+     * Moves the kids starting from the specified index to the end of the kids of another {@link PdfPages}.
+     * The counts of the ancestors are not changed, so both nodes are expected to have the same ones.
+     *
+     * @param fromIndex index of the first kid to be moved
+     * @param target    {@link PdfPages} which receives the kids
+     */
+    public void moveKids(int fromIndex, PdfPages target) {
+        int movedCount = kids.size() - fromIndex;
+        for (int i = fromIndex; i < kids.size(); i++) {
+            PdfDictionary kid = kids.getAsDictionary(i);
+            target.kids.add(kids.get(i, false));
+            kid.put(PdfName.Parent, target.getPdfObject());
+            kid.setModified();
+        }
+        for (int i = kids.size() - 1; i >= fromIndex; i--) {
+            kids.remove(i);
+        }
+        count.setValue(getCount() - movedCount);
+        setModified();
+        target.count.setValue(target.getCount() + movedCount);
+        target.setModified();
+    }
+
     // remove empty PdfPage.
     public void removeFromParent() {
         if (parent != null) {
@@ -51,7 +51,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Algorithm for construction {@link PdfPages} tree
@@ -69,6 +71,10 @@ class PdfPagesTree implements Serializable {
     private boolean generated = false;
     private PdfPages root;
 
+    // Reverse index of pageRefs, the zero-based indexes which are less than pageRefsIndexValidUntil are up to date
+    private transient Map<PdfIndirectReference, Integer> pageRefsIndex;
+    private transient int pageRefsIndexValidUntil;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(PdfPagesTree.class);
 
     /**
@@ -159,6 +165,12 @@ class PdfPagesTree implements Serializable {
      * in this tree, or 0 if this tree does not contain the page.
      */
     public int getPageNumber(PdfPage page) {
+        if (page != null) {
+            int pageNum = indexOfPageRef(page.getPdfObject().getIndirectReference());
+            if (pageNum >= 0 && pages.get(pageNum) == page) {
+                return pageNum + 1;
+            }
+        }
         return pages.indexOf(page) + 1;
     }
 
@@ -167,16 +179,21 @@ class PdfPagesTree implements Serializable {
      * specified by it's PdfDictionary, or 0 if this tree does not contain the page.
      */
     public int getPageNumber(PdfDictionary pageDictionary) {
-        int pageNum = pageRefs.indexOf(pageDictionary.getIndirectReference());
+        PdfIndirectReference pageRef = pageDictionary.getIndirectReference();
+        int pageNum = indexOfPageRef(pageRef);
         if (pageNum >= 0) {
             return pageNum + 1;
         }
+        if (pageRef == null) {
+            return 0;
+        }
         for (int i = 0; i < pageRefs.size(); i++) {
             if (pageRefs.get(i) == null) {
                 loadPage(i);
-            }
-            if (pageRefs.get(i).equals(pageDictionary.getIndirectReference())) {
-                return i + 1;
+                pageNum = indexOfPageRef(pageRef);
+                if (pageNum >= 0) {
+                    return pageNum + 1;
+                }
             }
         }
 
@@ -213,6 +230,10 @@ class PdfPagesTree implements Serializable {
         pdfPage.parentPages = pdfPages;
         pageRefs.add(pdfPage.getPdfObject().getIndirectReference());
         pages.add(pdfPage);
+        updatePageRefsIndex(pageRefs.size() - 1);
+        if (root != null) {
+            splitLeafIfNeeded(findPageParent(pageRefs.size() - 1));
+        }
     }
 
     /**
@@ -238,6 +259,8 @@ class PdfPagesTree implements Serializable {
         correctPdfPagesFromProperty(parentIndex + 1, +1);
         pageRefs.add(index, pdfPage.getPdfObject().getIndirectReference());
         pages.add(index, pdfPage);
+        invalidatePageRefsIndex(index);
+        splitLeafIfNeeded(parentIndex);
     }
 
     /**
@@ -313,6 +336,7 @@ class PdfPagesTree implements Serializable {
     protected void clearPageRefs() {
         pageRefs = null;
         pages = null;
+        pageRefsIndex = null;
     }
 
     protected List<PdfPages> getParents() {
@@ -435,6 +459,7 @@ class PdfPagesTree implements Serializable {
                 } else {
                     pageRefs.set(from + i, kid.getIndirectReference());
                 }
+                updatePageRefsIndex(from + i);
 
             }
         }
@@ -458,12 +483,148 @@ class PdfPagesTree implements Serializable {
             }
             pageRefs.remove(pageNum);
             pages.remove(pageNum);
+            invalidatePageRefsIndex(pageNum);
             return true;
         } else {
             return false;
         }
     }
 
+    /**
+     * Splits the leaf {@link PdfPages} in two halves, if it has grown too large because of added pages.
+     * Flushed pages can't get a new parent, so leaves which contain them are kept as they are. So are leaves
+     * with inheritable attributes and all leaves in append mode, where moved pages would have to be rewritten.
+     *
+     * @param parentIndex index of the leaf in {@link #parents}
+     */
+    private void splitLeafIfNeeded(int parentIndex) {
+        PdfPages leaf = parents.get(parentIndex);
+        PdfArray kids = leaf.getKids();
+        if (leaf.getCount() <= 2 * leafSize || kids == null || kids.size() != leaf.getCount()
+                || document.getWriter() == null || document.isAppendMode()) {
+            return;
+        }
+        for (int i = 0; i < kids.size(); i++) {
+            PdfObject kid = kids.get(i, false);
+            if (kid == null || kid.checkState(PdfObject.FLUSHED) || kid.isFlushed()) {
+                return;
+            }
+            PdfDictionary kidDictionary = kids.getAsDictionary(i);
+            if (kidDictionary == null || kidDictionary.containsKey(PdfName.Kids)) {
+                return;
+            }
+        }
+        int half = leaf.getCount() / 2;
+        if (leaf.getParent() != null) {
+            for (PdfName key : new PdfName[] {PdfName.Resources, PdfName.MediaBox, PdfName.CropBox, PdfName.Rotate}) {
+                if (leaf.getPdfObject().containsKey(key)) {
+                    return;
+                }
+            }
+            PdfArray parentKids = leaf.getParent().getKids();
+            int leafIndex = -1;
+            for (int i = 0; i < parentKids.size(); i++) {
+                PdfObject kid = parentKids.get(i, false);
+                if (kid == leaf.getPdfObject() || kid == leaf.getPdfObject().getIndirectReference()) {
+                    leafIndex = i;
+                    break;
+                }
+            }
+            if (leafIndex < 0) {
+                return;
+            }
+            PdfPages newLeaf = new PdfPages(leaf.getFrom() + half, document, leaf.getParent());
+            leaf.moveKids(half, newLeaf);
+            parentKids.add(leafIndex + 1, newLeaf.getPdfObject());
+            leaf.getParent().setModified();
+            parents.add(parentIndex + 1, newLeaf);
+            updatePagesParent(newLeaf);
+        } else if (leaf == root) {
+            // the root can't be replaced, so its pages are moved down to two new kids
+            PdfPages firstLeaf = new PdfPages(leaf.getFrom(), document, leaf);
+            PdfPages secondLeaf = new PdfPages(leaf.getFrom() + half, document, leaf);
+            leaf.moveKids(half, secondLeaf);
+            leaf.moveKids(0, firstLeaf);
+            leaf.addPages(firstLeaf);
+            leaf.addPages(secondLeaf);
+            parents.set(parentIndex, firstLeaf);
+            parents.add(parentIndex + 1, secondLeaf);
+            updatePagesParent(firstLeaf);
+            updatePagesParent(secondLeaf);
+        } else {
+            // the tree is not generated yet, so the new leaf will get its parent in generateTree
+            PdfPages newLeaf = new PdfPages(leaf.getFrom() + half, document);
+            leaf.moveKids(half, newLeaf);
+            parents.add(parentIndex + 1, newLeaf);
+            updatePagesParent(newLeaf);
+        }
+    }
+
+    private void updatePagesParent(PdfPages leaf) {
+        for (int i = leaf.getFrom(); i < leaf.getFrom() + leaf.getCount(); i++) {
+            if (pages.get(i) != null) {
+                pages.get(i).parentPages = leaf;
+            }
+        }
+    }
+
+    // zero-based index, or -1 if the reference is not loaded or is not a page of this tree
+    private int indexOfPageRef(PdfIndirectReference pageRef) {
+        if (pageRef == null) {
+            return -1;
+        }
+        if (pageRefsIndex == null) {
+            pageRefsIndex = new HashMap<>();
+            pageRefsIndexValidUntil = 0;
+        }
+        Integer pageNum = pageRefsIndex.get(pageRef);
+        if (pageNum != null && pageNum < pageRefsIndexValidUntil && pageRef.equals(pageRefs.get(pageNum))) {
+            return pageNum;
+        }
+        if (pageRefsIndexValidUntil < pageRefs.size()) {
+            // going backwards so that the first occurrence of a page wins
+            for (int i = pageRefs.size() - 1; i >= pageRefsIndexValidUntil; i--) {
+                PdfIndirectReference ref = pageRefs.get(i);
+                if (ref != null && !isIndexedBefore(ref, pageRefsIndexValidUntil)) {
+                    pageRefsIndex.put(ref, i);
+                }
+            }
+            pageRefsIndexValidUntil = pageRefs.size();
+            pageNum = pageRefsIndex.get(pageRef);
+            if (pageNum != null && pageNum < pageRefsIndexValidUntil && pageRef.equals(pageRefs.get(pageNum))) {
+                return pageNum;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isIndexedBefore(PdfIndirectReference pageRef, int pageNum) {
+        Integer indexed = pageRefsIndex.get(pageRef);
+        return indexed != null && indexed < pageNum && indexed < pageRefsIndexValidUntil
+                && pageRef.equals(pageRefs.get((int) indexed));
+    }
+
+    // zero-based index of the page which reference has been set
+    private void updatePageRefsIndex(int pageNum) {
+        if (pageRefsIndex == null || pageNum > pageRefsIndexValidUntil) {
+            return;
+        }
+        PdfIndirectReference pageRef = pageRefs.get(pageNum);
+        if (pageRef != null && !isIndexedBefore(pageRef, pageNum)) {
+            pageRefsIndex.put(pageRef, pageNum);
+        }
+        if (pageNum == pageRefsIndexValidUntil) {
+            pageRefsIndexValidUntil++;
+        }
+    }
+
+    // zero-based index starting from which the pages have been shifted
+    private void invalidatePageRefsIndex(int pageNum) {
+        if (pageRefsIndex != null && pageNum < pageRefsIndexValidUntil) {
+            pageRefsIndexValidUntil = pageNum;
+        }
+    }
+
     // zero-based index
     private int findPageParent(int pageNum) {
         int low = 0;
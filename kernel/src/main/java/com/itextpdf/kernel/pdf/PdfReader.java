@@ -69,6 +69,11 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Reads a PDF document.
+ * <p>
+ * Indirect objects of a document opened in reading mode may be resolved and the bytes of its streams may be read
+ * from several threads simultaneously: parsing of indirect objects is serialized by the reader, while stream
+ * bytes are read through independent views of the source and are decoded concurrently.
+ * Note that higher level structures of {@link PdfDocument} (e.g. pages tree or fonts) are not thread safe.
  */
 public class PdfReader implements Closeable, Serializable {
 
@@ -103,6 +108,10 @@ public class PdfReader implements Closeable, Serializable {
     protected PdfTokenizer tokens;
     protected PdfEncryption decrypt;
 
+    // The tokenizer of the original source. Unlike tokens it is not replaced while object streams are read,
+    // so the views of the source can be created from it without holding the lock.
+    private transient PdfTokenizer sourceTokens;
+
     // here we store only the pdfVersion that is written in the document's header,
     // however it could differ from the actual pdf version that could be written in document's catalog
     protected PdfVersion headerPdfVersion;
@@ -129,6 +138,7 @@ public class PdfReader implements Closeable, Serializable {
     public PdfReader(IRandomAccessSource byteSource, ReaderProperties properties) throws IOException {
         this.properties = properties;
         this.tokens = getOffsetTokeniser(byteSource);
+        this.sourceTokens = tokens;
     }
 
     /**
@@ -373,15 +383,18 @@ public class PdfReader implements Closeable, Serializable {
      */
     public byte[] readStreamBytesRaw(PdfStream stream) throws IOException {
         PdfName type = stream.getAsName(PdfName.Type);
-        if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type))
-            checkPdfStreamLength(stream);
+        if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type)) {
+            synchronized (this) {
+                checkPdfStreamLength(stream);
+            }
+        }
         long offset = stream.getOffset();
         if (offset <= 0)
             return null;
         int length = stream.getLength();
         if (length <= 0)
             return new byte[0];
-        RandomAccessFileOrArray file = tokens.getSafeFile();
+        RandomAccessFileOrArray file = sourceTokens.getSafeFile();
         byte[] bytes = null;
         try {
             file.seek(stream.getOffset());
@@ -405,8 +418,10 @@ public class PdfReader implements Closeable, Serializable {
                     filter.release();
                 }
                 if (!skip) {
-                    decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(), stream.getIndirectReference().getGenNumber());
-                    bytes = decrypt.decryptByteArray(bytes);
+                    synchronized (this) {
+                        decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(), stream.getIndirectReference().getGenNumber());
+                        bytes = decrypt.decryptByteArray(bytes);
+                    }
                 }
             }
         } finally {
@@ -475,10 +490,21 @@ public class PdfReader implements Closeable, Serializable {
         final boolean memoryLimitsAwarenessRequired = null != memoryLimitsAwareHandler &&
                 memoryLimitsAwareHandler.isMemoryLimitsAwarenessRequiredOnDecompression(filters);
 
-        if(memoryLimitsAwarenessRequired) {
-            memoryLimitsAwareHandler.beginDecompressedPdfStreamProcessing();
+        if (memoryLimitsAwarenessRequired) {
+            // the handler tracks the stream which is currently being decoded,
+            // so such streams of the same document are decoded one at a time
+            synchronized (memoryLimitsAwareHandler) {
+                memoryLimitsAwareHandler.beginDecompressedPdfStreamProcessing();
+                b = applyFilters(b, filters, streamDictionary, filterHandlers, memoryLimitsAwareHandler);
+                memoryLimitsAwareHandler.endDecompressedPdfStreamProcessing();
+            }
+            return b;
         }
+        return applyFilters(b, filters, streamDictionary, filterHandlers, null);
+    }
 
+    private static byte[] applyFilters(byte[] b, PdfArray filters, PdfDictionary streamDictionary,
+            Map<PdfName, IFilterHandler> filterHandlers, MemoryLimitsAwareHandler memoryLimitsAwareHandler) {
         PdfArray dp = new PdfArray();
         PdfObject dpo = streamDictionary.get(PdfName.DecodeParms);
         if (dpo == null || (dpo.getType() != PdfObject.DICTIONARY && dpo.getType() != PdfObject.ARRAY)) {
@@ -513,13 +539,10 @@ public class PdfReader implements Closeable, Serializable {
                 decodeParams = null;
             }
             b = filterHandler.decode(b, filterName, decodeParams, streamDictionary);
-            if (memoryLimitsAwarenessRequired) {
+            if (memoryLimitsAwareHandler != null) {
                 memoryLimitsAwareHandler.considerBytesOccupiedByDecompressedPdfStream(b.length);
             }
         }
-        if (memoryLimitsAwarenessRequired) {
-            memoryLimitsAwareHandler.endDecompressedPdfStreamProcessing();
-        }
         return b;
     }
 
@@ -530,7 +553,45 @@ public class PdfReader implements Closeable, Serializable {
      * @return a new file instance of the original PDF document
      */
     public RandomAccessFileOrArray getSafeFile() {
-        return tokens.getSafeFile();
+        return sourceTokens.getSafeFile();
+    }
+
+    /**
+     * Creates a new {@link PdfReader} over an independent view of the source of this reader.
+     * <p>
+     * The new reader has its own file pointer and may be used to open a separate {@link PdfDocument}
+     * in another thread, while this reader stays usable. The underlying byte source is made thread safe.
+     * Decryption parameters, strictness level, unethical reading and memory saving mode are copied,
+     * the memory limits are copied into a new {@link MemoryLimitsAwareHandler} instance.
+     * <p>
+     * Closing the new reader does not close the source of this reader, however closing this reader
+     * makes the new one unusable.
+     *
+     * @return a new {@link PdfReader} instance which reads the same bytes as this reader
+     * @throws IOException if an I/O error occurs
+     */
+    public PdfReader createIndependentReader() throws IOException {
+        ReaderProperties independentProperties = new ReaderProperties();
+        if (properties != null) {
+            independentProperties.password = properties.password;
+            independentProperties.certificate = properties.certificate;
+            independentProperties.certificateKey = properties.certificateKey;
+            independentProperties.certificateKeyProvider = properties.certificateKeyProvider;
+            independentProperties.externalDecryptionProcess = properties.externalDecryptionProcess;
+            if (properties.memoryLimitsAwareHandler != null) {
+                independentProperties.memoryLimitsAwareHandler = new MemoryLimitsAwareHandler()
+                        .setMaxSizeOfSingleDecompressedPdfStream(
+                                properties.memoryLimitsAwareHandler.getMaxSizeOfSingleDecompressedPdfStream())
+                        .setMaxSizeOfDecompressedPdfStreamsSum(
+                                properties.memoryLimitsAwareHandler.getMaxSizeOfDecompressedPdfStreamsSum());
+            }
+        }
+        PdfReader independentReader = new PdfReader(sourceTokens.getSafeFile().createSourceView(), independentProperties);
+        independentReader.sourcePath = sourcePath;
+        independentReader.unethicalReading = unethicalReading;
+        independentReader.memorySavingMode = memorySavingMode;
+        independentReader.strictnessLevel = strictnessLevel;
+        return independentReader;
     }
 
     /**
@@ -540,7 +601,7 @@ public class PdfReader implements Closeable, Serializable {
      * @throws IOException on error.
      */
     public long getFileLength() throws IOException {
-        return tokens.getSafeFile().length();
+        return sourceTokens.getSafeFile().length();
     }
 
     /**
@@ -768,7 +829,7 @@ public class PdfReader implements Closeable, Serializable {
                 if (tokens.getTokenType() == PdfTokenizer.TokenType.Number) {
                     // This ensure that we don't even try to read as indirect reference token (two numbers and "R")
                     // which are forbidden in object streams.
-                    obj = new PdfNumber(tokens.getByteContent());
+                    obj = readPdfNumber();
                 } else {
                     tokens.seek(address[k]);
                     obj = readObject(false, true);
@@ -783,7 +844,18 @@ public class PdfReader implements Closeable, Serializable {
     }
 
     protected PdfObject readObject(PdfIndirectReference reference) {
-        return readObject(reference, true);
+        // the tokenizer is shared, so parsing of indirect objects is serialized. The result is assigned
+        // under the same lock, so that the concurrently requested object is read only once
+        synchronized (this) {
+            if (reference != null && reference.refersTo != null) {
+                return reference.refersTo;
+            }
+            PdfObject object = readObject(reference, true);
+            if (reference != null && object != null) {
+                reference.refersTo = object;
+            }
+            return object;
+        }
     }
 
     protected PdfObject readObject(boolean readAsDirect) throws IOException {
@@ -858,7 +930,7 @@ public class PdfReader implements Closeable, Serializable {
             case StartArray:
                 return readArray(objStm);
             case Number:
-                return new PdfNumber(tokens.getByteContent());
+                return readPdfNumber();
             case String: {
                 PdfString pdfString = new PdfString(tokens.getByteContent(), tokens.isHexString());
                 if (encrypted && !decrypt.isEmbeddedFilesOnly() && !objStm) {
@@ -894,7 +966,8 @@ public class PdfReader implements Closeable, Serializable {
 
     protected PdfName readPdfName(boolean readAsDirect) {
         if (readAsDirect) {
-            PdfName cachedName = PdfName.staticNames.get(tokens.getStringValue());
+            ByteBuffer token = tokens.getTokenBuffer();
+            PdfName cachedName = PdfName.getStaticName(token.getInternalBuffer(), token.size());
             if (cachedName != null)
                 return cachedName;
         }
@@ -902,6 +975,14 @@ public class PdfReader implements Closeable, Serializable {
         return new PdfName(tokens.getByteContent());
     }
 
+    private PdfNumber readPdfNumber() {
+        if (tokens.isCanonicalIntToken()) {
+            // the int value is written back exactly as it was read, so there is no need to keep the bytes
+            return new PdfNumber(tokens.getIntValue());
+        }
+        return new PdfNumber(tokens.getByteContent(), tokens.getDoubleValue());
+    }
+
     protected PdfDictionary readDictionary(boolean objStm) throws IOException {
         PdfDictionary dic = new PdfDictionary();
         while (true) {
@@ -1025,18 +1106,15 @@ public class PdfReader implements Closeable, Serializable {
                     end--;
                     continue;
                 }
+                if (xref.isStoredLazily(num)) {
+                    continue;
+                }
                 PdfIndirectReference reference = xref.get(num);
                 boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == gen;
                 // for references that are added by xref table itself (like 0 entry)
                 boolean refFirstEncountered = reference == null
                         || !refReadingState && reference.getDocument() == null;
-
-                if (refFirstEncountered) {
-                    reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
-                } else if (refReadingState) {
-                    reference.setOffset(pos);
-                    reference.clearState(PdfObject.READING);
-                } else {
+                if (!refFirstEncountered && !refReadingState) {
                     continue;
                 }
 
@@ -1044,16 +1122,15 @@ public class PdfReader implements Closeable, Serializable {
                     if (pos == 0) {
                         tokens.throwError(PdfException.FilePosition1CrossReferenceEntryInThisXrefSubsection);
                     }
-                } else if (tokens.tokenValueEqualsTo(PdfTokenizer.F)) {
-                    if (refFirstEncountered) {
-                        reference.setState(PdfObject.FREE);
-                    }
-                } else {
+                } else if (!tokens.tokenValueEqualsTo(PdfTokenizer.F)) {
                     tokens.throwError(PdfException.InvalidCrossReferenceEntryInThisXrefSubsection);
                 }
 
                 if (refFirstEncountered) {
-                    xref.add(reference);
+                    xref.addLazily(pdfDocument, num, gen, pos, 0, tokens.tokenValueEqualsTo(PdfTokenizer.F));
+                } else {
+                    reference.setOffset(pos);
+                    reference.clearState(PdfObject.READING);
                 }
             }
         }
@@ -1151,34 +1228,39 @@ public class PdfReader implements Closeable, Serializable {
                         field3 = (field3 << 8) + (b[bptr++] & 0xff);
                     }
                     int base = start;
-                    PdfIndirectReference newReference;
+                    int gen;
+                    long offsetOrIndex;
+                    int objStreamNumber = 0;
                     switch (type) {
                         case 0:
-                            newReference = (PdfIndirectReference) new PdfIndirectReference(pdfDocument, base, field3, field2).setState(PdfObject.FREE);
-                            break;
                         case 1:
-                            newReference = new PdfIndirectReference(pdfDocument, base, field3, field2);
+                            gen = field3;
+                            offsetOrIndex = field2;
                             break;
                         case 2:
-                            newReference = new PdfIndirectReference(pdfDocument, base, 0, field3);
-                            newReference.setObjStreamNumber((int) field2);
+                            gen = 0;
+                            offsetOrIndex = field3;
+                            objStreamNumber = (int) field2;
                             break;
                         default:
                             throw new PdfException(PdfException.InvalidXrefStream);
                     }
 
-                    PdfIndirectReference reference = xref.get(base);
-                    boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == newReference.getGenNumber();
-                    // for references that are added by xref table itself (like 0 entry)
-                    boolean refFirstEncountered = reference == null
-                            || !refReadingState && reference.getDocument() == null;
-
-                    if (refFirstEncountered) {
-                        xref.add(newReference);
-                    } else if (refReadingState) {
-                        reference.setOffset(newReference.getOffset());
-                        reference.setObjStreamNumber(newReference.getObjStreamNumber());
-                        reference.clearState(PdfObject.READING);
+                    if (!xref.isStoredLazily(base)) {
+                        PdfIndirectReference reference = xref.get(base);
+                        boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == gen;
+                        // for references that are added by xref table itself (like 0 entry)
+                        boolean refFirstEncountered = reference == null
+                                || !refReadingState && reference.getDocument() == null;
+
+                        if (refFirstEncountered) {
+                            xref.addLazily(pdfDocument, base, gen, offsetOrIndex, objStreamNumber, type == 0);
+                        } else if (refReadingState) {
+                            // the offset of an object from an object stream is not known
+                            reference.setOffset(objStreamNumber == 0 ? offsetOrIndex : -1);
+                            reference.setObjStreamNumber(objStreamNumber);
+                            reference.clearState(PdfObject.READING);
+                        }
                     }
                     ++start;
                 }
@@ -1428,6 +1510,7 @@ public class PdfReader implements Closeable, Serializable {
         if (sourcePath != null && tokens == null) {
             tokens = getOffsetTokeniser(new RandomAccessSourceFactory().setForceRead(false).createBestSource(sourcePath));
         }
+        sourceTokens = tokens;
     }
 
     /**
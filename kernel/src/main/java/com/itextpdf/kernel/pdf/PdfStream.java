@@ -66,6 +66,8 @@ public class PdfStream extends PdfDictionary {
     private InputStream inputStream;
     private long offset;
     private int length = -1;
+    // incremented whenever the content is set, so that the content compressed in advance can be recognized as outdated
+    private transient int dataVersion;
 
     /**
      * Constructs a {@code PdfStream}-object.
@@ -304,6 +306,7 @@ public class PdfStream extends PdfDictionary {
             throw new PdfException(PdfException.CannotSetDataToPdfStreamWhichWasCreatedByInputStream);
         }
 
+        dataVersion++;
         boolean outputStreamIsUninitialized = outputStream == null;
         if (outputStreamIsUninitialized) {
             outputStream = new PdfOutputStream(new ByteArrayOutputStream());
@@ -374,6 +377,15 @@ public class PdfStream extends PdfDictionary {
         }
     }
 
+    /**
+     * Gets the number of times the content of this stream was set by {@link #setData(byte[], boolean)}.
+     *
+     * @return the version of the stream data
+     */
+    int getDataVersion() {
+        return dataVersion;
+    }
+
     protected void initOutputStream(java.io.OutputStream stream) {
         if (getOutputStream() == null && inputStream == null)
             outputStream = new PdfOutputStream(stream != null ? stream : new ByteArrayOutputStream());
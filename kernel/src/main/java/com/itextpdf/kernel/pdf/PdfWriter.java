@@ -57,6 +57,7 @@ import java.io.NotSerializableException;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -92,7 +93,15 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     /**
      * Is used in smart mode to serialize and store serialized objects content.
      */
-    private SmartModePdfObjectsSerializer smartModeSerializer = new SmartModePdfObjectsSerializer();
+    private SmartModePdfObjectsSerializer smartModeSerializer;
+
+    /**
+     * Is used to serialize and store serialized content of the copied fonts, font programs and images,
+     * if their deduplication is enabled. Is null otherwise.
+     */
+    private SmartModePdfObjectsSerializer resourceSerializer;
+
+    private static final PdfName[] FONT_PROGRAM_KEYS = {PdfName.FontFile, PdfName.FontFile2, PdfName.FontFile3};
 
     //forewarned is forearmed
     protected boolean isUserWarnedAboutAcroFormCopying;
@@ -121,6 +130,11 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     public PdfWriter(java.io.OutputStream os, WriterProperties properties) {
         super(FileUtil.wrapWithBufferedOutputStream(os));
         this.properties = properties;
+        this.smartModeSerializer = new SmartModePdfObjectsSerializer(properties.smartModeCacheCapacity);
+        if (properties.streamCompressionExecutor != null) {
+            this.streamCompressor = new ParallelStreamCompressor(properties.streamCompressionExecutor,
+                    properties.maxPendingCompressedStreams);
+        }
         if (properties.debugMode) {
             setDebugMode();
         }
@@ -199,6 +213,28 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         return this;
     }
 
+    /**
+     * Sets the deduplication of the copied fonts and images.
+     * <br>
+     * When it is enabled, copied fonts, font programs and images are compared to the ones which
+     * have been already copied to this document, from the same or any other document, so that equal
+     * resources are written only once. Unlike in smart mode, other copied objects are not compared,
+     * which makes copying of pages, e.g. merging of many documents sharing the same fonts and logos,
+     * much cheaper. The resources are compared by their dictionaries and by the hashes of their
+     * raw stream bytes, so the streams are not decoded. In smart mode this setting has no effect.
+     *
+     * @param resourceDeduplication true for enabling the deduplication of fonts and images.
+     * @return this {@link PdfWriter} instance
+     */
+    public PdfWriter setResourceDeduplication(boolean resourceDeduplication) {
+        if (!resourceDeduplication) {
+            resourceSerializer = null;
+        } else if (resourceSerializer == null) {
+            resourceSerializer = new SmartModePdfObjectsSerializer();
+        }
+        return this;
+    }
+
     /**
      * Write an integer to the underlying stream
      *
@@ -365,26 +401,48 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             }
         }
 
+        SmartModePdfObjectsSerializer serializer = null;
+        if (properties.smartMode) {
+            if (tryToFindDuplicate && !checkTypeOfPdfDictionary(obj, PdfName.Page)) {
+                serializer = smartModeSerializer;
+            }
+        } else if (resourceSerializer != null && tryToFindDuplicate && isDeduplicatedResource(obj)) {
+            serializer = resourceSerializer;
+        }
         SerializedObjectContent serializedContent = null;
-        if (properties.smartMode && tryToFindDuplicate && !checkTypeOfPdfDictionary(obj, PdfName.Page)) {
-            serializedContent = smartModeSerializer.serializeObject(obj);
-            PdfIndirectReference objectRef = smartModeSerializer.getSavedSerializedObject(serializedContent);
+        if (serializer != null) {
+            serializedContent = serializer.serializeObject(obj);
+            PdfIndirectReference objectRef = serializer.getSavedSerializedObject(serializedContent);
             if (objectRef != null) {
                 copiedObjects.put(indirectReference, objectRef);
                 return objectRef.refersTo;
             }
         }
+        Map<PdfIndirectReference, SerializedObjectContent> notFoundFontPrograms = null;
+        if (!properties.smartMode && resourceSerializer != null && tryToFindDuplicate
+                && checkTypeOfPdfDictionary(obj, PdfName.FontDescriptor)) {
+            notFoundFontPrograms = findCopiedFontPrograms((PdfDictionary) obj);
+        }
 
         PdfObject newObject = obj.newInstance();
         if (indirectReference != null) {
             PdfIndirectReference indRef = newObject.makeIndirect(documentTo).getIndirectReference();
             if (serializedContent != null) {
-                smartModeSerializer.saveSerializedObject(serializedContent, indRef);
+                serializer.saveSerializedObject(serializedContent, indRef);
             }
             copiedObjects.put(indirectReference, indRef);
         }
         newObject.copyContent(obj, documentTo);
 
+        if (notFoundFontPrograms != null) {
+            for (Map.Entry<PdfIndirectReference, SerializedObjectContent> fontProgram : notFoundFontPrograms.entrySet()) {
+                PdfIndirectReference copiedFontProgram = copiedObjects.get(fontProgram.getKey());
+                if (copiedFontProgram != null) {
+                    resourceSerializer.saveSerializedObject(fontProgram.getValue(), copiedFontProgram);
+                }
+            }
+        }
+
         return newObject;
     }
 
@@ -425,7 +483,9 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         boolean needFlush = true;
         while (needFlush) {
             needFlush = false;
+            int compressInAdvanceFrom = 1;
             for (int i = 1; i < xref.size(); i++) {
+                compressInAdvanceFrom = compressWaitingStreamsInAdvance(Math.max(i, compressInAdvanceFrom), forbiddenToFlush);
                 PdfIndirectReference indirectReference = xref.get(i);
                 if (indirectReference != null && !indirectReference.isFree()
                         && indirectReference.checkState(PdfObject.MUST_BE_FLUSHED)
@@ -442,6 +502,41 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             objectStream.flush();
             objectStream = null;
         }
+        if (streamCompressor != null) {
+            streamCompressor.clear();
+        }
+    }
+
+    /**
+     * Schedules the compression of the content streams of the pages which are going to be flushed,
+     * if parallel stream compression is enabled.
+     *
+     * @param fromPageNum the number of the first page which content streams can be scheduled
+     * @return the number of the first page which content streams were not scheduled
+     */
+    int compressPageContentsInAdvance(int fromPageNum) {
+        if (streamCompressor == null) {
+            return fromPageNum;
+        }
+        int pageNum = fromPageNum;
+        for (; pageNum <= document.getNumberOfPages() && streamCompressor.canSchedule(); pageNum++) {
+            PdfPage page = document.getPage(pageNum);
+            if (page.isFlushed()) {
+                continue;
+            }
+            PdfObject contents = page.getPdfObject().get(PdfName.Contents, false);
+            if (contents == null || contents.isFlushed()) {
+                continue;
+            }
+            int contentStreamCount = page.getContentStreamCount();
+            for (int i = 0; i < contentStreamCount; i++) {
+                PdfStream contentStream = page.getContentStream(i);
+                if (contentStream != null) {
+                    compressInAdvance(contentStream);
+                }
+            }
+        }
+        return pageNum;
     }
 
     /**
@@ -493,6 +588,26 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         }
     }
 
+    private int compressWaitingStreamsInAdvance(int fromObjNr, Set<PdfIndirectReference> forbiddenToFlush) {
+        if (streamCompressor == null) {
+            return fromObjNr;
+        }
+        PdfXrefTable xref = document.getXref();
+        int objNr = fromObjNr;
+        for (; objNr < xref.size() && streamCompressor.canSchedule(); objNr++) {
+            PdfIndirectReference indirectReference = xref.get(objNr);
+            if (indirectReference != null && !indirectReference.isFree()
+                    && indirectReference.checkState(PdfObject.MUST_BE_FLUSHED)
+                    && !forbiddenToFlush.contains(indirectReference)) {
+                PdfObject obj = indirectReference.getRefersTo(false);
+                if (obj != null && obj.isStream()) {
+                    compressInAdvance((PdfStream) obj);
+                }
+            }
+        }
+        return objNr;
+    }
+
     private void markArrayContentToFlush(PdfArray array) {
         for (int i = 0; i < array.size(); i++) {
             markObjectToFlush(array.get(i, false));
@@ -540,6 +655,40 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         }
     }
 
+    /**
+     * Maps the font programs of the font descriptor to the equal ones which have been already copied, if any,
+     * so that the font programs are not copied again, even if the fonts which use them differ.
+     *
+     * @param fontDescriptor the font descriptor which is being copied
+     * @return the serialized content of the font programs which haven't been copied yet
+     */
+    private Map<PdfIndirectReference, SerializedObjectContent> findCopiedFontPrograms(PdfDictionary fontDescriptor) {
+        Map<PdfIndirectReference, SerializedObjectContent> notFoundFontPrograms = new HashMap<>();
+        for (PdfName key : FONT_PROGRAM_KEYS) {
+            PdfObject fontProgram = fontDescriptor.get(key, false);
+            if (!(fontProgram instanceof PdfIndirectReference) || copiedObjects.containsKey(fontProgram)) {
+                continue;
+            }
+            PdfObject fontProgramStream = ((PdfIndirectReference) fontProgram).getRefersTo();
+            if (fontProgramStream == null || !fontProgramStream.isStream()) {
+                continue;
+            }
+            SerializedObjectContent serializedContent = resourceSerializer.serializeObject(fontProgramStream);
+            PdfIndirectReference objectRef = resourceSerializer.getSavedSerializedObject(serializedContent);
+            if (objectRef != null) {
+                copiedObjects.put((PdfIndirectReference) fontProgram, objectRef);
+            } else if (serializedContent != null) {
+                notFoundFontPrograms.put((PdfIndirectReference) fontProgram, serializedContent);
+            }
+        }
+        return notFoundFontPrograms;
+    }
+
+    private static boolean isDeduplicatedResource(PdfObject obj) {
+        return checkTypeOfPdfDictionary(obj, PdfName.Font)
+                || obj.isStream() && PdfName.Image.equals(((PdfStream) obj).getAsName(PdfName.Subtype));
+    }
+
     private static boolean checkTypeOfPdfDictionary(PdfObject dictionary, PdfName expectedType) {
         return dictionary.isDictionary() && expectedType.equals(((PdfDictionary) dictionary).getAsName(PdfName.Type));
     }
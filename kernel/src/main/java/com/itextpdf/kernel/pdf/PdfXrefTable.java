@@ -59,6 +59,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * A representation of a cross-referenced table of a PDF document.
@@ -73,8 +74,27 @@ public class PdfXrefTable implements Serializable {
     private static final byte[] freeXRefEntry = ByteUtils.getIsoBytes("f \n");
     private static final byte[] inUseXRefEntry = ByteUtils.getIsoBytes("n \n");
 
+    private static final byte NO_LAZY_ENTRY = 0;
+    private static final byte LAZY_IN_USE_ENTRY = 1;
+    private static final byte LAZY_FREE_ENTRY = 2;
+
     private PdfIndirectReference[] xref;
     private int count = 0;
+
+    /*
+     * Entries read from the cross-reference sections of a document are stored in the primitive arrays below
+     * and turned into PdfIndirectReference instances only on the first request, so that opening a document
+     * with a huge number of objects neither creates nor retains an object per entry.
+     * An entry added to the xref array always takes precedence over the lazy entry with the same number.
+     * The created references are published through the atomic array, so that they can be requested
+     * from several threads without locking.
+     */
+    private PdfDocument lazyEntriesDocument;
+    private AtomicReferenceArray<PdfIndirectReference> lazyReferences;
+    private byte[] lazyEntryTypes;
+    private int[] lazyGenerations;
+    private long[] lazyOffsetsOrIndexes;
+    private int[] lazyObjStreamNumbers;
     private boolean readingCompleted;
 
     /**
@@ -111,6 +131,9 @@ public class PdfXrefTable implements Serializable {
         this.count = Math.max(this.count, objNr);
         ensureCount(objNr);
         xref[objNr] = reference;
+        if (lazyEntryTypes != null) {
+            lazyEntryTypes[objNr] = NO_LAZY_ENTRY;
+        }
         return reference;
     }
 
@@ -131,8 +154,8 @@ public class PdfXrefTable implements Serializable {
     public int getCountOfIndirectObjects() {
         int countOfIndirectObjects = 0;
 
-        for (final PdfIndirectReference ref: xref) {
-            if (ref != null && ! ref.isFree()) {
+        for (int i = 0; i < xref.length; i++) {
+            if (!isFreeOrMissing(i)) {
                 countOfIndirectObjects++;
             }
         }
@@ -150,9 +173,55 @@ public class PdfXrefTable implements Serializable {
         if (index > count) {
             return null;
         }
+        if (lazyEntryTypes != null && lazyEntryTypes[index] != NO_LAZY_ENTRY) {
+            PdfIndirectReference reference = lazyReferences.get(index);
+            return reference != null ? reference : createLazyReference(index);
+        }
         return xref[index];
     }
 
+    /**
+     * Adds an entry read from a cross-reference section. The corresponding {@link PdfIndirectReference}
+     * is created only when it is requested for the first time via {@link #get(int)}.
+     *
+     * @param document        the document which is being read
+     * @param objNr           the object number
+     * @param genNr           the generation number
+     * @param offsetOrIndex   the offset of the object in the document or its index in the object stream
+     * @param objStreamNumber the number of the object stream containing the object, or 0
+     * @param free            whether the entry is free
+     */
+    void addLazily(PdfDocument document, int objNr, int genNr, long offsetOrIndex, int objStreamNumber, boolean free) {
+        this.count = Math.max(this.count, objNr);
+        ensureCount(objNr);
+        if (lazyEntryTypes == null) {
+            lazyEntriesDocument = document;
+            lazyReferences = new AtomicReferenceArray<>(xref.length);
+            lazyEntryTypes = new byte[xref.length];
+            lazyGenerations = new int[xref.length];
+            lazyOffsetsOrIndexes = new long[xref.length];
+            lazyObjStreamNumbers = new int[xref.length];
+        }
+        xref[objNr] = null;
+        lazyReferences.set(objNr, null);
+        lazyEntryTypes[objNr] = free ? LAZY_FREE_ENTRY : LAZY_IN_USE_ENTRY;
+        lazyGenerations[objNr] = genNr;
+        lazyOffsetsOrIndexes[objNr] = offsetOrIndex;
+        lazyObjStreamNumbers[objNr] = objStreamNumber;
+    }
+
+    /**
+     * Checks whether the entry with the given number was added via
+     * {@link #addLazily(PdfDocument, int, int, long, int, boolean)} and was not requested yet.
+     *
+     * @param objNr the object number
+     * @return true if the entry is stored lazily, false otherwise
+     */
+    boolean isStoredLazily(int objNr) {
+        return objNr <= count && xref[objNr] == null
+                && lazyEntryTypes != null && lazyEntryTypes[objNr] != NO_LAZY_ENTRY;
+    }
+
     /**
      * Change the state of the cross-reference table to mark that reading of the document
      * was completed.
@@ -179,33 +248,32 @@ public class PdfXrefTable implements Serializable {
         freeReferencesLinkedList.clear();
 
         // ensure zero object is free
-        xref[0].setState(PdfObject.FREE);
+        get(0).setState(PdfObject.FREE);
         TreeSet<Integer> freeReferences = new TreeSet<>();
         for (int i = 1; i < size(); ++i) {
-            PdfIndirectReference ref = xref[i];
-            if (ref == null || ref.isFree()) {
+            if (isFreeOrMissing(i)) {
                 freeReferences.add(i);
             }
         }
 
-        PdfIndirectReference prevFreeRef = xref[0];
+        PdfIndirectReference prevFreeRef = get(0);
         while (!freeReferences.<Integer>isEmpty()) {
             int currFreeRefObjNr = -1;
             if (prevFreeRef.getOffset() <= Integer.MAX_VALUE) {
                 currFreeRefObjNr = (int) prevFreeRef.getOffset();
             }
-            if (!freeReferences.contains(currFreeRefObjNr) || xref[currFreeRefObjNr] == null) {
+            if (!freeReferences.contains(currFreeRefObjNr) || get(currFreeRefObjNr) == null) {
                 break;
             }
 
             freeReferencesLinkedList.put(currFreeRefObjNr, prevFreeRef);
-            prevFreeRef = xref[currFreeRefObjNr];
+            prevFreeRef = get(currFreeRefObjNr);
             freeReferences.remove(currFreeRefObjNr);
         }
 
         while (!freeReferences.<Integer>isEmpty()) {
             int next = freeReferences.pollFirst();
-            if (xref[next] == null) {
+            if (get(next) == null) {
                 if (pdfDocument.properties.appendMode) {
                     continue;
                 }
@@ -217,7 +285,7 @@ public class PdfXrefTable implements Serializable {
                 ((PdfIndirectReference) prevFreeRef.setState(PdfObject.MODIFIED)).setOffset(next);
             }
             freeReferencesLinkedList.put(next, prevFreeRef);
-            prevFreeRef = xref[next];
+            prevFreeRef = get(next);
         }
 
         if (prevFreeRef.getOffset() != 0) {
@@ -304,7 +372,7 @@ public class PdfXrefTable implements Serializable {
 
         if (!document.properties.appendMode) {
             for (int i = count; i > 0; --i) {
-                PdfIndirectReference lastRef = xref[i];
+                PdfIndirectReference lastRef = get(i);
                 if (lastRef == null || lastRef.isFree()) {
                     removeFreeRefFromList(i);
                     --count;
@@ -448,6 +516,9 @@ public class PdfXrefTable implements Serializable {
             if (xref[i] != null && xref[i].isFree()) {
                 continue;
             }
+            if (lazyEntryTypes != null && (xref[i] != null || lazyEntryTypes[i] != LAZY_FREE_ENTRY)) {
+                lazyEntryTypes[i] = NO_LAZY_ENTRY;
+            }
             xref[i] = null;
         }
         count = 1;
@@ -458,7 +529,7 @@ public class PdfXrefTable implements Serializable {
         int first = 0;
         int len = 0;
         for (int i = 0; i < size(); i++) {
-            PdfIndirectReference reference = xref[i];
+            PdfIndirectReference reference = get(i);
             if (document.properties.appendMode && reference != null &&
                     (!reference.checkState(PdfObject.MODIFIED) || (dropObjectsFromObjectStream && reference.getObjStreamNumber() != 0))) {
                 reference = null;
@@ -562,7 +633,7 @@ public class PdfXrefTable implements Serializable {
         if (freeRefObjNr < 0) {
             Integer leastFreeRefObjNum = null;
             for (Map.Entry<Integer, PdfIndirectReference> entry : freeReferencesLinkedList.entrySet()) {
-                if (entry.getKey() <= 0 || xref[entry.getKey()].getGenNumber() >= MAX_GENERATION) {
+                if (entry.getKey() <= 0 || get(entry.getKey()).getGenNumber() >= MAX_GENERATION) {
                     continue;
                 }
                 leastFreeRefObjNum = entry.getKey();
@@ -574,7 +645,7 @@ public class PdfXrefTable implements Serializable {
             freeRefObjNr = (int)leastFreeRefObjNum;
         }
 
-        PdfIndirectReference freeRef = xref[freeRefObjNr];
+        PdfIndirectReference freeRef = get(freeRefObjNr);
         if (!freeRef.isFree()) {
             return null;
         }
@@ -598,5 +669,41 @@ public class PdfXrefTable implements Serializable {
         PdfIndirectReference[] newXref = new PdfIndirectReference[capacity];
         System.arraycopy(xref, 0, newXref, 0, xref.length);
         xref = newXref;
+        if (lazyEntryTypes != null) {
+            AtomicReferenceArray<PdfIndirectReference> newLazyReferences = new AtomicReferenceArray<>(capacity);
+            for (int i = 0; i < lazyReferences.length(); i++) {
+                newLazyReferences.set(i, lazyReferences.get(i));
+            }
+            lazyReferences = newLazyReferences;
+            lazyEntryTypes = Arrays.copyOf(lazyEntryTypes, capacity);
+            lazyGenerations = Arrays.copyOf(lazyGenerations, capacity);
+            lazyOffsetsOrIndexes = Arrays.copyOf(lazyOffsetsOrIndexes, capacity);
+            lazyObjStreamNumbers = Arrays.copyOf(lazyObjStreamNumbers, capacity);
+        }
+    }
+
+    private boolean isFreeOrMissing(int objNr) {
+        PdfIndirectReference reference = xref[objNr];
+        if (reference != null) {
+            return reference.isFree();
+        }
+        return lazyEntryTypes == null || lazyEntryTypes[objNr] != LAZY_IN_USE_ENTRY;
+    }
+
+    // the first created reference wins, so that all the threads get the same instance
+    private PdfIndirectReference createLazyReference(int objNr) {
+        PdfIndirectReference reference = new PdfIndirectReference(lazyEntriesDocument, objNr,
+                lazyGenerations[objNr], lazyOffsetsOrIndexes[objNr]);
+        if (lazyObjStreamNumbers[objNr] != 0) {
+            reference.setObjStreamNumber(lazyObjStreamNumbers[objNr]);
+        }
+        if (lazyEntryTypes[objNr] == LAZY_FREE_ENTRY) {
+            reference.setState(PdfObject.FREE);
+        }
+        if (!lazyReferences.compareAndSet(objNr, null, reference)) {
+            return lazyReferences.get(objNr);
+        }
+        xref[objNr] = reference;
+        return reference;
     }
 }
@@ -46,31 +46,22 @@ import java.util.Arrays;
 
 class SerializedObjectContent {
     private final byte[] serializedContent;
-    private final int hash;
+    private final long hash;
 
     SerializedObjectContent(byte[] serializedContent) {
         this.serializedContent = serializedContent;
-        this.hash = calculateHash(serializedContent);
+        this.hash = SmartModeHashing.hash64(serializedContent);
     }
 
     @Override
     public boolean equals(Object obj) {
         return obj instanceof SerializedObjectContent
-                && hashCode() == obj.hashCode()
+                && hash == ((SerializedObjectContent) obj).hash
                 && Arrays.equals(serializedContent, ((SerializedObjectContent) obj).serializedContent);
     }
 
     @Override
     public int hashCode() {
-        return hash;
-    }
-
-    private static int calculateHash(byte[] b) {
-        int hash = 0;
-        int len = b.length;
-        for (int k = 0; k < len; ++k) {
-            hash = hash * 31 + (b[k] & 0xff);
-        }
-        return hash;
+        return (int) (hash ^ (hash >>> 32));
     }
 }
@@ -0,0 +1,139 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+/**
+ * Fast non-cryptographic hashing (MurmurHash3, x64 variant) of the serialized content in smart mode.
+ * The hash is only used to look up the candidates, which are then compared byte by byte.
+ */
+final class SmartModeHashing {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private SmartModeHashing() {
+    }
+
+    /**
+     * Calculates the 64-bit hash of the bytes.
+     *
+     * @param data the bytes to hash
+     * @return the hash
+     */
+    static long hash64(byte[] data) {
+        int length = data.length;
+        long h1 = 0;
+        long h2 = 0;
+        int blocksEnd = length & ~15;
+        for (int i = 0; i < blocksEnd; i += 16) {
+            long k1 = getLong(data, i);
+            long k2 = getLong(data, i + 8);
+
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = length - 1; i >= blocksEnd + 8; i--) {
+            k2 = (k2 << 8) | (data[i] & 0xff);
+        }
+        if (length - blocksEnd > 8) {
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            h2 ^= k2;
+        }
+        for (int i = Math.min(length, blocksEnd + 8) - 1; i >= blocksEnd; i--) {
+            k1 = (k1 << 8) | (data[i] & 0xff);
+        }
+        if (length > blocksEnd) {
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = mix(h1);
+        h2 = mix(h2);
+        // the lower half of the 128-bit hash
+        return h1 + h2;
+    }
+
+    private static long getLong(byte[] data, int offset) {
+        return (data[offset] & 0xffL)
+                | (data[offset + 1] & 0xffL) << 8
+                | (data[offset + 2] & 0xffL) << 16
+                | (data[offset + 3] & 0xffL) << 24
+                | (data[offset + 4] & 0xffL) << 32
+                | (data[offset + 5] & 0xffL) << 40
+                | (data[offset + 6] & 0xffL) << 48
+                | (data[offset + 7] & 0xffL) << 56;
+    }
+
+    private static long mix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -47,6 +47,7 @@ import com.itextpdf.kernel.PdfException;
 import java.io.Serializable;
 import java.security.MessageDigest;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 class SmartModePdfObjectsSerializer implements Serializable {
@@ -54,14 +55,29 @@ class SmartModePdfObjectsSerializer implements Serializable {
     private static final long serialVersionUID = 2502203520776244051L;
 
     private transient MessageDigest md5;
-    private HashMap<SerializedObjectContent, PdfIndirectReference> serializedContentToObj = new HashMap<>();
+    private HashMap<SerializedObjectContent, PdfIndirectReference> serializedContentToObj;
 
     SmartModePdfObjectsSerializer() {
+        this(0);
+    }
+
+    /**
+     * Creates the serializer which stores at most the given number of serialized objects,
+     * evicting the least recently used ones.
+     *
+     * @param capacity the maximum number of stored serialized objects, or 0 if the number is not limited
+     */
+    SmartModePdfObjectsSerializer(int capacity) {
         try {
             md5 = MessageDigest.getInstance("MD5");
         } catch (Exception e) {
             throw new PdfException(e);
         }
+        if (capacity > 0) {
+            serializedContentToObj = new BoundedSerializedContentMap(capacity);
+        } else {
+            serializedContentToObj = new HashMap<>();
+        }
     }
 
     public void saveSerializedObject(SerializedObjectContent serializedContent, PdfIndirectReference objectReference) {
@@ -190,4 +206,21 @@ class SmartModePdfObjectsSerializer implements Serializable {
 
     private static class SelfReferenceException extends Exception {
     }
+
+    private static class BoundedSerializedContentMap extends LinkedHashMap<SerializedObjectContent, PdfIndirectReference> {
+
+        private static final long serialVersionUID = -3407637624939880498L;
+
+        private final int capacity;
+
+        BoundedSerializedContentMap(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<SerializedObjectContent, PdfIndirectReference> eldest) {
+            return size() > capacity;
+        }
+    }
 }
@@ -44,6 +44,7 @@
 package com.itextpdf.kernel.pdf;
 
 import java.io.Serializable;
+import java.util.concurrent.ExecutorService;
 import java.security.cert.Certificate;
 
 public class WriterProperties implements Serializable {
@@ -62,7 +63,19 @@ public class WriterProperties implements Serializable {
      * and reused if there's an object with the same content later.
      */
     protected boolean smartMode;
+    /**
+     * The maximum number of objects which are kept for the reuse in smart mode, 0 if the number is not limited.
+     */
+    protected int smartModeCacheCapacity;
     protected boolean debugMode;
+    /**
+     * The executor which compresses the streams in advance, null if streams are compressed on the writing thread.
+     */
+    protected transient ExecutorService streamCompressionExecutor;
+    /**
+     * The maximum number of streams compressed in advance which are not written yet.
+     */
+    protected int maxPendingCompressedStreams;
     protected boolean addXmpMetadata;
     protected boolean addUAXmpMetadata;
     protected PdfVersion pdfVersion;
@@ -113,6 +126,42 @@ public class WriterProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Enables smart mode, keeping at most the given number of objects for the reuse.
+     * <br>
+     * When the limit is reached, the least recently reused object is forgotten, so that the memory
+     * consumption stays bounded when a lot of documents are copied into one.
+     * An object which is forgotten is copied once more if it is encountered again.
+     *
+     * @param cacheCapacity the maximum number of objects kept for the reuse, 0 if the number is not limited
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties useSmartMode(int cacheCapacity) {
+        this.smartMode = true;
+        this.smartModeCacheCapacity = Math.max(cacheCapacity, 0);
+        return this;
+    }
+
+    /**
+     * Enables compression of the streams in advance using the given executor.
+     * <br>
+     * When a document is closed, the streams which are going to be written are deflated by the executor
+     * while the previous objects are being written. The written bytes do not depend on the executor:
+     * streams are still written in the same order and with the same compression level.
+     * Only streams without filters are compressed in advance, e.g. content streams and embedded fonts.
+     * The executor is not shut down by the writer.
+     *
+     * @param executorService   the executor which compresses the streams
+     * @param maxPendingStreams the maximum number of streams which are compressed but not written yet,
+     *                          this limits the additional memory needed to store the compressed bytes
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties useParallelStreamCompression(ExecutorService executorService, int maxPendingStreams) {
+        this.streamCompressionExecutor = executorService;
+        this.maxPendingCompressedStreams = maxPendingStreams;
+        return this;
+    }
+
     /**
      * If true, default XMPMetadata based on {@link PdfDocumentInfo} will be added.
      * For PDF 2.0 documents, metadata will be added in any case.
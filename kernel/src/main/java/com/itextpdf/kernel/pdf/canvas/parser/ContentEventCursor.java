@@ -0,0 +1,209 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.kernel.pdf.PdfLiteral;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.canvas.CanvasGraphicsState;
+import com.itextpdf.kernel.pdf.canvas.parser.data.AbstractRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.pdf.canvas.parser.util.PdfCanvasParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A cursor over the events of a page content, which allows to pull the events one by one
+ * instead of receiving all of them in an {@link IEventListener}.
+ * <p>
+ * The content stream is parsed lazily: operators are processed only when {@link #next()} needs
+ * a new event, so the processing can be stopped at any point simply by not calling {@link #next()} anymore,
+ * e.g. as soon as the searched text is found. The cursor itself is the only object which describes the current event.
+ * <p>
+ * The graphics state of the returned {@link AbstractRenderInfo} events is preserved, so the event data stays
+ * valid after the cursor is moved forward. Events which occur while the graphics state stays unchanged,
+ * e.g. the strings of a text object, share a single copy of the state.
+ */
+public class ContentEventCursor {
+
+    // the operators of the default processor which never change the graphics state
+    private static final Set<PdfLiteral> GRAPHICS_STATE_KEEPING_OPERATORS = new HashSet<>(Arrays.asList(
+            new PdfLiteral("BT"), new PdfLiteral("ET"), new PdfLiteral("Td"), new PdfLiteral("Tm"),
+            new PdfLiteral("T*"), new PdfLiteral("Tj"), new PdfLiteral("'"), new PdfLiteral("TJ"),
+            new PdfLiteral("m"), new PdfLiteral("l"), new PdfLiteral("c"), new PdfLiteral("v"),
+            new PdfLiteral("y"), new PdfLiteral("h"), new PdfLiteral("re"),
+            new PdfLiteral("BMC"), new PdfLiteral("BDC"), new PdfLiteral("EMC")));
+
+    private final PdfCanvasProcessor processor;
+    private final PdfCanvasParser parser;
+    private final List<PdfObject> operands = new ArrayList<>();
+
+    // event data might be null, e.g. for EventType.BEGIN_TEXT, hence lists instead of queues
+    private final List<IEventData> pendingData = new ArrayList<>();
+    private final List<EventType> pendingTypes = new ArrayList<>();
+    private int nextPendingIndex = 0;
+
+    // the copy of the graphics state which is shared by the events until an operator might change the state
+    private CanvasGraphicsState sharedGraphicsState;
+
+    private IEventData currentData;
+    private EventType currentType;
+    private boolean contentFinished = false;
+
+    /**
+     * Creates a cursor over all the events of the page content.
+     *
+     * @param page the page which content is to be processed
+     */
+    public ContentEventCursor(PdfPage page) {
+        this(page, null);
+    }
+
+    /**
+     * Creates a cursor over the events of the page content of the specified types.
+     *
+     * @param page            the page which content is to be processed
+     * @param supportedEvents the types of the events to be returned by the cursor, or {@code null} for all types.
+     *                        Knowing the types allows the processor to skip creation of unneeded events
+     */
+    public ContentEventCursor(PdfPage page, Set<EventType> supportedEvents) {
+        this.processor = new PdfCanvasProcessor(new PendingEventsListener(supportedEvents));
+        processor.beginPageProcessing(page);
+        this.parser = processor.beginContentProcessing(page.getContentBytes(), page.getResources());
+    }
+
+    /**
+     * Moves the cursor to the next event, processing as few content stream operators as possible.
+     *
+     * @return {@code true} if the cursor was moved to the next event,
+     * {@code false} if there are no more events in the content
+     */
+    public boolean next() {
+        if (nextPendingIndex == pendingTypes.size()) {
+            pendingData.clear();
+            pendingTypes.clear();
+            nextPendingIndex = 0;
+        }
+        while (pendingTypes.isEmpty()) {
+            if (contentFinished) {
+                currentData = null;
+                currentType = null;
+                return false;
+            }
+            if (!processor.processNextOperator(parser, operands)) {
+                processor.endContentProcessing();
+                contentFinished = true;
+            } else if (!keepsGraphicsState(operands)) {
+                sharedGraphicsState = null;
+            }
+        }
+        currentData = pendingData.get(nextPendingIndex);
+        currentType = pendingTypes.get(nextPendingIndex);
+        nextPendingIndex++;
+        return true;
+    }
+
+    /**
+     * Gets the type of the current event.
+     *
+     * @return the type of the current event, or {@code null} if the cursor is not positioned on an event
+     */
+    public EventType getEventType() {
+        return currentType;
+    }
+
+    /**
+     * Gets the data of the current event.
+     *
+     * @return the data of the current event, or {@code null} if the cursor is not positioned on an event
+     */
+    public IEventData getEventData() {
+        return currentData;
+    }
+
+    /**
+     * Checks whether the operator, which is being processed, never changes the graphics state.
+     * The operator is the last of the parsed operands, while there are no operands before
+     * the content processing has started.
+     */
+    private static boolean keepsGraphicsState(List<PdfObject> operands) {
+        return !operands.isEmpty() && GRAPHICS_STATE_KEEPING_OPERATORS.contains(operands.get(operands.size() - 1));
+    }
+
+    private class PendingEventsListener implements IEventListener {
+        private final Set<EventType> supportedEvents;
+
+        PendingEventsListener(Set<EventType> supportedEvents) {
+            this.supportedEvents = supportedEvents;
+        }
+
+        @Override
+        public void eventOccurred(IEventData data, EventType type) {
+            if (data instanceof AbstractRenderInfo) {
+                // the processor keeps on changing its graphics state, while the event is waiting to be pulled
+                AbstractRenderInfo renderInfo = (AbstractRenderInfo) data;
+                if (!keepsGraphicsState(operands)) {
+                    renderInfo.preserveGraphicsState();
+                } else if (sharedGraphicsState == null) {
+                    renderInfo.preserveGraphicsState();
+                    sharedGraphicsState = renderInfo.getGraphicsState();
+                } else {
+                    renderInfo.preserveGraphicsState(sharedGraphicsState);
+                }
+            }
+            pendingData.add(data);
+            pendingTypes.add(type);
+        }
+
+        @Override
+        public Set<EventType> getSupportedEvents() {
+            return supportedEvents;
+        }
+    }
+}
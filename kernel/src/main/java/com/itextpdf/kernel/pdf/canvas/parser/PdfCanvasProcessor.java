@@ -139,6 +139,13 @@ public class PdfCanvasProcessor {
      */
     private Map<String, IContentOperator> operators;
 
+    /**
+     * The same operators as in {@link #operators}, but keyed by literals, so that the lookup
+     * compares the raw operator bytes and does not create a string per invoked operator.
+     * Built lazily, reset on every operator registration.
+     */
+    private Map<PdfLiteral, IContentOperator> operatorsByLiteral;
+
     /**
      * Resources for the content stream.
      * Current resources are always at the top of the stack.
@@ -227,6 +234,7 @@ public class PdfCanvasProcessor {
      * @return the existing registered operator, if any
      */
     public IContentOperator registerContentOperator(String operatorString, IContentOperator operator) {
+        operatorsByLiteral = null;
         return operators.put(operatorString, operator);
     }
 
@@ -269,24 +277,12 @@ public class PdfCanvasProcessor {
      * @param resources    the resources of the content stream. Must not be null.
      */
     public void processContent(byte[] contentBytes, PdfResources resources) {
-        if (resources == null) {
-            throw new PdfException(PdfException.ResourcesCannotBeNull);
-        }
-        this.resourcesStack.push(resources);
-        PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
-        PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
+        PdfCanvasParser ps = beginContentProcessing(contentBytes, resources);
         List<PdfObject> operands = new ArrayList<>();
-        try {
-            while (ps.parse(operands).size() > 0) {
-                PdfLiteral operator = (PdfLiteral) operands.get(operands.size() - 1);
-                invokeOperator(operator, operands);
-            }
-        } catch (IOException e) {
-            throw new PdfException(PdfException.CannotParseContentStream, e);
+        while (processNextOperator(ps, operands)) {
+            // all the work is done by the invoked operators
         }
-
-        this.resourcesStack.pop();
-
+        endContentProcessing();
     }
 
     /**
@@ -297,9 +293,7 @@ public class PdfCanvasProcessor {
      * @param page the page to process
      */
     public void processPageContent(PdfPage page) {
-        initClippingPath(page);
-        ParserGraphicsState gs = getGraphicsState();
-        eventOccurred(new ClippingPathInfo(gs, gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+        beginPageProcessing(page);
         processContent(page.getContentBytes(), page.getResources());
     }
 
@@ -447,7 +441,16 @@ public class PdfCanvasProcessor {
      * @param operands a list with operands
      */
     protected void invokeOperator(PdfLiteral operator, List<PdfObject> operands) {
-        IContentOperator op = operators.get(operator.toString());
+        if (operatorsByLiteral == null) {
+            operatorsByLiteral = new HashMap<>(operators.size() * 2);
+            for (Map.Entry<String, IContentOperator> entry : operators.entrySet()) {
+                operatorsByLiteral.put(new PdfLiteral(entry.getKey()), entry.getValue());
+            }
+        }
+        IContentOperator op = operatorsByLiteral.get(operator);
+        if (op == null) {
+            op = operators.get(operator.toString());
+        }
         if (op == null) {
             op = operators.get(DEFAULT_OPERATOR);
         }
@@ -587,6 +590,64 @@ public class PdfCanvasProcessor {
         textMatrix = new Matrix(adjustBy, 0).multiply(textMatrix);
     }
 
+    /**
+     * Initializes the clipping path by the page crop box and notifies the listener about it.
+     * Shall be called before the content of the page is processed.
+     *
+     * @param page the page which content is going to be processed
+     */
+    void beginPageProcessing(PdfPage page) {
+        initClippingPath(page);
+        ParserGraphicsState gs = getGraphicsState();
+        eventOccurred(new ClippingPathInfo(gs, gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+    }
+
+    /**
+     * Prepares the processing of a content stream. The returned parser shall be passed to
+     * {@link #processNextOperator(PdfCanvasParser, List)} until it returns {@code false}, after that
+     * {@link #endContentProcessing()} shall be called.
+     *
+     * @param contentBytes the bytes of a content stream
+     * @param resources    the resources of the content stream. Must not be null.
+     * @return the parser of the content stream
+     */
+    PdfCanvasParser beginContentProcessing(byte[] contentBytes, PdfResources resources) {
+        if (resources == null) {
+            throw new PdfException(PdfException.ResourcesCannotBeNull);
+        }
+        this.resourcesStack.push(resources);
+        PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
+        return new PdfCanvasParser(tokeniser, resources);
+    }
+
+    /**
+     * Parses and invokes the next operator of the content stream.
+     *
+     * @param ps       the parser of the content stream
+     * @param operands the list to be reused for the operands
+     * @return {@code true} if an operator was invoked, {@code false} if the end of the content stream was reached
+     */
+    boolean processNextOperator(PdfCanvasParser ps, List<PdfObject> operands) {
+        try {
+            if (ps.parse(operands).size() > 0) {
+                PdfLiteral operator = (PdfLiteral) operands.get(operands.size() - 1);
+                invokeOperator(operator, operands);
+                return true;
+            }
+        } catch (IOException e) {
+            throw new PdfException(PdfException.CannotParseContentStream, e);
+        }
+        return false;
+    }
+
+    /**
+     * Finishes the processing of the content stream, which was started with
+     * {@link #beginContentProcessing(byte[], PdfResources)}.
+     */
+    void endContentProcessing() {
+        this.resourcesStack.pop();
+    }
+
     private void initClippingPath(PdfPage page) {
         Path clippingPath = new Path();
         clippingPath.rectangle(page.getCropBox());
@@ -43,11 +43,24 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser;
 
+import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
 
 /**
  * A utility class that makes it cleaner to process content from pages of a {@link PdfDocument}
@@ -90,4 +103,166 @@ public class PdfDocumentContentParser {
         return processContent(pageNumber, renderListener, new HashMap<String, IContentOperator>());
     }
 
+    /**
+     * Processes content of all pages of the document concurrently, using the specified executor.
+     * <p>
+     * The pages are distributed among {@code parallelism} workers. Each worker opens its own read-only
+     * {@link PdfDocument} over an independent view of the source of the document's reader
+     * (see {@link PdfReader#createIndependentReader()}) and processes pages with its own {@link PdfCanvasProcessor},
+     * so no state is shared between the workers except for the thread-safe byte source.
+     * Note that the content is read from the original source of the document, so the changes
+     * which were made to the document in stamping mode are not taken into account.
+     * <p>
+     * A new listener is requested from the supplier for every page. The supplier might be called from
+     * different threads simultaneously.
+     * <p>
+     * If a worker fails, the other workers stop after their current page, and the exception of the failed
+     * worker is thrown once all of them have returned.
+     *
+     * @param <E>              the type of the listeners
+     * @param executorService  the executor which runs the workers
+     * @param listenerSupplier the supplier of listeners which will receive render callbacks, one listener per page
+     * @param parallelism      the maximum number of workers, which process pages simultaneously
+     * @return the list of the listeners in page order, i.e. the listener at index {@code i} received
+     * the events of the page {@code i + 1}
+     */
+    public <E extends IEventListener> List<E> processAllPages(ExecutorService executorService,
+            Supplier<? extends E> listenerSupplier, int parallelism) {
+        PdfReader reader = pdfDocument.getReader();
+        if (reader == null) {
+            throw new PdfException(PdfException.DocumentHasNoReaderPagesCannotBeProcessedConcurrently);
+        }
+        int numberOfPages = pdfDocument.getNumberOfPages();
+        AtomicReferenceArray<E> listeners = new AtomicReferenceArray<>(numberOfPages);
+        AtomicInteger nextPageNumber = new AtomicInteger(1);
+        AtomicBoolean failed = new AtomicBoolean(false);
+
+        int workersNumber = Math.max(1, Math.min(parallelism, numberOfPages));
+        List<PdfReader> workerReaders = new ArrayList<>(workersNumber);
+        List<Future<Void>> workers = new ArrayList<>(workersNumber);
+        boolean completed = false;
+        try {
+            // The readers are created before any worker is started, so that the source of the reader is made
+            // thread safe by this thread rather than by several workers at once.
+            for (int i = 0; i < workersNumber; i++) {
+                workerReaders.add(reader.createIndependentReader());
+            }
+            for (PdfReader workerReader : workerReaders) {
+                workers.add(executorService.submit(new PageProcessingWorker<E>(
+                        workerReader, listenerSupplier, listeners, nextPageNumber, failed)));
+            }
+            for (Future<Void> worker : workers) {
+                worker.get();
+            }
+            completed = true;
+        } catch (IOException e) {
+            throw new PdfException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PdfException(e.getCause());
+        } finally {
+            if (!completed) {
+                failed.set(true);
+                awaitWorkers(workers);
+                closeReaders(workerReaders.subList(workers.size(), workerReaders.size()));
+            }
+        }
+
+        List<E> result = new ArrayList<>(numberOfPages);
+        for (int i = 0; i < numberOfPages; i++) {
+            result.add(listeners.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Processes content of all pages of the document concurrently, using the specified executor.
+     * The number of workers is equal to the number of available processors.
+     * See {@link #processAllPages(ExecutorService, Supplier, int)} for details.
+     *
+     * @param <E>              the type of the listeners
+     * @param executorService  the executor which runs the workers
+     * @param listenerSupplier the supplier of listeners which will receive render callbacks, one listener per page
+     * @return the list of the listeners in page order
+     */
+    public <E extends IEventListener> List<E> processAllPages(ExecutorService executorService,
+            Supplier<? extends E> listenerSupplier) {
+        return processAllPages(executorService, listenerSupplier, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Waits until all the workers have returned. The workers are stopped through the shared failure flag
+     * rather than with {@link Future#cancel(boolean)}: a cancelled future can't be awaited, and interrupting
+     * a worker might close the file channel it shares with the other readers.
+     */
+    private static void awaitWorkers(List<Future<Void>> workers) {
+        boolean interrupted = Thread.interrupted();
+        for (Future<Void> worker : workers) {
+            while (true) {
+                try {
+                    worker.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeReaders(List<PdfReader> readers) {
+        for (PdfReader reader : readers) {
+            try {
+                reader.close();
+            } catch (IOException ignored) {
+                // the reader only holds a view of the source, which is closed together with the document
+            }
+        }
+    }
+
+    private static final class PageProcessingWorker<E extends IEventListener> implements Callable<Void> {
+        private final PdfReader workerReader;
+        private final Supplier<? extends E> listenerSupplier;
+        private final AtomicReferenceArray<E> listeners;
+        private final AtomicInteger nextPageNumber;
+        private final AtomicBoolean failed;
+
+        PageProcessingWorker(PdfReader workerReader, Supplier<? extends E> listenerSupplier,
+                AtomicReferenceArray<E> listeners, AtomicInteger nextPageNumber, AtomicBoolean failed) {
+            this.workerReader = workerReader;
+            this.listenerSupplier = listenerSupplier;
+            this.listeners = listeners;
+            this.nextPageNumber = nextPageNumber;
+            this.failed = failed;
+        }
+
+        @Override
+        public Void call() throws IOException {
+            if (failed.get()) {
+                workerReader.close();
+                return null;
+            }
+            try (PdfDocument workerDocument = new PdfDocument(workerReader)) {
+                int pageNumber;
+                while (!failed.get() && (pageNumber = nextPageNumber.getAndIncrement()) <= listeners.length()) {
+                    E listener = listenerSupplier.get();
+                    new PdfCanvasProcessor(listener).processPageContent(workerDocument.getPage(pageNumber));
+                    listeners.set(pageNumber - 1, listener);
+                }
+            } catch (RuntimeException e) {
+                failed.set(true);
+                throw e;
+            }
+            return null;
+        }
+    }
 }
@@ -45,10 +45,15 @@ package com.itextpdf.kernel.pdf.canvas.parser;
 
 import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfPage;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 public final class PdfTextExtractor {
 
@@ -95,4 +100,25 @@ public final class PdfTextExtractor {
     public static String getTextFromPage(PdfPage page) {
         return getTextFromPage(page, new LocationTextExtractionStrategy());
     }
+
+    /**
+     * Extract text from all pages of the document concurrently, using the specified executor.
+     * A new extraction strategy is requested from the supplier for every single page.
+     * See {@link PdfDocumentContentParser#processAllPages(ExecutorService, Supplier)} for details.
+     *
+     * @param pdfDocument      the document for the text to be extracted from
+     * @param executorService  the executor which runs the extraction
+     * @param strategySupplier the supplier of the strategies to use for extracting text
+     * @return the list of the extracted texts in page order
+     */
+    public static List<String> getTextFromAllPages(PdfDocument pdfDocument, ExecutorService executorService,
+            Supplier<? extends ITextExtractionStrategy> strategySupplier) {
+        List<? extends ITextExtractionStrategy> strategies = new PdfDocumentContentParser(pdfDocument)
+                .processAllPages(executorService, strategySupplier);
+        List<String> texts = new ArrayList<>(strategies.size());
+        for (ITextExtractionStrategy strategy : strategies) {
+            texts.add(strategy.getResultantText());
+        }
+        return texts;
+    }
 }
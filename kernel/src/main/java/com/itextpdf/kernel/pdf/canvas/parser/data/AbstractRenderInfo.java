@@ -70,6 +70,19 @@ public class AbstractRenderInfo implements IEventData {
         gs = new CanvasGraphicsState(gs);
     }
 
+    /**
+     * Preserves the graphics state of this render info by taking the given copy of it instead of making a new one.
+     * The same copy may be shared between several render infos which were created with the same graphics state,
+     * so it shall not be modified afterwards.
+     *
+     * @param preservedState a copy of the graphics state of this render info
+     */
+    public void preserveGraphicsState(CanvasGraphicsState preservedState) {
+        checkGraphicsState();
+        this.graphicsStateIsPreserved = true;
+        gs = preservedState;
+    }
+
     public void releaseGraphicsState() {
         if (!graphicsStateIsPreserved) {
             gs = null;
@@ -44,6 +44,7 @@
 package com.itextpdf.kernel.pdf.canvas.parser.util;
 
 import com.itextpdf.kernel.PdfException;
+import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
@@ -65,6 +66,8 @@ import java.util.List;
  */
 public class PdfCanvasParser {
 
+    private static final byte[] BI = ByteUtils.getIsoBytes("BI");
+
     /**
      * Holds value of property tokeniser.
      */
@@ -115,7 +118,7 @@ public class PdfCanvasParser {
         while ((ob = readObject()) != null) {
             ls.add(ob);
             if (tokeniser.getTokenType() == PdfTokenizer.TokenType.Other) {
-                if ("BI".equals(ob.toString())) {
+                if (tokeniser.tokenValueEqualsTo(BI)) {
                     PdfStream inlineImageAsStream = InlineImageParsingUtils.parse(this, currentResources.getResource(PdfName.ColorSpace));
                     ls.clear();
                     ls.add(inlineImageAsStream);
@@ -43,6 +43,7 @@
  */
 package com.itextpdf.kernel.pdf.filters;
 
+import com.itextpdf.io.source.FlateCodecs;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.pdf.MemoryLimitsAwareException;
 import com.itextpdf.kernel.pdf.MemoryLimitsAwareFilter;
@@ -55,13 +56,29 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
-import java.util.zip.InflaterInputStream;
 
 /**
  * Handles FlateDecode filter.
  */
 public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
 
+    /**
+     * The assumed compression ratio used to presize the output when the stream does not specify
+     * its decoded length.
+     */
+    private static final int EXPECTED_COMPRESSION_RATIO = 4;
+
+    /**
+     * The maximum size of the output allocated in advance when the stream does not specify its decoded length.
+     */
+    private static final int MAX_GUESSED_DECODED_LENGTH = 1 << 24;
+
+    /**
+     * The maximum compression ratio which can be achieved by deflate, used to bound the decoded length
+     * specified by the stream.
+     */
+    private static final long MAX_COMPRESSION_RATIO = 1032;
+
     /**
      * Defines how the corrupted streams should be treated.
      *
@@ -107,7 +124,7 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
      * @return the decoded data
      */
     public static byte[] flateDecode(byte[] in, boolean strict) {
-        return flateDecodeInternal(in, strict, new ByteArrayOutputStream());
+        return flateDecodeInternal(in, strict, new ByteArrayOutputStream(estimateDecodedLength(in, null)));
     }
 
     /**
@@ -234,7 +251,8 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
      */
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
-        ByteArrayOutputStream outputStream = enableMemoryLimitsAwareHandler(streamDictionary);
+        ByteArrayOutputStream outputStream = enableMemoryLimitsAwareHandler(streamDictionary,
+                estimateDecodedLength(b, streamDictionary));
         byte[] res = flateDecodeInternal(b, true, outputStream);
         if (res == null && !strictDecoding) {
             outputStream.reset();
@@ -267,15 +285,8 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
      * @return the decoded data
      */
     protected static byte[] flateDecodeInternal(byte[] in, boolean strict, ByteArrayOutputStream out) {
-        ByteArrayInputStream stream = new ByteArrayInputStream(in);
-        InflaterInputStream zip = new InflaterInputStream(stream);
-        byte[] b = new byte[strict ? 4092 : 1];
         try {
-            int n;
-            while ((n = zip.read(b)) >= 0) {
-                out.write(b, 0, n);
-            }
-            zip.close();
+            FlateCodecs.getCodec().inflate(in, out, strict);
             out.close();
             return out.toByteArray();
         } catch (MemoryLimitsAwareException e) {
@@ -288,6 +299,25 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
         }
     }
 
+    /**
+     * Estimates the size of the decoded data to allocate the output at once.
+     *
+     * @param in               the encoded data
+     * @param streamDictionary the dictionary of the stream or null if it is unknown
+     * @return the /DL value of the stream if it is specified and plausible, otherwise the size guessed
+     * from the size of the encoded data
+     */
+    static int estimateDecodedLength(byte[] in, PdfDictionary streamDictionary) {
+        if (streamDictionary != null) {
+            PdfNumber decodedLength = streamDictionary.getAsNumber(PdfName.DL);
+            if (decodedLength != null && decodedLength.getValue() > 0
+                    && decodedLength.getValue() <= in.length * MAX_COMPRESSION_RATIO) {
+                return (int) Math.min(decodedLength.longValue(), Integer.MAX_VALUE - 8);
+            }
+        }
+        return (int) Math.min((long) in.length * EXPECTED_COMPRESSION_RATIO, MAX_GUESSED_DECODED_LENGTH);
+    }
+
     private static int getNumberOrDefault(PdfDictionary dict, PdfName key, int defaultInt) {
         int result = defaultInt;
         final PdfObject obj = dict.get(key);
@@ -44,6 +44,7 @@
 package com.itextpdf.kernel.utils;
 
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -96,6 +97,23 @@ public class PdfMerger {
         return this;
     }
 
+    /**
+     * If set to true, then the fonts, font programs and images which are equal in several source documents
+     * are written to the destination document only once. Source documents are compared across all the merge
+     * calls of the merger, by a cheap fingerprint of these resources only, see
+     * {@link PdfWriter#setResourceDeduplication(boolean)}. Default value is false.
+     *
+     * @param resourceDeduplication if true, then equal fonts and images are written only once
+     * @return this {@code PdfMerger} instance.
+     */
+    public PdfMerger setResourceDeduplication(boolean resourceDeduplication) {
+        PdfWriter writer = pdfDocument.getWriter();
+        if (writer != null) {
+            writer.setResourceDeduplication(resourceDeduplication);
+        }
+        return this;
+    }
+
     /**
      * This method merges pages from the source document to the current one.
      * <p>
@@ -64,6 +64,11 @@ public class PdfResourceCounter {
      */
     private Map<Integer, PdfObject> resources;
 
+    /**
+     * A map of the resources that are already taken into account by other counters, may be null
+     */
+    private Map<Integer, PdfObject> knownResources;
+
     /**
      * Creates a PdfResourceCounter instance to be used to count the resources
      * needed for either a page (in this case pass a page dictionary) or the
@@ -72,7 +77,21 @@ public class PdfResourceCounter {
      * @param obj the object we want to examine
      */
     public PdfResourceCounter(PdfObject obj) {
+        this(obj, null);
+    }
+
+    /**
+     * Creates a PdfResourceCounter instance to be used to count the resources
+     * needed for an object in addition to the already known resources. The known
+     * resources are neither added to this counter nor examined, so the resources
+     * which are shared between several pages are walked through only once.
+     *
+     * @param obj            the object we want to examine
+     * @param knownResources the resources that are already taken into account
+     */
+    public PdfResourceCounter(PdfObject obj, Map<Integer, PdfObject> knownResources) {
         resources = new HashMap<>();
+        this.knownResources = knownResources;
         process(obj);
     }
 
@@ -83,10 +102,20 @@ public class PdfResourceCounter {
      * @param obj the object to process
      */
     protected final void process(PdfObject obj) {
+        if (obj.isIndirectReference()) {
+            PdfIndirectReference ref = (PdfIndirectReference) obj;
+            if (isKnown(ref)) {
+                return;
+            }
+            obj = ref.getRefersTo();
+            if (obj == null) {
+                return;
+            }
+        }
         PdfIndirectReference ref = obj.getIndirectReference();
         if (ref == null) {
             loopOver(obj);
-        } else if (!resources.containsKey(ref.getObjNumber())) {
+        } else if (!isKnown(ref)) {
             resources.put(ref.getObjNumber(), obj);
             loopOver(obj);
         }
@@ -104,7 +133,10 @@ public class PdfResourceCounter {
                 PdfArray array = (PdfArray) obj;
 
                 for (int i = 0; i < array.size(); i++) {
-                    process(array.get(i));
+                    PdfObject item = array.get(i, false);
+                    if (item != null) {
+                        process(item);
+                    }
                 }
 
                 break;
@@ -117,7 +149,10 @@ public class PdfResourceCounter {
                 }
 
                 for (PdfName name : dict.keySet()) {
-                    process(dict.get(name));
+                    PdfObject value = dict.get(name, false);
+                    if (value != null) {
+                        process(value);
+                    }
                 }
 
                 break;
@@ -143,6 +178,21 @@ public class PdfResourceCounter {
      * @return The number of bytes needed for an object.
      */
     public long getLength(Map<Integer, PdfObject> res) {
+        return getLength(res, null);
+    }
+
+    /**
+     * Returns the resources needed for the object that was used to create
+     * this PdfResourceCounter, like {@link #getLength(Map)} does. The lengths of the
+     * objects are taken from the passed cache, if they have been already calculated,
+     * and the newly calculated ones are stored there. The cache may be shared only
+     * between counters of the objects from the same document.
+     *
+     * @param res          The resources that can be excluded when counting the bytes.
+     * @param lengthsCache The lengths of the objects by their numbers, may be null.
+     * @return The number of bytes needed for an object.
+     */
+    public long getLength(Map<Integer, PdfObject> res, Map<Integer, Long> lengthsCache) {
         long length = 0;
 
         for (int ref : resources.keySet()) {
@@ -150,12 +200,24 @@ public class PdfResourceCounter {
                 continue;
             }
 
-            PdfOutputStream os = new PdfOutputStream(new IdleOutputStream());
+            Long objectLength = lengthsCache == null ? null : lengthsCache.get(ref);
+            if (objectLength == null) {
+                PdfOutputStream os = new PdfOutputStream(new IdleOutputStream());
 
-            os.write(resources.get(ref).clone());
-            length += os.getCurrentPos();
+                os.write(resources.get(ref).clone());
+                objectLength = os.getCurrentPos();
+                if (lengthsCache != null) {
+                    lengthsCache.put(ref, objectLength);
+                }
+            }
+            length += (long) objectLength;
         }
 
         return length;
     }
+
+    private boolean isKnown(PdfIndirectReference ref) {
+        return resources.containsKey(ref.getObjNumber())
+                || knownResources != null && knownResources.containsKey(ref.getObjNumber());
+    }
 }
@@ -47,17 +47,27 @@ import com.itextpdf.kernel.PdfException;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.kernel.counter.event.IMetaInfo;
 import com.itextpdf.kernel.pdf.DocumentProperties;
+import com.itextpdf.kernel.pdf.PageFlushingHelper;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfOutline;
 import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class PdfSplitter {
 
@@ -66,6 +76,12 @@ public class PdfSplitter {
     private boolean preserveOutlines;
     private IMetaInfo metaInfo;
 
+    // lengths of the already measured objects of the document, by object number
+    private Map<Integer, Long> objectLengths;
+    // the resources needed for the trailer, which every split document contains
+    private Map<Integer, PdfObject> trailerResources;
+    private long trailerLength;
+
     /**
      * Creates a new instance of PdfSplitter class.
      *
@@ -119,18 +135,58 @@ public class PdfSplitter {
      *         Be warned that these documents are not closed.
      */
     public List<PdfDocument> splitBySize(long size) {
-        List<PageRange> splitRanges = new ArrayList<>();
+        return extractPageRanges(getPageRangesBySize(size, false));
+    }
+
+    /**
+     * Splits the document basing on the given size. Every resultant document is passed to the listener
+     * as soon as its pages are copied and is closed right after that, so that only one resultant document
+     * is kept in memory at a time. The objects of the copied pages are released from the source document.
+     *
+     * @param size          <strong>Preferred</strong> size for splitting.
+     * @param documentReady the event listener which is called when another document is ready.
+     *                      The document is closed after the listener returns, if the listener hasn't closed it.
+     */
+    public void splitBySize(long size, IDocumentReadyListener documentReady) {
         int currentPage = 1;
         int numOfPages = pdfDocument.getNumberOfPages();
 
         while (currentPage <= numOfPages) {
             PageRange nextRange = getNextRange(currentPage, numOfPages, size);
-            splitRanges.add(nextRange);
-            List<Integer> allPages = nextRange.getQualifyingPageNums(numOfPages);
-            currentPage = (int) allPages.get(allPages.size() - 1) + 1;
+            extractPageRange(pdfDocument, nextRange, documentReady);
+            currentPage = getLastPageNumber(nextRange, numOfPages) + 1;
         }
+    }
+
+    /**
+     * Splits the document basing on the given size, copying the pages of independent resultant documents
+     * on the worker threads of the executor service. See {@link #extractPageRanges(List, IDocumentReadyListener,
+     * ExecutorService, int)} for the details. The pages of the source document are released as soon as
+     * they are measured.
+     *
+     * @param size            <strong>Preferred</strong> size for splitting.
+     * @param documentReady   the event listener which is called when another document is ready.
+     *                        The document is closed after the listener returns, if the listener hasn't closed it.
+     * @param executorService the executor service which runs the workers
+     * @param parallelism     the maximum number of documents which are being created simultaneously
+     */
+    public void splitBySize(long size, IDocumentReadyListener documentReady, ExecutorService executorService,
+            int parallelism) {
+        extractPageRanges(getPageRangesBySize(size, true), documentReady, executorService, parallelism);
+    }
 
-        return extractPageRanges(splitRanges);
+    /**
+     * Splits the document basing on the given size, copying the pages of independent resultant documents
+     * on the worker threads of the executor service, as many of them as there are available processors.
+     * See {@link #extractPageRanges(List, IDocumentReadyListener, ExecutorService, int)} for the details.
+     *
+     * @param size            <strong>Preferred</strong> size for splitting.
+     * @param documentReady   the event listener which is called when another document is ready.
+     *                        The document is closed after the listener returns, if the listener hasn't closed it.
+     * @param executorService the executor service which runs the workers
+     */
+    public void splitBySize(long size, IDocumentReadyListener documentReady, ExecutorService executorService) {
+        splitBySize(size, documentReady, executorService, Runtime.getRuntime().availableProcessors());
     }
 
     /**
@@ -245,6 +301,96 @@ public class PdfSplitter {
         return extractPageRanges(Collections.singletonList(pageRange)).get(0);
     }
 
+    /**
+     * Extracts the specified page ranges from a document. Every resultant document is passed to the listener
+     * as soon as its pages are copied and is closed right after that, so that only one resultant document
+     * is kept in memory at a time. The objects of the copied pages are released from the source document.
+     *
+     * @param pageRanges    the list of page ranges for each of the resultant document.
+     * @param documentReady the event listener which is called when another document is ready.
+     *                      The document is closed after the listener returns, if the listener hasn't closed it.
+     */
+    public void extractPageRanges(List<PageRange> pageRanges, IDocumentReadyListener documentReady) {
+        for (PageRange pageRange : pageRanges) {
+            extractPageRange(pdfDocument, pageRange, documentReady);
+        }
+    }
+
+    /**
+     * Extracts the specified page ranges from a document, copying the pages of independent resultant documents
+     * on the worker threads of the executor service. Every worker reads the source through its own
+     * {@link PdfReader}, see {@link PdfReader#createIndependentReader()},
+     * and releases the objects of the pages it has copied, so the used memory doesn't grow with the number of pages.
+     * <p>
+     * Every resultant document is passed to the listener as soon as its pages are copied and is closed right
+     * after that. The listener and {@link #getNextPdfWriter(PageRange)} are called from the worker threads,
+     * in the order the documents get ready, and thus must be thread safe. This method returns when all
+     * the documents are ready. If a worker fails, the other workers stop after their current document,
+     * and the exception of the failed worker is thrown once all of them have returned.
+     *
+     * @param pageRanges      the list of page ranges for each of the resultant document.
+     * @param documentReady   the event listener which is called when another document is ready.
+     *                        The document is closed after the listener returns, if the listener hasn't closed it.
+     * @param executorService the executor service which runs the workers
+     * @param parallelism     the maximum number of documents which are being created simultaneously
+     */
+    public void extractPageRanges(List<PageRange> pageRanges, IDocumentReadyListener documentReady,
+            ExecutorService executorService, int parallelism) {
+        AtomicInteger nextRangeIndex = new AtomicInteger(0);
+        AtomicBoolean failed = new AtomicBoolean(false);
+
+        int workersNumber = Math.max(1, Math.min(parallelism, pageRanges.size()));
+        List<PdfReader> workerReaders = new ArrayList<>(workersNumber);
+        List<Future<Void>> workers = new ArrayList<>(workersNumber);
+        boolean completed = false;
+        try {
+            // The readers are created before any worker is started, so that the source of the reader is made
+            // thread safe by this thread rather than by several workers at once.
+            for (int i = 0; i < workersNumber; i++) {
+                workerReaders.add(pdfDocument.getReader().createIndependentReader());
+            }
+            for (PdfReader workerReader : workerReaders) {
+                workers.add(executorService.submit(new RangeExtractingWorker(
+                        this, workerReader, pageRanges, documentReady, nextRangeIndex, failed)));
+            }
+            for (Future<Void> worker : workers) {
+                worker.get();
+            }
+            completed = true;
+        } catch (IOException e) {
+            throw new PdfException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PdfException(e.getCause());
+        } finally {
+            if (!completed) {
+                failed.set(true);
+                awaitWorkers(workers);
+                closeReaders(workerReaders.subList(workers.size(), workerReaders.size()));
+            }
+        }
+    }
+
+    /**
+     * Extracts the specified page ranges from a document, copying the pages of independent resultant documents
+     * on the worker threads of the executor service, as many of them as there are available processors.
+     * See {@link #extractPageRanges(List, IDocumentReadyListener, ExecutorService, int)} for the details.
+     *
+     * @param pageRanges      the list of page ranges for each of the resultant document.
+     * @param documentReady   the event listener which is called when another document is ready.
+     *                        The document is closed after the listener returns, if the listener hasn't closed it.
+     * @param executorService the executor service which runs the workers
+     */
+    public void extractPageRanges(List<PageRange> pageRanges, IDocumentReadyListener documentReady,
+            ExecutorService executorService) {
+        extractPageRanges(pageRanges, documentReady, executorService, Runtime.getRuntime().availableProcessors());
+    }
+
     public PdfDocument getPdfDocument() {
         return pdfDocument;
     }
@@ -261,14 +407,61 @@ public class PdfSplitter {
     }
 
     private PdfDocument createPdfDocument(PageRange currentPageRange) {
+        return createPdfDocument(pdfDocument, currentPageRange);
+    }
+
+    private PdfDocument createPdfDocument(PdfDocument sourceDocument, PageRange currentPageRange) {
         PdfDocument newDocument = new PdfDocument(getNextPdfWriter(currentPageRange), new DocumentProperties().setEventCountingMetaInfo(metaInfo));
-        if (pdfDocument.isTagged() && preserveTagged)
+        if (sourceDocument.isTagged() && preserveTagged)
             newDocument.setTagged();
-        if (pdfDocument.hasOutlines() && preserveOutlines)
+        if (sourceDocument.hasOutlines() && preserveOutlines)
             newDocument.initializeOutlines();
         return newDocument;
     }
 
+    private void extractPageRange(PdfDocument sourceDocument, PageRange pageRange,
+            IDocumentReadyListener documentReady) {
+        List<Integer> pageNumbers = pageRange.getQualifyingPageNums(sourceDocument.getNumberOfPages());
+        PdfDocument currentDocument = createPdfDocument(sourceDocument, pageRange);
+        sourceDocument.copyPagesTo(pageNumbers, currentDocument);
+        documentReady.documentReady(currentDocument, pageRange);
+        if (!currentDocument.isClosed()) {
+            currentDocument.close();
+        }
+
+        PageFlushingHelper flushingHelper = new PageFlushingHelper(sourceDocument);
+        for (int pageNumber : pageNumbers) {
+            flushingHelper.releaseDeep(pageNumber);
+        }
+    }
+
+    private List<PageRange> getPageRangesBySize(long size, boolean releasePages) {
+        List<PageRange> splitRanges = new ArrayList<>();
+        int currentPage = 1;
+        int numOfPages = pdfDocument.getNumberOfPages();
+        PageFlushingHelper flushingHelper = releasePages ? new PageFlushingHelper(pdfDocument) : null;
+
+        while (currentPage <= numOfPages) {
+            PageRange nextRange = getNextRange(currentPage, numOfPages, size);
+            splitRanges.add(nextRange);
+            int lastPageNumber = getLastPageNumber(nextRange, numOfPages);
+            if (flushingHelper != null) {
+                // the lengths of the measured objects stay cached, and the workers copy the pages from
+                // their own documents, so the measured pages needn't be kept in memory
+                for (int pageNumber = currentPage; pageNumber <= lastPageNumber; pageNumber++) {
+                    flushingHelper.releaseDeep(pageNumber);
+                }
+            }
+            currentPage = lastPageNumber + 1;
+        }
+        return splitRanges;
+    }
+
+    private static int getLastPageNumber(PageRange pageRange, int numOfPages) {
+        List<Integer> allPages = pageRange.getQualifyingPageNums(numOfPages);
+        return (int) allPages.get(allPages.size() - 1);
+    }
+
     public interface IDocumentReadyListener {
         void documentReady(PdfDocument pdfDocument, PageRange pageRange);
     }
@@ -376,17 +569,23 @@ public class PdfSplitter {
     }
 
     private PageRange getNextRange(int startPage, int endPage, long size) {
-        PdfResourceCounter counter = new PdfResourceCounter(pdfDocument.getTrailer());
-        Map<Integer, PdfObject> resources = counter.getResources();
+        if (trailerResources == null) {
+            objectLengths = new HashMap<>();
+            PdfResourceCounter trailerCounter = new PdfResourceCounter(pdfDocument.getTrailer());
+            trailerResources = trailerCounter.getResources();
+            trailerLength = trailerCounter.getLength(null, objectLengths);
+        }
+        Map<Integer, PdfObject> resources = new HashMap<>(trailerResources);
         // initialize with trailer length
-        long lengthWithoutXref = counter.getLength(null);
+        long lengthWithoutXref = trailerLength;
         int currentPage = startPage;
         boolean oversized = false;
 
         do {
             PdfPage page = pdfDocument.getPage(currentPage++);
-            counter = new PdfResourceCounter(page.getPdfObject());
-            lengthWithoutXref += counter.getLength(resources);
+            // the resources shared with the previous pages of the range are neither walked through nor counted again
+            PdfResourceCounter counter = new PdfResourceCounter(page.getPdfObject(), resources);
+            lengthWithoutXref += counter.getLength(null, objectLengths);
             resources.putAll(counter.getResources());
 
             if (lengthWithoutXref + xrefLength(resources.size()) > size) {
@@ -407,4 +606,75 @@ public class PdfSplitter {
     private long xrefLength(int size) {
         return 20L * (size + 1);
     }
+
+    /**
+     * Waits until all the workers have returned. The workers are stopped through the shared failure flag
+     * rather than with {@link Future#cancel(boolean)}: a cancelled future can't be awaited, and interrupting
+     * a worker might close the file channel it shares with the other readers.
+     */
+    private static void awaitWorkers(List<Future<Void>> workers) {
+        boolean interrupted = Thread.interrupted();
+        for (Future<Void> worker : workers) {
+            while (true) {
+                try {
+                    worker.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeReaders(List<PdfReader> readers) {
+        for (PdfReader reader : readers) {
+            try {
+                reader.close();
+            } catch (IOException ignored) {
+                // the reader only holds a view of the source, which is closed together with the document
+            }
+        }
+    }
+
+    private static final class RangeExtractingWorker implements Callable<Void> {
+        private final PdfSplitter splitter;
+        private final PdfReader workerReader;
+        private final List<PageRange> pageRanges;
+        private final IDocumentReadyListener documentReady;
+        private final AtomicInteger nextRangeIndex;
+        private final AtomicBoolean failed;
+
+        RangeExtractingWorker(PdfSplitter splitter, PdfReader workerReader, List<PageRange> pageRanges,
+                IDocumentReadyListener documentReady, AtomicInteger nextRangeIndex, AtomicBoolean failed) {
+            this.splitter = splitter;
+            this.workerReader = workerReader;
+            this.pageRanges = pageRanges;
+            this.documentReady = documentReady;
+            this.nextRangeIndex = nextRangeIndex;
+            this.failed = failed;
+        }
+
+        @Override
+        public Void call() throws IOException {
+            if (failed.get()) {
+                workerReader.close();
+                return null;
+            }
+            try (PdfDocument workerDocument = new PdfDocument(workerReader)) {
+                int rangeIndex;
+                while (!failed.get() && (rangeIndex = nextRangeIndex.getAndIncrement()) < pageRanges.size()) {
+                    splitter.extractPageRange(workerDocument, pageRanges.get(rangeIndex), documentReady);
+                }
+            } catch (RuntimeException e) {
+                failed.set(true);
+                throw e;
+            }
+            return null;
+        }
+    }
 }
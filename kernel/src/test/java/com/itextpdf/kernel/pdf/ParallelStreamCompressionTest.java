@@ -0,0 +1,189 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.events.Event;
+import com.itextpdf.kernel.events.IEventHandler;
+import com.itextpdf.kernel.events.PdfDocumentEvent;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Category(IntegrationTest.class)
+public class ParallelStreamCompressionTest extends ExtendedITextTest {
+
+    private static final int PAGES_NUMBER = 30;
+
+    private static ExecutorService executorService;
+
+    @BeforeClass
+    public static void beforeClass() {
+        executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        executorService.shutdown();
+    }
+
+    @Test
+    public void parallelCompressionProducesSameLayoutTest() throws IOException {
+        byte[] sequential = createDocument(new WriterProperties());
+        byte[] parallel = createDocument(new WriterProperties().useParallelStreamCompression(executorService, 5));
+        Assert.assertEquals(sequential.length, parallel.length);
+
+        try (PdfDocument sequentialDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(sequential)));
+                PdfDocument parallelDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(parallel)))) {
+            Assert.assertEquals(sequentialDoc.getNumberOfPdfObjects(), parallelDoc.getNumberOfPdfObjects());
+            for (int i = 1; i < sequentialDoc.getNumberOfPdfObjects(); i++) {
+                Assert.assertEquals(sequentialDoc.getXref().get(i).getOffset(), parallelDoc.getXref().get(i).getOffset());
+            }
+            for (int i = 1; i <= PAGES_NUMBER; i++) {
+                Assert.assertArrayEquals(sequentialDoc.getPage(i).getContentStream(0).getBytes(false),
+                        parallelDoc.getPage(i).getContentStream(0).getBytes(false));
+            }
+        }
+    }
+
+    @Test
+    public void parallelCompressionWithEndPageEventsTest() throws IOException {
+        WriterProperties properties = new WriterProperties().useParallelStreamCompression(executorService, 3);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, properties))) {
+            pdfDocument.addEventHandler(PdfDocumentEvent.END_PAGE, new IEventHandler() {
+                @Override
+                public void handleEvent(Event event) {
+                    PdfPage page = ((PdfDocumentEvent) event).getPage();
+                    new PdfCanvas(page.getFirstContentStream(), page.getResources(), page.getDocument())
+                            .rectangle(10, 10, 50, 50).fill();
+                }
+            });
+            for (int i = 0; i < PAGES_NUMBER; i++) {
+                new PdfCanvas(pdfDocument.addNewPage()).rectangle(100, 100, 100, 100).stroke();
+            }
+        }
+
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            for (int i = 1; i <= PAGES_NUMBER; i++) {
+                String content = new String(pdfDocument.getPage(i).getContentStream(0).getBytes());
+                Assert.assertTrue(content.contains("100 100 100 100 re"));
+                Assert.assertTrue(content.contains("10 10 50 50 re"));
+            }
+        }
+    }
+
+    @Test
+    public void modifiedStreamIsNotTakenTest() {
+        ParallelStreamCompressor compressor = new ParallelStreamCompressor(executorService, 2);
+        PdfStream stream = new PdfStream(new byte[] {1, 2, 3});
+        compressor.schedule(stream, CompressionConstants.DEFAULT_COMPRESSION);
+        Assert.assertNotNull(compressor.takeCompressed(stream, CompressionConstants.DEFAULT_COMPRESSION));
+
+        compressor.schedule(stream, CompressionConstants.DEFAULT_COMPRESSION);
+        ((ByteArrayOutputStream) stream.getOutputStream().getOutputStream()).write(4);
+        Assert.assertNull(compressor.takeCompressed(stream, CompressionConstants.DEFAULT_COMPRESSION));
+
+        compressor.schedule(stream, CompressionConstants.DEFAULT_COMPRESSION);
+        Assert.assertNull(compressor.takeCompressed(stream, CompressionConstants.BEST_COMPRESSION));
+    }
+
+    @Test
+    public void streamWithReplacedDataOfSameLengthIsNotTakenTest() {
+        ParallelStreamCompressor compressor = new ParallelStreamCompressor(executorService, 2);
+        PdfStream stream = new PdfStream(new byte[] {1, 2, 3});
+        compressor.schedule(stream, CompressionConstants.DEFAULT_COMPRESSION);
+        // setData reuses the same output stream
+        stream.setData(new byte[] {4, 5, 6});
+        Assert.assertNull(compressor.takeCompressed(stream, CompressionConstants.DEFAULT_COMPRESSION));
+    }
+
+    @Test
+    public void numberOfPendingStreamsIsLimitedTest() {
+        ParallelStreamCompressor compressor = new ParallelStreamCompressor(executorService, 2);
+        PdfStream[] streams = new PdfStream[] {new PdfStream(new byte[] {1}), new PdfStream(new byte[] {2}),
+                new PdfStream(new byte[] {3})};
+        for (PdfStream stream : streams) {
+            compressor.schedule(stream, CompressionConstants.DEFAULT_COMPRESSION);
+        }
+        Assert.assertFalse(compressor.canSchedule());
+        Assert.assertNull(compressor.takeCompressed(streams[2], CompressionConstants.DEFAULT_COMPRESSION));
+        Assert.assertNotNull(compressor.takeCompressed(streams[0], CompressionConstants.DEFAULT_COMPRESSION));
+        Assert.assertTrue(compressor.canSchedule());
+        compressor.clear();
+        Assert.assertNull(compressor.takeCompressed(streams[1], CompressionConstants.DEFAULT_COMPRESSION));
+    }
+
+    private static byte[] createDocument(WriterProperties properties) throws IOException {
+        properties.setInitialDocumentId(new PdfString("initial")).setModifiedDocumentId(new PdfString("modified"));
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, properties))) {
+            PdfFont font = PdfFontFactory.createFont(StandardFonts.COURIER);
+            for (int i = 1; i <= PAGES_NUMBER; i++) {
+                PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+                for (int j = 0; j < 200; j++) {
+                    canvas.beginText()
+                            .setFontAndSize(font, 10)
+                            .moveText(36, 36 + j * 3)
+                            .showText("Line " + j + " of page " + i)
+                            .endText();
+                }
+            }
+        }
+        return baos.toByteArray();
+    }
+}
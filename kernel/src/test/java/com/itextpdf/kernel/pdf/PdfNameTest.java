@@ -50,6 +50,8 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.nio.charset.StandardCharsets;
+
 @Category(UnitTest.class)
 public class PdfNameTest extends ExtendedITextTest {
 
@@ -101,4 +103,19 @@ public class PdfNameTest extends ExtendedITextTest {
         Assert.assertEquals(Math.signum(oneToTwo), Math.signum(oneContentToTwo), delta);
     }
 
+    @Test
+    public void getStaticNameTest() {
+        byte[] buffer = new byte[] {'T', 'y', 'p', 'e', 'X'};
+        Assert.assertSame(PdfName.Type, PdfName.getStaticName(buffer, 4));
+        Assert.assertNull(PdfName.getStaticName(buffer, 5));
+        Assert.assertNull(PdfName.getStaticName(buffer, 0));
+    }
+
+    @Test
+    public void getEachStaticNameTest() {
+        for (PdfName name : PdfName.staticNames.values()) {
+            byte[] bytes = name.getValue().getBytes(StandardCharsets.ISO_8859_1);
+            Assert.assertSame(name, PdfName.getStaticName(bytes, bytes.length));
+        }
+    }
 }
@@ -65,6 +65,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.rules.ExpectedException;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -580,6 +581,98 @@ public class PdfPagesTest extends ExtendedITextTest {
         Assert.assertTrue(page.getPdfObject().isModified());
     }
 
+    @Test
+    public void getPageNumberOfNullPageTest() {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        pdfDoc.addNewPage();
+        Assert.assertEquals(0, pdfDoc.getPageNumber((PdfPage) null));
+        pdfDoc.close();
+    }
+
+    @Test
+    public void getPageNumberAfterInsertingAndRemovingPagesTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        List<PdfPage> expectedPages = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            expectedPages.add(pdfDoc.addNewPage());
+        }
+        Random random = new Random(0);
+        for (int i = 0; i < 100; i++) {
+            int pageNum = random.nextInt(expectedPages.size()) + 1;
+            if (i % 3 == 0) {
+                Assert.assertSame(expectedPages.remove(pageNum - 1), pdfDoc.getPage(pageNum));
+                pdfDoc.removePage(pageNum);
+            } else if (i % 3 == 1) {
+                PdfPage page = new PdfPage(pdfDoc, pdfDoc.getDefaultPageSize());
+                pdfDoc.addPage(pageNum, page);
+                expectedPages.add(pageNum - 1, page);
+            } else {
+                PdfPage page = expectedPages.remove(pageNum - 1);
+                pdfDoc.movePage(page, 1);
+                expectedPages.add(0, page);
+            }
+            for (int j = 0; j < expectedPages.size(); j++) {
+                PdfPage page = expectedPages.get(j);
+                Assert.assertEquals(j + 1, pdfDoc.getPageNumber(page));
+                Assert.assertEquals(j + 1, pdfDoc.getPageNumber(page.getPdfObject()));
+            }
+        }
+        PdfPage removedPage = pdfDoc.getPage(1);
+        pdfDoc.removePage(1);
+        Assert.assertEquals(0, pdfDoc.getPageNumber(removedPage));
+        Assert.assertEquals(0, pdfDoc.getPageNumber(removedPage.getPdfObject()));
+
+        PdfPagesTree pagesTree = pdfDoc.getCatalog().getPageTree();
+        Assert.assertEquals(-1, verifyIntegrity(pagesTree));
+        for (PdfPages leaf : pagesTree.getParents()) {
+            Assert.assertTrue(leaf.getCount() <= 20);
+        }
+        expectedPages.remove(0);
+        for (int i = 0; i < expectedPages.size(); i++) {
+            expectedPages.get(i).getPdfObject().put(PageNum, new PdfNumber(i + 1));
+        }
+        pdfDoc.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        Assert.assertEquals(expectedPages.size(), resultDoc.getNumberOfPages());
+        for (int i = 1; i <= resultDoc.getNumberOfPages(); i++) {
+            Assert.assertEquals(i, resultDoc.getPage(i).getPdfObject().getAsNumber(PageNum).intValue());
+        }
+        resultDoc.close();
+    }
+
+    @Test
+    public void appendPagesToFlatPageTreeTest() throws IOException {
+        ByteArrayOutputStream source = new ByteArrayOutputStream();
+        PdfDocument sourceDoc = new PdfDocument(new PdfWriter(source));
+        for (int i = 0; i < 5; i++) {
+            sourceDoc.addNewPage().getPdfObject().put(PageNum, new PdfNumber(i + 1));
+        }
+        sourceDoc.close();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source.toByteArray())),
+                new PdfWriter(baos));
+        for (int i = 5; i < 100; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            page.getPdfObject().put(PageNum, new PdfNumber(i + 1));
+            Assert.assertEquals(i + 1, pdfDoc.getPageNumber(page));
+        }
+        Assert.assertEquals(-1, verifyIntegrity(pdfDoc.getCatalog().getPageTree()));
+        pdfDoc.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        PdfArray rootKids = resultDoc.getCatalog().getPdfObject().getAsDictionary(PdfName.Pages).getAsArray(PdfName.Kids);
+        Assert.assertTrue(rootKids.size() < 20);
+        for (int i = 1; i <= resultDoc.getNumberOfPages(); i++) {
+            PdfPage page = resultDoc.getPage(i);
+            Assert.assertEquals(i, page.getPdfObject().getAsNumber(PageNum).intValue());
+            Assert.assertTrue(page.getPdfObject().getAsDictionary(PdfName.Parent).getAsArray(PdfName.Kids).size() <= 20);
+        }
+        resultDoc.close();
+    }
+
     @Test
     public void verifyPagesAreNotReadOnOpenTest() throws IOException {
         String srcFile = sourceFolder + "taggedOnePage.pdf";
@@ -0,0 +1,159 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Category(IntegrationTest.class)
+public class PdfReaderConcurrencyTest extends ExtendedITextTest {
+
+    private static final int THREADS_NUMBER = 8;
+
+    @Test
+    public void resolveObjectsConcurrentlyTest() throws IOException, InterruptedException, ExecutionException {
+        byte[] document = createDocument(new WriterProperties().setFullCompressionMode(true));
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(document)))) {
+            List<List<Object>> results = resolveAllObjects(pdfDocument);
+            for (List<Object> result : results) {
+                Assert.assertEquals(results.get(0).size(), result.size());
+                for (int i = 0; i < result.size(); i++) {
+                    Object expected = results.get(0).get(i);
+                    if (expected instanceof byte[]) {
+                        Assert.assertArrayEquals((byte[]) expected, (byte[]) result.get(i));
+                    } else {
+                        // every indirect object is read only once, so all the threads get the same instance
+                        Assert.assertSame(expected, result.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void readEncryptedStreamsConcurrentlyTest() throws IOException, InterruptedException, ExecutionException {
+        byte[] password = "owner".getBytes();
+        byte[] document = createDocument(new WriterProperties()
+                .setStandardEncryption(password, password, EncryptionConstants.ALLOW_PRINTING,
+                        EncryptionConstants.ENCRYPTION_AES_128));
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(document),
+                new ReaderProperties().setPassword(password)))) {
+            List<List<Object>> results = resolveAllObjects(pdfDocument);
+            for (List<Object> result : results) {
+                for (int i = 0; i < result.size(); i++) {
+                    if (result.get(i) instanceof byte[]) {
+                        Assert.assertArrayEquals((byte[]) results.get(0).get(i), (byte[]) result.get(i));
+                    }
+                }
+            }
+            String firstPageContent = new String(pdfDocument.getPage(1).getContentBytes());
+            Assert.assertTrue(firstPageContent.contains("(Page 1)"));
+        }
+    }
+
+    private static List<List<Object>> resolveAllObjects(final PdfDocument pdfDocument)
+            throws InterruptedException, ExecutionException {
+        final int xrefSize = pdfDocument.getXref().size();
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS_NUMBER);
+        try {
+            List<Future<List<Object>>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS_NUMBER; i++) {
+                futures.add(executorService.submit(new Callable<List<Object>>() {
+                    @Override
+                    public List<Object> call() {
+                        List<Object> result = new ArrayList<>();
+                        for (int objNr = 1; objNr < xrefSize; objNr++) {
+                            PdfIndirectReference reference = pdfDocument.getXref().get(objNr);
+                            PdfObject object = reference == null ? null : reference.getRefersTo();
+                            result.add(object);
+                            if (object instanceof PdfStream) {
+                                result.add(((PdfStream) object).getBytes());
+                            }
+                        }
+                        return result;
+                    }
+                }));
+            }
+            List<List<Object>> results = new ArrayList<>();
+            for (Future<List<Object>> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private static byte[] createDocument(WriterProperties properties) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, properties))) {
+            for (int i = 1; i <= 100; i++) {
+                new PdfCanvas(pdfDocument.addNewPage())
+                        .beginText()
+                        .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                        .moveText(36, 700)
+                        .showText("Page " + i)
+                        .endText();
+            }
+        }
+        return baos.toByteArray();
+    }
+}
@@ -97,4 +97,58 @@ public class PdfXrefTableUnitTest extends ExtendedITextTest {
         Assert.assertEquals(numberOfReferences, table.getCountOfIndirectObjects());
         Assert.assertEquals(226, table.size());
     }
+
+    @Test
+    public void lazilyAddedReferencesCreatedOnRequestTest() {
+        PdfXrefTable table = new PdfXrefTable();
+        table.addLazily(null, 3, 2, 1500, 0, false);
+        table.addLazily(null, 4, 0, 7, 10, false);
+        table.addLazily(null, 5, 1, 0, 0, true);
+
+        Assert.assertEquals(6, table.size());
+        Assert.assertEquals(2, table.getCountOfIndirectObjects());
+        Assert.assertTrue(table.isStoredLazily(3));
+
+        PdfIndirectReference reference = table.get(3);
+        Assert.assertFalse(table.isStoredLazily(3));
+        Assert.assertSame(reference, table.get(3));
+        Assert.assertEquals(3, reference.getObjNumber());
+        Assert.assertEquals(2, reference.getGenNumber());
+        Assert.assertEquals(1500, reference.getOffset());
+
+        PdfIndirectReference compressedReference = table.get(4);
+        Assert.assertEquals(10, compressedReference.getObjStreamNumber());
+        Assert.assertEquals(7, compressedReference.getIndex());
+
+        Assert.assertTrue(table.get(5).isFree());
+        Assert.assertNull(table.get(2));
+    }
+
+    @Test
+    public void lazilyAddedReferencesSurviveExtendingTest() {
+        PdfXrefTable table = new PdfXrefTable(4);
+        table.addLazily(null, 2, 0, 100, 0, false);
+        table.add(new PdfIndirectReference(null, 1000));
+
+        Assert.assertTrue(table.isStoredLazily(2));
+        Assert.assertEquals(100, table.get(2).getOffset());
+        Assert.assertEquals(2, table.getCountOfIndirectObjects());
+    }
+
+    @Test
+    public void addedReferenceTakesPrecedenceOverLazyEntryTest() {
+        PdfXrefTable table = new PdfXrefTable();
+        table.addLazily(null, 2, 0, 100, 0, false);
+        PdfIndirectReference lazyReference = table.get(2);
+
+        PdfIndirectReference reference = new PdfIndirectReference(null, 2, 1, 200);
+        table.add(reference);
+        Assert.assertSame(reference, table.get(2));
+
+        table.addLazily(null, 2, 3, 300, 0, false);
+        PdfIndirectReference updatedReference = table.get(2);
+        Assert.assertNotSame(lazyReference, updatedReference);
+        Assert.assertEquals(3, updatedReference.getGenNumber());
+        Assert.assertEquals(300, updatedReference.getOffset());
+    }
 }
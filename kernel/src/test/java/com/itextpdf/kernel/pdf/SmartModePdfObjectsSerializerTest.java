@@ -68,4 +68,44 @@ public class SmartModePdfObjectsSerializerTest extends ExtendedITextTest {
 
         Assert.assertEquals(expected, serializedObject);
     }
+
+    @Test
+    public void equalStreamsHaveEqualSerializedContentTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+
+        PdfStream stream1 = new PdfStream("content".getBytes(StandardCharsets.ISO_8859_1));
+        stream1.makeIndirect(document);
+        PdfStream stream2 = new PdfStream("content".getBytes(StandardCharsets.ISO_8859_1));
+        stream2.makeIndirect(document);
+        PdfStream stream3 = new PdfStream("contenT".getBytes(StandardCharsets.ISO_8859_1));
+        stream3.makeIndirect(document);
+
+        SmartModePdfObjectsSerializer serializer = new SmartModePdfObjectsSerializer();
+        SerializedObjectContent serialized1 = serializer.serializeObject(stream1);
+        Assert.assertEquals(serialized1, serializer.serializeObject(stream2));
+        Assert.assertEquals(serialized1.hashCode(), serializer.serializeObject(stream2).hashCode());
+        Assert.assertNotEquals(serialized1, serializer.serializeObject(stream3));
+    }
+
+    @Test
+    public void boundedSerializerEvictsLeastRecentlyUsedTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        SmartModePdfObjectsSerializer serializer = new SmartModePdfObjectsSerializer(2);
+
+        SerializedObjectContent[] contents = new SerializedObjectContent[3];
+        PdfIndirectReference[] references = new PdfIndirectReference[3];
+        for (int i = 0; i < 3; i++) {
+            contents[i] = new SerializedObjectContent(new byte[] {(byte) i});
+            references[i] = new PdfDictionary().makeIndirect(document).getIndirectReference();
+        }
+
+        serializer.saveSerializedObject(contents[0], references[0]);
+        serializer.saveSerializedObject(contents[1], references[1]);
+        Assert.assertSame(references[0], serializer.getSavedSerializedObject(contents[0]));
+        serializer.saveSerializedObject(contents[2], references[2]);
+
+        Assert.assertSame(references[0], serializer.getSavedSerializedObject(contents[0]));
+        Assert.assertNull(serializer.getSavedSerializedObject(contents[1]));
+        Assert.assertSame(references[2], serializer.getSavedSerializedObject(contents[2]));
+    }
 }
@@ -0,0 +1,160 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Category(IntegrationTest.class)
+public class ContentEventCursorTest extends ExtendedITextTest {
+
+    @Test
+    public void allEventsInContentOrderTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            ContentEventCursor cursor = new ContentEventCursor(pdfDocument.getFirstPage());
+            List<EventType> types = new ArrayList<>();
+            while (cursor.next()) {
+                types.add(cursor.getEventType());
+            }
+            Assert.assertEquals(EventType.CLIP_PATH_CHANGED, types.get(0));
+            Assert.assertTrue(types.contains(EventType.RENDER_PATH));
+            Assert.assertEquals(3, Collections.frequency(types, EventType.RENDER_TEXT));
+            Assert.assertFalse(cursor.next());
+            Assert.assertNull(cursor.getEventData());
+        }
+    }
+
+    @Test
+    public void textEventsStayValidAfterMovingForwardTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            ContentEventCursor cursor = new ContentEventCursor(pdfDocument.getFirstPage(),
+                    Collections.singleton(EventType.RENDER_TEXT));
+            List<TextRenderInfo> infos = new ArrayList<>();
+            while (cursor.next()) {
+                Assert.assertEquals(EventType.RENDER_TEXT, cursor.getEventType());
+                infos.add((TextRenderInfo) cursor.getEventData());
+            }
+            Assert.assertEquals(3, infos.size());
+            Assert.assertEquals("first", infos.get(0).getText());
+            Assert.assertEquals(10, infos.get(0).getFontSize(), 0);
+            Assert.assertEquals("second", infos.get(1).getText());
+            Assert.assertEquals(20, infos.get(1).getFontSize(), 0);
+            Assert.assertEquals("third", infos.get(2).getText());
+        }
+    }
+
+    @Test
+    public void textEventsShareUnchangedGraphicsStateTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            ContentEventCursor cursor = new ContentEventCursor(pdfDocument.getFirstPage(),
+                    Collections.singleton(EventType.RENDER_TEXT));
+            List<TextRenderInfo> infos = new ArrayList<>();
+            while (cursor.next()) {
+                infos.add((TextRenderInfo) cursor.getEventData());
+            }
+            Assert.assertEquals(3, infos.size());
+            // the font is changed between the first and the second string only
+            Assert.assertNotSame(infos.get(0).getGraphicsState(), infos.get(1).getGraphicsState());
+            Assert.assertSame(infos.get(1).getGraphicsState(), infos.get(2).getGraphicsState());
+            Assert.assertEquals(10, infos.get(0).getGraphicsState().getFontSize(), 0);
+            Assert.assertEquals(20, infos.get(2).getGraphicsState().getFontSize(), 0);
+        }
+    }
+
+    @Test
+    public void stopAfterFirstMatchTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            ContentEventCursor cursor = new ContentEventCursor(pdfDocument.getFirstPage(),
+                    Collections.singleton(EventType.RENDER_TEXT));
+            TextRenderInfo found = null;
+            while (found == null && cursor.next()) {
+                TextRenderInfo info = (TextRenderInfo) cursor.getEventData();
+                if (info.getText().startsWith("sec")) {
+                    found = info;
+                }
+            }
+            Assert.assertNotNull(found);
+            Assert.assertEquals("second", found.getText());
+        }
+    }
+
+    private static byte[] createDocument() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+            canvas.setFillColor(ColorConstants.RED)
+                    .rectangle(10, 10, 100, 100)
+                    .fill();
+            canvas.beginText()
+                    .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 10)
+                    .moveText(36, 700)
+                    .showText("first")
+                    .setFontAndSize(PdfFontFactory.createFont(StandardFonts.COURIER), 20)
+                    .moveText(0, -30)
+                    .showText("second")
+                    .moveText(0, -30)
+                    .showText("third")
+                    .endText();
+        }
+        return baos.toByteArray();
+    }
+}
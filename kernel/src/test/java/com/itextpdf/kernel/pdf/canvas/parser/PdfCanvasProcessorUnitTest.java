@@ -22,9 +22,12 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser;
 
+import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfLiteral;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfResources;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.FilteredEventListener;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
@@ -32,7 +35,9 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 @Category(UnitTest.class)
 public class PdfCanvasProcessorUnitTest extends ExtendedITextTest {
@@ -49,4 +54,42 @@ public class PdfCanvasProcessorUnitTest extends ExtendedITextTest {
         processor.registerContentOperator("BMC", contentOperator);
         contentOperator.invoke(processor, null, Collections.singletonList((PdfObject) null));
     }
+
+    @Test
+    public void operatorsDispatchedByLiteralTest() {
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new FilteredEventListener());
+        RecordingOperator recordingOperator = new RecordingOperator();
+        processor.registerContentOperator("re", recordingOperator);
+        processor.registerContentOperator(PdfCanvasProcessor.DEFAULT_OPERATOR, recordingOperator);
+        processor.processContent(ByteUtils.getIsoBytes("1 2 3 4 re\nxyz\n"), new PdfResources());
+
+        Assert.assertEquals(2, recordingOperator.invokedOperators.size());
+        Assert.assertEquals("re", recordingOperator.invokedOperators.get(0));
+        Assert.assertEquals("xyz", recordingOperator.invokedOperators.get(1));
+    }
+
+    @Test
+    public void operatorRegisteredAfterProcessingTest() {
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new FilteredEventListener());
+        processor.processContent(ByteUtils.getIsoBytes("q Q\n"), new PdfResources());
+
+        RecordingOperator recordingOperator = new RecordingOperator();
+        IContentOperator previous = processor.registerContentOperator("Q", recordingOperator);
+        processor.registerContentOperator("q", recordingOperator);
+        processor.reset();
+        processor.processContent(ByteUtils.getIsoBytes("q Q\n"), new PdfResources());
+
+        Assert.assertNotNull(previous);
+        Assert.assertEquals(2, recordingOperator.invokedOperators.size());
+        Assert.assertEquals("Q", recordingOperator.invokedOperators.get(1));
+    }
+
+    private static class RecordingOperator implements IContentOperator {
+        private final List<String> invokedOperators = new ArrayList<>();
+
+        @Override
+        public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+            invokedOperators.add(operator.toString());
+        }
+    }
 }
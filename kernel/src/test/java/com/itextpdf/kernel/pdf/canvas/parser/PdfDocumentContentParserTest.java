@@ -0,0 +1,180 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.SimpleTextExtractionStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Category(IntegrationTest.class)
+public class PdfDocumentContentParserTest extends ExtendedITextTest {
+
+    private static final int PAGES_NUMBER = 50;
+
+    @Rule
+    public ExpectedException junitExpectedException = ExpectedException.none();
+
+    @Test
+    public void processAllPagesKeepsPageOrderTest() throws IOException {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            List<SimpleTextExtractionStrategy> strategies = new PdfDocumentContentParser(pdfDocument)
+                    .processAllPages(executorService, new SimpleStrategySupplier(), 4);
+            Assert.assertEquals(PAGES_NUMBER, strategies.size());
+            for (int i = 0; i < PAGES_NUMBER; i++) {
+                Assert.assertEquals("Page " + (i + 1), strategies.get(i).getResultantText());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void getTextFromAllPagesEqualsSequentialExtractionTest() throws IOException {
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            List<String> texts = PdfTextExtractor.getTextFromAllPages(pdfDocument, executorService,
+                    new Supplier<ITextExtractionStrategy>() {
+                        @Override
+                        public ITextExtractionStrategy get() {
+                            return new LocationTextExtractionStrategy();
+                        }
+                    });
+            Assert.assertEquals(PAGES_NUMBER, texts.size());
+            for (int i = 1; i <= PAGES_NUMBER; i++) {
+                Assert.assertEquals(PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i)), texts.get(i - 1));
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void processAllPagesWithoutReaderTest() {
+        junitExpectedException.expect(PdfException.class);
+        junitExpectedException.expectMessage(PdfException.DocumentHasNoReaderPagesCannotBeProcessedConcurrently);
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+            pdfDocument.addNewPage();
+            new PdfDocumentContentParser(pdfDocument).processAllPages(executorService, new SimpleStrategySupplier());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void processAllPagesReturnsAfterAllWorkersStoppedOnFailureTest() throws IOException, InterruptedException {
+        final AtomicInteger requestedListeners = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        int requestedOnFailure = -1;
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())))) {
+            new PdfDocumentContentParser(pdfDocument).processAllPages(executorService,
+                    new Supplier<SimpleTextExtractionStrategy>() {
+                        @Override
+                        public SimpleTextExtractionStrategy get() {
+                            if (requestedListeners.incrementAndGet() == 10) {
+                                throw new IllegalStateException("listener");
+                            }
+                            return new SimpleTextExtractionStrategy();
+                        }
+                    }, 4);
+            Assert.fail("The exception of the failed worker is expected");
+        } catch (IllegalStateException e) {
+            requestedOnFailure = requestedListeners.get();
+        } finally {
+            executorService.shutdown();
+        }
+        Assert.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertTrue(requestedOnFailure < PAGES_NUMBER);
+        Assert.assertEquals(requestedOnFailure, requestedListeners.get());
+    }
+
+    private static byte[] createDocument() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            for (int i = 1; i <= PAGES_NUMBER; i++) {
+                new PdfCanvas(pdfDocument.addNewPage())
+                        .beginText()
+                        .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                        .moveText(36, 700)
+                        .showText("Page " + i)
+                        .endText();
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    private static class SimpleStrategySupplier implements Supplier<SimpleTextExtractionStrategy> {
+        @Override
+        public SimpleTextExtractionStrategy get() {
+            return new SimpleTextExtractionStrategy();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.filters;
+
+import com.itextpdf.io.source.DeflaterOutputStream;
+import com.itextpdf.io.source.FlateCodecs;
+import com.itextpdf.io.source.ZipFlateCodec;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class FlateDecodeFilterTest extends ExtendedITextTest {
+
+    @Test
+    public void decodeTest() throws IOException {
+        byte[] data = createData();
+        PdfDictionary streamDictionary = new PdfDictionary();
+        streamDictionary.put(PdfName.DL, new PdfNumber(data.length));
+        byte[] decoded = new FlateDecodeFilter().decode(deflate(data), PdfName.FlateDecode, null, streamDictionary);
+        Assert.assertArrayEquals(data, decoded);
+    }
+
+    @Test
+    public void decodeCorruptedTest() throws IOException {
+        byte[] data = createData();
+        byte[] compressed = deflate(data);
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+
+        Assert.assertNull(FlateDecodeFilter.flateDecode(truncated, true));
+        byte[] decoded = new FlateDecodeFilter().decode(truncated, PdfName.FlateDecode, null, new PdfDictionary());
+        Assert.assertTrue(decoded.length > 0 && decoded.length < data.length);
+        Assert.assertArrayEquals(Arrays.copyOf(data, decoded.length), decoded);
+    }
+
+    @Test
+    public void decodeWithCustomCodecTest() throws IOException {
+        final int[] inflatedStreams = {0};
+        FlateCodecs.setCodec(new ZipFlateCodec() {
+            @Override
+            public void inflate(byte[] input, OutputStream output, boolean strict) throws IOException {
+                inflatedStreams[0]++;
+                super.inflate(input, output, strict);
+            }
+        });
+        try {
+            byte[] data = createData();
+            Assert.assertArrayEquals(data, new FlateDecodeStrictFilter().decode(deflate(data), PdfName.FlateDecode,
+                    null, new PdfDictionary()));
+            Assert.assertEquals(1, inflatedStreams[0]);
+        } finally {
+            FlateCodecs.setCodec(null);
+        }
+    }
+
+    @Test
+    public void estimateDecodedLengthTest() {
+        byte[] encoded = new byte[100];
+        PdfDictionary streamDictionary = new PdfDictionary();
+        Assert.assertEquals(400, FlateDecodeFilter.estimateDecodedLength(encoded, null));
+        Assert.assertEquals(400, FlateDecodeFilter.estimateDecodedLength(encoded, streamDictionary));
+
+        streamDictionary.put(PdfName.DL, new PdfNumber(5000));
+        Assert.assertEquals(5000, FlateDecodeFilter.estimateDecodedLength(encoded, streamDictionary));
+
+        // implausible decoded lengths are ignored
+        streamDictionary.put(PdfName.DL, new PdfNumber(-1));
+        Assert.assertEquals(400, FlateDecodeFilter.estimateDecodedLength(encoded, streamDictionary));
+        streamDictionary.put(PdfName.DL, new PdfNumber(1000000000));
+        Assert.assertEquals(400, FlateDecodeFilter.estimateDecodedLength(encoded, streamDictionary));
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        DeflaterOutputStream zip = new DeflaterOutputStream(compressed);
+        zip.write(data);
+        zip.close();
+        return compressed.toByteArray();
+    }
+
+    private static byte[] createData() {
+        byte[] data = new byte[50000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31 % 251);
+        }
+        return data;
+    }
+}
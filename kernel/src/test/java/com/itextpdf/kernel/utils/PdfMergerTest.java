@@ -43,15 +43,26 @@
 package com.itextpdf.kernel.utils;
 
 import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -433,4 +444,104 @@ public class PdfMergerTest extends ExtendedITextTest {
         merger.close();
         mergedDoc.close();
     }
+
+    @Test
+    public void mergeWithResourceDeduplicationTest() throws IOException {
+        List<byte[]> sources = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            sources.add(createDocumentWithFontAndImage(PdfEncodings.WINANSI));
+        }
+        PdfDocument sourceDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(sources.get(0))));
+        int fontProgramsNumber = countStreams(sourceDoc, PdfName.Length1);
+        int imagesNumber = countStreams(sourceDoc, PdfName.Image);
+        sourceDoc.close();
+
+        byte[] merged = mergeDocuments(sources, true);
+        byte[] mergedWithoutDeduplication = mergeDocuments(sources, false);
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(merged)));
+        Assert.assertEquals(10, resultDoc.getNumberOfPages());
+        Assert.assertEquals(fontProgramsNumber, countStreams(resultDoc, PdfName.Length1));
+        Assert.assertEquals(imagesNumber, countStreams(resultDoc, PdfName.Image));
+        PdfDictionary firstFonts = resultDoc.getPage(1).getResources().getResource(PdfName.Font);
+        PdfDictionary lastFonts = resultDoc.getPage(10).getResources().getResource(PdfName.Font);
+        Assert.assertEquals(firstFonts.get(firstFonts.keySet().iterator().next(), false),
+                lastFonts.get(lastFonts.keySet().iterator().next(), false));
+        resultDoc.close();
+
+        PdfDocument resultDocWithoutDeduplication = new PdfDocument(new PdfReader(
+                new ByteArrayInputStream(mergedWithoutDeduplication)));
+        Assert.assertEquals(10 * fontProgramsNumber, countStreams(resultDocWithoutDeduplication, PdfName.Length1));
+        Assert.assertEquals(10 * imagesNumber, countStreams(resultDocWithoutDeduplication, PdfName.Image));
+        resultDocWithoutDeduplication.close();
+        Assert.assertTrue(merged.length * 5 < mergedWithoutDeduplication.length);
+    }
+
+    @Test
+    public void mergeWithResourceDeduplicationDifferentFontsTest() throws IOException {
+        List<byte[]> sources = new ArrayList<>();
+        sources.add(createDocumentWithFontAndImage(PdfEncodings.WINANSI));
+        sources.add(createDocumentWithFontAndImage("Cp1250"));
+        sources.add(createDocumentWithFontAndImage(PdfEncodings.WINANSI));
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(mergeDocuments(sources, true))));
+        // the fonts differ in their encodings, but they share the same font program
+        Assert.assertEquals(2, countFonts(resultDoc));
+        Assert.assertEquals(1, countStreams(resultDoc, PdfName.Length1));
+        resultDoc.close();
+    }
+
+    private static byte[] createDocumentWithFontAndImage(String encoding) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        PdfFont font = PdfFontFactory.createFont("./src/test/resources/com/itextpdf/kernel/pdf/fonts/NotoSerif-Regular.ttf",
+                encoding, true);
+        font.setSubset(false);
+        PdfImageXObject image = new PdfImageXObject(ImageDataFactory.create(
+                "./src/test/resources/com/itextpdf/kernel/pdf/PageFlushingTest/itext.png"));
+        new PdfCanvas(pdfDoc.addNewPage())
+                .addXObject(image, 36, 700)
+                .beginText()
+                .setFontAndSize(font, 12)
+                .moveText(36, 650)
+                .showText("Invoice")
+                .endText();
+        pdfDoc.close();
+        return baos.toByteArray();
+    }
+
+    private static byte[] mergeDocuments(List<byte[]> sources, boolean resourceDeduplication) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfMerger merger = new PdfMerger(new PdfDocument(new PdfWriter(baos)))
+                .setCloseSourceDocuments(true)
+                .setResourceDeduplication(resourceDeduplication);
+        for (byte[] source : sources) {
+            merger.merge(new PdfDocument(new PdfReader(new ByteArrayInputStream(source))), 1, 1);
+        }
+        merger.close();
+        return baos.toByteArray();
+    }
+
+    private static int countStreams(PdfDocument pdfDoc, PdfName marker) {
+        int count = 0;
+        for (int i = 1; i < pdfDoc.getNumberOfPdfObjects(); i++) {
+            PdfObject object = pdfDoc.getPdfObject(i);
+            if (object instanceof PdfStream && (((PdfStream) object).containsKey(marker)
+                    || marker.equals(((PdfStream) object).getAsName(PdfName.Subtype)))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int countFonts(PdfDocument pdfDoc) {
+        int count = 0;
+        for (int i = 1; i < pdfDoc.getNumberOfPdfObjects(); i++) {
+            PdfObject object = pdfDoc.getPdfObject(i);
+            if (object instanceof PdfDictionary && PdfName.Font.equals(((PdfDictionary) object).getAsName(PdfName.Type))) {
+                count++;
+            }
+        }
+        return count;
+    }
 }
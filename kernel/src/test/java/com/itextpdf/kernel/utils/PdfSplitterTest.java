@@ -59,7 +59,12 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Category(IntegrationTest.class)
 public class PdfSplitterTest extends ExtendedITextTest{
@@ -256,4 +261,136 @@ public class PdfSplitterTest extends ExtendedITextTest{
                                                                  sourceFolder + "cmp/" + "cmp_splitBySize_part" + i + ".pdf", destinationFolder, "diff_"));
         }
     }
+
+    @Test
+    public void splitDocumentBySizeStreamingTest() throws IOException, InterruptedException {
+        String inputFileName = sourceFolder + "splitBySize.pdf";
+        PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(inputFileName));
+        PdfSplitter splitter = new PdfSplitter(inputPdfDoc) {
+
+            int partNumber = 1;
+
+            @Override
+            protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                try {
+                    return new PdfWriter(destinationFolder + "splitBySizeStreaming_part" + String.valueOf(partNumber++) + ".pdf");
+                } catch (FileNotFoundException e) {
+                    throw new RuntimeException();
+                }
+            }
+        };
+
+        final List<PdfDocument> documents = new ArrayList<>();
+        splitter.splitBySize(100000, new PdfSplitter.IDocumentReadyListener() {
+            @Override
+            public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                Assert.assertFalse(pdfDocument.isClosed());
+                documents.add(pdfDocument);
+            }
+        });
+        inputPdfDoc.close();
+
+        Assert.assertEquals(4, documents.size());
+        for (int i = 1; i <= 4; ++i) {
+            Assert.assertTrue(documents.get(i - 1).isClosed());
+            Assert.assertNull(new CompareTool().compareByContent(destinationFolder + "splitBySizeStreaming_part" + i + ".pdf",
+                    sourceFolder + "cmp/" + "cmp_splitBySize_part" + i + ".pdf", destinationFolder, "diff_"));
+        }
+    }
+
+    @Test
+    public void splitDocumentBySizeConcurrentlyTest() throws IOException, InterruptedException {
+        String inputFileName = sourceFolder + "splitBySize.pdf";
+        PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(inputFileName));
+        PdfSplitter splitter = new PdfSplitter(inputPdfDoc) {
+            @Override
+            protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                try {
+                    return new PdfWriter(destinationFolder + "splitBySizeConcurrently_"
+                            + documentPageRange.getQualifyingPageNums(10).get(0) + ".pdf");
+                } catch (FileNotFoundException e) {
+                    throw new RuntimeException();
+                }
+            }
+        };
+
+        final List<PageRange> readyRanges = Collections.synchronizedList(new ArrayList<PageRange>());
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            splitter.splitBySize(100000, new PdfSplitter.IDocumentReadyListener() {
+                @Override
+                public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                    readyRanges.add(pageRange);
+                }
+            }, executorService, 2);
+        } finally {
+            executorService.shutdown();
+        }
+        inputPdfDoc.close();
+
+        Assert.assertEquals(4, readyRanges.size());
+        int[] firstPages = {1, 2, 6, 9};
+        for (int i = 1; i <= 4; ++i) {
+            Assert.assertNull(new CompareTool().compareByContent(
+                    destinationFolder + "splitBySizeConcurrently_" + firstPages[i - 1] + ".pdf",
+                    sourceFolder + "cmp/" + "cmp_splitBySize_part" + i + ".pdf", destinationFolder, "diff_"));
+        }
+    }
+
+    @Test
+    public void extractPageRangesConcurrentlyTest() throws IOException, InterruptedException {
+        String inputFileName = sourceFolder + "splitBySize.pdf";
+        PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(inputFileName));
+        PdfSplitter splitter = new PdfSplitter(inputPdfDoc) {
+            @Override
+            protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                try {
+                    return new PdfWriter(destinationFolder + "extractPageRangesConcurrently_"
+                            + documentPageRange.getQualifyingPageNums(10).get(0) + ".pdf");
+                } catch (FileNotFoundException e) {
+                    throw new RuntimeException();
+                }
+            }
+        };
+
+        List<PageRange> pageRanges = new ArrayList<>();
+        for (int i = 1; i <= 10; i += 2) {
+            pageRanges.add(new PageRange().addPageSequence(i, i + 1));
+        }
+        final Set<PageRange> readyRanges = Collections.synchronizedSet(new HashSet<PageRange>());
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        try {
+            splitter.extractPageRanges(pageRanges, new PdfSplitter.IDocumentReadyListener() {
+                @Override
+                public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                    Assert.assertEquals(2, pdfDocument.getNumberOfPages());
+                    readyRanges.add(pageRange);
+                }
+            }, executorService, 3);
+        } finally {
+            executorService.shutdown();
+        }
+        Assert.assertEquals(new HashSet<>(pageRanges), readyRanges);
+
+        List<PdfDocument> sequentialDocuments = new PdfSplitter(inputPdfDoc) {
+            @Override
+            protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                try {
+                    return new PdfWriter(destinationFolder + "extractPageRangesSequentially_"
+                            + documentPageRange.getQualifyingPageNums(10).get(0) + ".pdf");
+                } catch (FileNotFoundException e) {
+                    throw new RuntimeException();
+                }
+            }
+        }.extractPageRanges(pageRanges);
+        for (PdfDocument doc : sequentialDocuments) {
+            doc.close();
+        }
+        inputPdfDoc.close();
+
+        for (int i = 1; i <= 10; i += 2) {
+            Assert.assertNull(new CompareTool().compareByContent(destinationFolder + "extractPageRangesConcurrently_" + i + ".pdf",
+                    destinationFolder + "extractPageRangesSequentially_" + i + ".pdf", destinationFolder, "diff_"));
+        }
+    }
 }
@@ -57,6 +57,7 @@ import com.itextpdf.layout.property.BorderRadius;
 import com.itextpdf.layout.property.FontKerning;
 import com.itextpdf.layout.property.HorizontalAlignment;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
 import com.itextpdf.layout.property.TextAlignment;
 import com.itextpdf.layout.property.TransparentColor;
 import com.itextpdf.layout.property.Underline;
@@ -64,7 +65,6 @@ import com.itextpdf.layout.property.UnitValue;
 import com.itextpdf.layout.splitting.ISplitCharacters;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -76,11 +76,11 @@ import java.util.Map;
  */
 public abstract class ElementPropertyContainer<T extends IPropertyContainer> implements IPropertyContainer {
 
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new PropertyMap();
 
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        PropertyMap.setProperty(properties, property, value);
     }
 
     @Override
@@ -90,12 +90,12 @@ public abstract class ElementPropertyContainer<T extends IPropertyContainer> imp
 
     @Override
     public boolean hasOwnProperty(int property) {
-        return properties.containsKey(property);
+        return PropertyMap.hasProperty(properties, property);
     }
 
     @Override
     public void deleteOwnProperty(int property) {
-        properties.remove(property);
+        PropertyMap.deleteProperty(properties, property);
     }
 
     @Override
@@ -105,7 +105,7 @@ public abstract class ElementPropertyContainer<T extends IPropertyContainer> imp
 
     @Override
     public <T1> T1 getOwnProperty(int property) {
-        return (T1) properties.<T1>get(property);
+        return (T1) PropertyMap.getProperty(properties, property);
     }
 
     @Override
@@ -59,6 +59,7 @@ import com.itextpdf.layout.property.FontKerning;
 import com.itextpdf.layout.property.HorizontalAlignment;
 import com.itextpdf.layout.property.Leading;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
 import com.itextpdf.layout.property.TextAlignment;
 import com.itextpdf.layout.property.UnitValue;
 import com.itextpdf.layout.property.VerticalAlignment;
@@ -156,7 +157,7 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
 
     @Override
     public boolean hasOwnProperty(int property) {
-        return properties.containsKey(property);
+        return PropertyMap.hasProperty(properties, property);
     }
 
     @Override
@@ -166,7 +167,7 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
 
     @Override
     public <T1> T1 getOwnProperty(int property) {
-        return (T1) properties.<T1>get(property);
+        return (T1) PropertyMap.getProperty(properties, property);
     }
 
     @Override
@@ -208,12 +209,12 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
 
     @Override
     public void deleteOwnProperty(int property) {
-        properties.remove(property);
+        PropertyMap.deleteProperty(properties, property);
     }
 
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        PropertyMap.setProperty(properties, property, value);
     }
 
     /**
@@ -779,18 +779,19 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         int firstRow = lastAddedRowGroups.get(0).startRow;
         int lastRow = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).finishRow;
 
-        List<IElement> toRemove = new ArrayList<>();
+        // The flushed cells are removed in a single pass, so that the cost of flushing is linear in the number of cells
+        List<IElement> notFlushedCells = new ArrayList<>(childElements.size());
         for (IElement cell : childElements) {
-            if (((Cell) cell).getRow() >= firstRow && ((Cell) cell).getRow() <= lastRow) {
-                toRemove.add(cell);
+            if (((Cell) cell).getRow() < firstRow || ((Cell) cell).getRow() > lastRow) {
+                notFlushedCells.add(cell);
             }
         }
-        childElements.removeAll(toRemove);
+        childElements.clear();
+        childElements.addAll(notFlushedCells);
 
-        for (int i = 0; i < lastRow - firstRow; i++) {
-            rows.remove(firstRow - rowWindowStart);
-        }
-        lastAddedRow = rows.remove(firstRow - rowWindowStart);
+        List<Cell[]> flushedRows = rows.subList(firstRow - rowWindowStart, lastRow - rowWindowStart + 1);
+        lastAddedRow = flushedRows.get(flushedRows.size() - 1);
+        flushedRows.clear();
         rowWindowStart = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).getFinishRow() + 1;
 
         lastAddedRowGroups = null;
@@ -61,6 +61,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Main entry point of font selector logic.
@@ -68,6 +69,8 @@ import java.util.Map;
  * FontProvider depends on {@link PdfDocument} due to {@link PdfFont}, so it cannot be reused for different documents
  * unless reset with {@link FontProvider#reset()} or recreated with {@link FontProvider#getFontSet()}.
  * In the former case the {@link FontSelectorCache} is reused and in the latter it's reinitialised.
+ * A {@link FontSelectorCache} can also be shared between font providers of different documents,
+ * see {@link #FontProvider(FontSet, String, FontSelectorCache)}.
  * FontProvider the only end point for creating {@link PdfFont}.
  * <p>
  * It is allowed to use only one {@link FontProvider} per document. If additional fonts per element needed,
@@ -120,9 +123,25 @@ public class FontProvider {
      * @param defaultFontFamily default font family.
      */
     public FontProvider(FontSet fontSet, String defaultFontFamily) {
+        this(fontSet, defaultFontFamily, new FontSelectorCache());
+    }
+
+    /**
+     * Creates a new instance of FontProvider, which caches the {@link FontSelector}s in the given cache.
+     * The cache can be shared between font providers of different documents and threads, so that documents
+     * using the same {@link FontSet} don't sort the same fonts again.
+     *
+     * @param fontSet predefined set of fonts, could be null.
+     * @param defaultFontFamily default font family.
+     * @param fontSelectorCache the cache of font selectors.
+     */
+    public FontProvider(FontSet fontSet, String defaultFontFamily, FontSelectorCache fontSelectorCache) {
+        if (fontSelectorCache == null) {
+            throw new IllegalArgumentException("The font selector cache cannot be null");
+        }
         this.fontSet = fontSet != null ? fontSet : new FontSet();
         pdfFonts = new HashMap<>();
-        fontSelectorCache = new FontSelectorCache(this.fontSet);
+        this.fontSelectorCache = fontSelectorCache;
         this.defaultFontFamily = defaultFontFamily;
     }
 
@@ -263,6 +282,21 @@ public class FontProvider {
      * @return number of added fonts.
      */
     public int addSystemFonts() {
+        return addSystemFonts(null);
+    }
+
+    /**
+     * Add all fonts from system directories to {@link FontSet} cache, reading the font files in parallel.
+     * <p>
+     * To avoid reading the font files on every start, set a persisted
+     * {@link com.itextpdf.io.font.FontProgramDescriptorIndex} with
+     * {@link com.itextpdf.io.font.FontProgramDescriptorFactory#setDescriptorIndex}.
+     *
+     * @param executorService the executor the font files are read with, or null to read them sequentially.
+     * @return number of added fonts.
+     * @see FontSet#addDirectory(String, boolean, ExecutorService)
+     */
+    public int addSystemFonts(ExecutorService executorService) {
         int count = 0;
         String[] withSubDirs = {
                 FileUtil.getFontsDir(),
@@ -273,7 +307,7 @@ public class FontProvider {
                 "/usr/X11R6/lib/X11/fonts"
         };
         for (String directory : withSubDirs) {
-            count += fontSet.addDirectory(directory, true);
+            count += addDirectory(directory, true, executorService);
         }
 
         String[] withoutSubDirs = {
@@ -281,12 +315,18 @@ public class FontProvider {
                 "/System/Library/Fonts"
         };
         for (String directory : withoutSubDirs) {
-            count += fontSet.addDirectory(directory, false);
+            count += addDirectory(directory, false, executorService);
         }
 
         return count;
     }
 
+    private int addDirectory(String directory, boolean scanSubdirectories, ExecutorService executorService) {
+        return executorService != null
+                ? fontSet.addDirectory(directory, scanSubdirectories, executorService)
+                : fontSet.addDirectory(directory, scanSubdirectories);
+    }
+
     /**
      * Add standard fonts to {@link FontSet} cache.
      *
@@ -429,10 +469,10 @@ public class FontProvider {
      */
     public final FontSelector getFontSelector(List<String> fontFamilies, FontCharacteristics fc) {
         FontSelectorKey key = new FontSelectorKey(fontFamilies, fc);
-        FontSelector fontSelector = fontSelectorCache.get(key);
+        FontSelector fontSelector = fontSelectorCache.get(this, key, null);
         if (fontSelector == null) {
             fontSelector = createFontSelector(fontSet.getFonts(), fontFamilies, fc);
-            fontSelectorCache.put(key, fontSelector);
+            fontSelectorCache.put(this, key, null, fontSelector);
         }
         return fontSelector;
     }
@@ -453,10 +493,10 @@ public class FontProvider {
     public final FontSelector getFontSelector(List<String> fontFamilies, FontCharacteristics fc,
                                               FontSet additionalFonts) {
         FontSelectorKey key = new FontSelectorKey(fontFamilies, fc);
-        FontSelector fontSelector = fontSelectorCache.get(key, additionalFonts);
+        FontSelector fontSelector = fontSelectorCache.get(this, key, additionalFonts);
         if (fontSelector == null) {
             fontSelector = createFontSelector(fontSet.getFonts(additionalFonts), fontFamilies, fc);
-            fontSelectorCache.put(key, fontSelector, additionalFonts);
+            fontSelectorCache.put(this, key, additionalFonts, fontSelector);
         }
         return fontSelector;
     }
@@ -42,90 +42,172 @@
  */
 package com.itextpdf.layout.font;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe cache of {@link FontSelector} instances.
+ * <p>
+ * A {@link FontProvider} creates its own cache by default, but a single cache can also be shared between
+ * font providers of different documents and threads, see {@link FontProvider#FontProvider(FontSet, String, FontSelectorCache)}.
+ * The selectors are cached per {@link FontSet} and its additional fonts, the default font family and the class
+ * of the font provider. A cached selector is dropped once the number of fonts in its font sets changes.
+ * Font providers sharing a cache shall create the same selectors for the same fonts,
+ * i.e. they shall not depend on any other state in {@link FontProvider#createFontSelector}.
+ * <p>
+ * The number of cached selectors can be bounded, in which case the least recently used ones are evicted.
+ */
+public class FontSelectorCache {
 
-class FontSelectorCache {
+    private static final int EVICTION_DIVISOR = 4;
 
-    private final FontSetSelectors defaultSelectors;
-    private final FontSet defaultFontSet;
-    private final Map<Long, FontSetSelectors> caches = new HashMap<>();
+    private final Map<CacheKey, CachedSelector> selectors = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final AtomicLong accessClock = new AtomicLong();
 
-    FontSelectorCache(FontSet defaultFontSet) {
-        assert defaultFontSet != null;
-        this.defaultSelectors = new FontSetSelectors();
-        this.defaultSelectors.update(defaultFontSet);
-        this.defaultFontSet = defaultFontSet;
+    /**
+     * Creates a cache which is not bounded.
+     */
+    public FontSelectorCache() {
+        this(0);
     }
 
-    FontSelector get(FontSelectorKey key) {
-        if (update(null, null)) {
-            return null;
-        } else {
-            return defaultSelectors.map.get(key);
+    /**
+     * Creates a cache holding at most the given number of font selectors.
+     *
+     * @param maxSize the maximal number of cached selectors, 0 if the cache is not bounded
+     */
+    public FontSelectorCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The maximal size of the cache cannot be negative");
         }
+        this.maxSize = maxSize;
     }
 
-    FontSelector get(FontSelectorKey key, FontSet additionalFonts) {
-        if (additionalFonts == null) {
-            return get(key);
-        } else {
-            FontSetSelectors selectors = caches.get(additionalFonts.getId());
-            if (selectors == null) {
-                caches.put(additionalFonts.getId(), selectors = new FontSetSelectors());
-            }
-            if (update(selectors, additionalFonts)) {
-                return null;
-            } else {
-                return selectors.map.get(key);
-            }
+    /**
+     * Gets the maximal number of cached selectors.
+     *
+     * @return the maximal number of cached selectors, 0 if the cache is not bounded
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the number of cached selectors.
+     *
+     * @return the number of cached selectors
+     */
+    public int size() {
+        return selectors.size();
+    }
+
+    /**
+     * Removes all the cached selectors.
+     */
+    public void clear() {
+        selectors.clear();
+    }
+
+    FontSelector get(FontProvider provider, FontSelectorKey key, FontSet additionalFonts) {
+        CachedSelector cachedSelector = selectors.get(new CacheKey(provider, key, additionalFonts));
+        if (cachedSelector == null || !cachedSelector.isValid(provider.getFontSet(), additionalFonts)) {
+            return null;
         }
+        cachedSelector.lastAccess = accessClock.incrementAndGet();
+        return cachedSelector.selector;
     }
 
-    void put(FontSelectorKey key, FontSelector fontSelector) {
-        //update defaultSelectors to reset counter before pushing if needed.
-        update(null, null);
-        defaultSelectors.map.put(key, fontSelector);
+    void put(FontProvider provider, FontSelectorKey key, FontSet additionalFonts, FontSelector fontSelector) {
+        selectors.put(new CacheKey(provider, key, additionalFonts),
+                new CachedSelector(fontSelector, provider.getFontSet(), additionalFonts, accessClock.incrementAndGet()));
+        if (maxSize > 0 && selectors.size() > maxSize) {
+            evictLeastRecentlyUsed();
+        }
     }
 
-    void put(FontSelectorKey key, FontSelector fontSelector, FontSet fontSet) {
-        if (fontSet == null) {
-            put(key, fontSelector);
-        } else {
-            FontSetSelectors selectors = caches.get(fontSet.getId());
-            if (selectors == null) {
-                caches.put(fontSet.getId(), selectors = new FontSetSelectors());
+    private synchronized void evictLeastRecentlyUsed() {
+        int size = selectors.size();
+        if (size <= maxSize) {
+            return;
+        }
+        // evict a batch of entries at once, so that the entries are not sorted on every put
+        List<Map.Entry<CacheKey, CachedSelector>> entries = new ArrayList<>(selectors.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<CacheKey, CachedSelector>>() {
+            @Override
+            public int compare(Map.Entry<CacheKey, CachedSelector> o1, Map.Entry<CacheKey, CachedSelector> o2) {
+                return Long.compare(o1.getValue().lastAccess, o2.getValue().lastAccess);
             }
-            //update selectors and defaultSelectors to reset counter before pushing if needed.
-            update(selectors, fontSet);
-            selectors.map.put(key, fontSelector);
+        });
+        int toEvict = Math.min(entries.size(), size - maxSize + maxSize / EVICTION_DIVISOR);
+        for (int i = 0; i < toEvict; i++) {
+            selectors.remove(entries.get(i).getKey());
         }
     }
 
-    private boolean update(FontSetSelectors selectors, FontSet fontSet) {
-        boolean updated = false;
-        if (defaultSelectors.update(defaultFontSet)) {
-            updated = true;
+    private static final class CacheKey {
+        private final long fontSetId;
+        private final long additionalFontSetId;
+        private final String defaultFontFamily;
+        private final Class<?> providerClass;
+        private final FontSelectorKey selectorKey;
+        private final int hash;
+
+        CacheKey(FontProvider provider, FontSelectorKey selectorKey, FontSet additionalFonts) {
+            this.fontSetId = provider.getFontSet().getId();
+            // font set ids start from 1
+            this.additionalFontSetId = additionalFonts != null ? additionalFonts.getId() : 0;
+            this.defaultFontFamily = provider.getDefaultFontFamily();
+            this.providerClass = provider.getClass();
+            this.selectorKey = selectorKey;
+            int result = Long.hashCode(fontSetId);
+            result = 31 * result + Long.hashCode(additionalFontSetId);
+            result = 31 * result + (defaultFontFamily != null ? defaultFontFamily.hashCode() : 0);
+            result = 31 * result + providerClass.hashCode();
+            this.hash = 31 * result + selectorKey.hashCode();
         }
-        if (selectors != null && selectors.update(fontSet)) {
-            updated = true;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CacheKey that = (CacheKey) o;
+            return hash == that.hash
+                    && fontSetId == that.fontSetId
+                    && additionalFontSetId == that.additionalFontSetId
+                    && (defaultFontFamily != null ? defaultFontFamily.equals(that.defaultFontFamily) : that.defaultFontFamily == null)
+                    && providerClass == that.providerClass
+                    && selectorKey.equals(that.selectorKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
         }
-        return updated;
     }
 
-    private static class FontSetSelectors {
-        final Map<FontSelectorKey, FontSelector> map = new HashMap<>();
-        private int fontSetSize = -1;
-
-        boolean update(FontSet fontSet) {
-            assert fontSet != null;
-            if (fontSetSize == fontSet.size()) {
-                return false;
-            } else {
-                map.clear();
-                fontSetSize = fontSet.size();
-                return true;
-            }
+    private static final class CachedSelector {
+        final FontSelector selector;
+        final int fontSetSize;
+        final int additionalFontSetSize;
+        volatile long lastAccess;
+
+        CachedSelector(FontSelector selector, FontSet fontSet, FontSet additionalFonts, long lastAccess) {
+            this.selector = selector;
+            this.fontSetSize = fontSet.size();
+            this.additionalFontSetSize = additionalFonts != null ? additionalFonts.size() : 0;
+            this.lastAccess = lastAccess;
+        }
+
+        boolean isValid(FontSet fontSet, FontSet additionalFonts) {
+            // FontSet doesn't allow to replace fonts, so the selector is valid as long as the sizes are the same
+            return fontSetSize == fontSet.size()
+                    && additionalFontSetSize == (additionalFonts != null ? additionalFonts.size() : 0);
         }
     }
 }
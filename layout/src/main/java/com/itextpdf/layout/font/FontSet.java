@@ -57,6 +57,10 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -100,15 +104,7 @@ public final class FontSet {
             return 0;
         for (String file : files) {
             try {
-                String suffix = file.length() < 4 ? null : file.substring(file.length() - 4).toLowerCase();
-                if (".afm".equals(suffix) || ".pfm".equals(suffix)) {
-                    // Add only Type 1 fonts with matching .pfb files.
-                    String pfb = file.substring(0, file.length() - 4) + ".pfb";
-                    if (FileUtil.fileExists(pfb) && addFont(file)) {
-                        count++;
-                    }
-                } else if ((".ttf".equals(suffix) || ".otf".equals(suffix) || ".ttc".equals(suffix))
-                        && addFont(file)) {
+                if (isFontFile(file) && addFont(file)) {
                     count++;
                 }
             } catch (Exception ignored) {
@@ -117,6 +113,50 @@ public final class FontSet {
         return count;
     }
 
+    /**
+     * Add all the fonts in a directory and possibly its subdirectories, reading the font names in parallel.
+     * <p>
+     * Only the font names and characteristics are read, the font programs themselves are parsed on first use.
+     * The fonts are added in the same order as with {@link #addDirectory(String, boolean)}, so the font selection
+     * doesn't depend on the executor. Note, that filling the font set is still not thread safe,
+     * i.e. this method shall not be called concurrently with other methods modifying this set.
+     *
+     * @param dir                path to directory.
+     * @param scanSubdirectories recursively scan subdirectories if {@code true}.
+     * @param executorService    the executor the font files are read with.
+     * @return number of added fonts.
+     * @see com.itextpdf.io.font.FontProgramDescriptorFactory#setDescriptorIndex
+     */
+    public int addDirectory(String dir, boolean scanSubdirectories, ExecutorService executorService) {
+        String[] files = FileUtil.listFilesInDirectory(dir, scanSubdirectories);
+        if (files == null)
+            return 0;
+        List<Future<FontInfo>> fontInfos = new ArrayList<>(files.length);
+        for (final String file : files) {
+            if (isFontFile(file)) {
+                fontInfos.add(executorService.submit(new Callable<FontInfo>() {
+                    @Override
+                    public FontInfo call() {
+                        return FontInfo.create(file, null, null, null);
+                    }
+                }));
+            }
+        }
+        int count = 0;
+        for (Future<FontInfo> fontInfo : fontInfos) {
+            try {
+                if (addFont(fontInfo.get())) {
+                    count++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException ignored) {
+            }
+        }
+        return count;
+    }
+
     /**
      * Add all the fonts in a directory.
      *
@@ -451,6 +491,16 @@ public final class FontSet {
 
     //region Internal members
 
+    private static boolean isFontFile(String file) {
+        String suffix = file.length() < 4 ? null : file.substring(file.length() - 4).toLowerCase();
+        if (".afm".equals(suffix) || ".pfm".equals(suffix)) {
+            // Add only Type 1 fonts with matching .pfb files.
+            String pfb = file.substring(0, file.length() - 4) + ".pfb";
+            return FileUtil.fileExists(pfb);
+        }
+        return ".ttf".equals(suffix) || ".otf".equals(suffix) || ".ttc".equals(suffix);
+    }
+
     long getId() {
         return id;
     }
@@ -45,4 +45,9 @@ package com.itextpdf.layout.hyphenation;
 public class HyphenationConstants {
 
     public static final String HYPHENATION_DEFAULT_RESOURCE = "com/itextpdf/hyph/";
+
+    /**
+     * The extension of the hyphenation pattern files compiled by {@link HyphenationTreeCompiler}.
+     */
+    public static final String COMPILED_PATTERNS_EXTENSION = ".hyb";
 }
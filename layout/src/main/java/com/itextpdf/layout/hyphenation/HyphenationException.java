@@ -32,4 +32,13 @@ public class HyphenationException extends Exception {
         super(msg);
     }
 
+    /**
+     * Construct a hyphenation exception.
+     * @param msg a message string
+     * @param cause the cause of the exception
+     */
+    public HyphenationException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+
 }
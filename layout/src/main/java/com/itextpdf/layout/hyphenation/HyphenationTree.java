@@ -17,11 +17,16 @@
 
 package com.itextpdf.layout.hyphenation;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -39,6 +44,14 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
 
     private static final long serialVersionUID = -7842107987915665573L;
 
+    /**
+     * The signature and the version of the compiled hyphenation patterns format.
+     */
+    private static final int COMPILED_PATTERNS_MAGIC = 0x48594231;
+
+    private static final byte EXCEPTION_STRING = 0;
+    private static final byte EXCEPTION_HYPHEN = 1;
+
     /**
      * value space: stores the interletter values
      */
@@ -126,6 +139,97 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
         return buf.toString();
     }
 
+    /**
+     * Writes the loaded patterns in the compiled binary format, which can be loaded
+     * by {@link #loadCompiledPatterns(ByteBuffer, String)} without parsing the XML.
+     * @param stream the stream to write to
+     * @throws IOException if writing fails
+     */
+    public void writeCompiledPatterns(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(COMPILED_PATTERNS_MAGIC);
+        writeCompiled(out);
+        classmap.writeCompiled(out);
+        out.writeInt(vspace.length());
+        out.write(vspace.getArray(), 0, vspace.length());
+        out.writeInt(stoplist.size());
+        for (Map.Entry<String, List> exception : stoplist.entrySet()) {
+            writeString(out, exception.getKey());
+            out.writeInt(exception.getValue().size());
+            for (Object item : exception.getValue()) {
+                if (item instanceof Hyphen) {
+                    Hyphen hyphen = (Hyphen) item;
+                    out.writeByte(EXCEPTION_HYPHEN);
+                    writeString(out, hyphen.preBreak);
+                    writeString(out, hyphen.noBreak);
+                    writeString(out, hyphen.postBreak);
+                } else {
+                    out.writeByte(EXCEPTION_STRING);
+                    writeString(out, (String) item);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads hyphenation patterns compiled by {@link #writeCompiledPatterns(OutputStream)}.
+     * The arrays of the tree are copied from the buffer in bulk, so the buffer may be a memory mapped file.
+     * @param buffer the buffer holding the compiled patterns
+     * @param name unique key representing country-language combination
+     * @throws HyphenationException if the buffer does not hold compiled patterns or they are truncated or corrupted
+     */
+    public void loadCompiledPatterns(ByteBuffer buffer, String name) throws HyphenationException {
+        try {
+            if (buffer.getInt() != COMPILED_PATTERNS_MAGIC) {
+                throw new HyphenationException("Unsupported format of compiled hyphenation patterns " + name);
+            }
+            readCompiled(buffer);
+            classmap.readCompiled(buffer);
+            byte[] values = new byte[readLength(buffer, 1)];
+            buffer.get(values);
+            vspace = new ByteVector(values);
+            vspace.alloc(values.length);
+            // each exception takes at least the length of the word and the number of the items
+            int exceptionsCount = readLength(buffer, 8);
+            stoplist = new HashMap<>(Math.max(exceptionsCount * 2, 23));
+            for (int i = 0; i < exceptionsCount; i++) {
+                String word = readString(buffer);
+                // each item takes at least its type and the length of a string
+                int itemsCount = readLength(buffer, 5);
+                List<Object> items = new ArrayList<>(itemsCount);
+                for (int j = 0; j < itemsCount; j++) {
+                    if (buffer.get() == EXCEPTION_HYPHEN) {
+                        items.add(new Hyphen(readString(buffer), readString(buffer), readString(buffer)));
+                    } else {
+                        items.add(readString(buffer));
+                    }
+                }
+                stoplist.put(word, items);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new HyphenationException("Truncated compiled hyphenation patterns " + name, e);
+        } catch (RuntimeException e) {
+            throw new HyphenationException("Corrupted compiled hyphenation patterns " + name, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        if (str == null) {
+            out.writeInt(-1);
+        } else {
+            writeChars(out, str.toCharArray(), str.length());
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        if (buffer.getInt(buffer.position()) == -1) {
+            buffer.getInt();
+            return null;
+        }
+        return new String(readChars(buffer));
+    }
+
     /**
      * Read hyphenation patterns from an XML file.
      * @param filename the filename
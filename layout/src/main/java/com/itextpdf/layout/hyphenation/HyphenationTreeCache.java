@@ -18,20 +18,58 @@
 
 package com.itextpdf.layout.hyphenation;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * This is a cache for HyphenationTree instances.
+ * The cache is thread-safe: it can be shared between threads laying out documents concurrently,
+ * and each hyphenation tree requested through {@link #getHyphenationTree(String, String, Supplier)}
+ * is loaded only once even if several threads request it at the same time.
+ * The number of cached trees can be bounded, in which case the least recently used trees are evicted.
  */
 public class HyphenationTreeCache {
 
     /** Contains the cached hyphenation trees */
-    private Map<String, HyphenationTree> hyphenTrees = new HashMap<>();
+    private final Map<String, CachedTree> hyphenTrees = new ConcurrentHashMap<>();
+    /** Contains the hyphenation trees which are being loaded */
+    private final Map<String, FutureTask<HyphenationTree>> loadingTrees = new ConcurrentHashMap<>();
     /** Used to avoid multiple error messages for the same language if a pattern file is missing. */
-    private Set<String> missingHyphenationTrees;
+    private final Set<String> missingHyphenationTrees = ConcurrentHashMap.newKeySet();
+
+    /** The maximal number of cached trees, 0 if the cache is not bounded */
+    private final int maxSize;
+
+    private final AtomicLong accessClock = new AtomicLong();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong loadCount = new AtomicLong();
+    private final AtomicLong totalLoadTime = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Creates a cache which is not bounded.
+     */
+    public HyphenationTreeCache() {
+        this(0);
+    }
+
+    /**
+     * Creates a cache holding at most the given number of hyphenation trees.
+     * @param maxSize the maximal number of cached trees, 0 if the cache is not bounded
+     */
+    public HyphenationTreeCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The maximal size of the cache cannot be negative");
+        }
+        this.maxSize = maxSize;
+    }
 
     /**
      * Looks in the cache if a hyphenation tree is available and returns it if it is found.
@@ -47,12 +85,77 @@ public class HyphenationTreeCache {
         }
 
         // first try to find it in the cache
-        if (hyphenTrees.containsKey(key)) {
-            return hyphenTrees.get(key);
-        } else if (hyphenTrees.containsKey(lang)) {
-            return hyphenTrees.get(lang);
-        } else {
+        CachedTree cachedTree = hyphenTrees.get(key);
+        if (cachedTree == null) {
+            cachedTree = hyphenTrees.get(lang);
+        }
+        if (cachedTree == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return cachedTree.access();
+    }
+
+    /**
+     * Looks in the cache if a hyphenation tree is available and loads it if it is not.
+     * If several threads request the same missing tree, only one of them calls the loader
+     * and the others wait for its result.
+     * @param lang the language
+     * @param country the country (may be null or "none")
+     * @param loader the loader of the tree, it may return null if the tree is not available
+     * @return the HyhenationTree instance or null if it's neither in the cache nor can be loaded
+     */
+    public HyphenationTree getHyphenationTree(String lang, String country, final Supplier<HyphenationTree> loader) {
+        HyphenationTree hTree = getHyphenationTree(lang, country);
+        if (hTree != null) {
+            return hTree;
+        }
+        final String key = constructLlccKey(lang, country);
+        if (key == null) {
+            return null;
+        }
+
+        FutureTask<HyphenationTree> task = new FutureTask<>(new Callable<HyphenationTree>() {
+            @Override
+            public HyphenationTree call() {
+                // the tree might have been loaded since the cache lookup
+                CachedTree cachedTree = hyphenTrees.get(key);
+                if (cachedTree != null) {
+                    return cachedTree.access();
+                }
+                long start = System.nanoTime();
+                HyphenationTree loadedTree = loader.get();
+                totalLoadTime.addAndGet(System.nanoTime() - start);
+                loadCount.incrementAndGet();
+                if (loadedTree != null) {
+                    cache(key, loadedTree);
+                }
+                return loadedTree;
+            }
+        });
+        FutureTask<HyphenationTree> runningTask = loadingTrees.putIfAbsent(key, task);
+        if (runningTask == null) {
+            runningTask = task;
+            try {
+                task.run();
+            } finally {
+                loadingTrees.remove(key);
+            }
+        }
+        try {
+            return runningTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
         }
     }
 
@@ -91,11 +194,17 @@ public class HyphenationTreeCache {
 
     /**
      * Cache a hyphenation tree under its key.
+     * If the cache is bounded and full, the least recently used tree is evicted.
      * @param key the key (ex. "de_CH" or "en")
      * @param hTree the hyphenation tree
      */
     public void cache(String key, HyphenationTree hTree) {
-        hyphenTrees.put(key, hTree);
+        hyphenTrees.put(key, new CachedTree(hTree));
+        if (maxSize > 0) {
+            while (hyphenTrees.size() > maxSize) {
+                evictLeastRecentlyUsed(key);
+            }
+        }
     }
 
     /**
@@ -105,9 +214,6 @@ public class HyphenationTreeCache {
      * @param key the key (ex. "de_CH" or "en")
      */
     public void noteMissing(String key) {
-        if (missingHyphenationTrees == null) {
-            missingHyphenationTrees = new HashSet<>();
-        }
         missingHyphenationTrees.add(key);
     }
 
@@ -119,6 +225,97 @@ public class HyphenationTreeCache {
      * @return true if the hyphenation tree is unavailable
      */
     public boolean isMissing(String key) {
-        return (missingHyphenationTrees != null && missingHyphenationTrees.contains(key));
+        return missingHyphenationTrees.contains(key);
+    }
+
+    /**
+     * Gets the maximal number of cached trees.
+     * @return the maximal number of cached trees, 0 if the cache is not bounded
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the number of cached trees.
+     * @return the number of cached trees
+     */
+    public int size() {
+        return hyphenTrees.size();
+    }
+
+    /**
+     * Gets the number of lookups which found the tree in the cache.
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of lookups which did not find the tree in the cache.
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the number of times a loader was called to load a missing tree.
+     * @return the number of loads
+     */
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    /**
+     * Gets the total time spent loading the missing trees.
+     * @return the total load time in nanoseconds
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime.get();
+    }
+
+    /**
+     * Gets the number of trees evicted from the bounded cache.
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    private void evictLeastRecentlyUsed(String keptKey) {
+        String eldestKey = null;
+        long eldestAccess = Long.MAX_VALUE;
+        for (Map.Entry<String, CachedTree> entry : hyphenTrees.entrySet()) {
+            long lastAccess = entry.getValue().lastAccess;
+            if (lastAccess < eldestAccess && !entry.getKey().equals(keptKey)) {
+                eldestKey = entry.getKey();
+                eldestAccess = lastAccess;
+            }
+        }
+        if (eldestKey == null) {
+            return;
+        }
+        if (hyphenTrees.remove(eldestKey) != null) {
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    private final class CachedTree {
+        private final HyphenationTree tree;
+        private volatile long lastAccess;
+
+        CachedTree(HyphenationTree tree) {
+            this.tree = tree;
+            this.lastAccess = accessClock.incrementAndGet();
+        }
+
+        HyphenationTree access() {
+            if (maxSize > 0) {
+                lastAccess = accessClock.incrementAndGet();
+            }
+            return tree;
+        }
     }
 }
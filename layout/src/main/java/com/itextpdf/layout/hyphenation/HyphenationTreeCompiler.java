@@ -0,0 +1,133 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.hyphenation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles XML hyphenation patterns into the binary format which {@link Hyphenator} loads
+ * in preference to the XML files, avoiding the parsing and the tree building at runtime.
+ */
+public final class HyphenationTreeCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(HyphenationTreeCompiler.class);
+
+    private static final String XML_EXTENSION = ".xml";
+
+    private HyphenationTreeCompiler() {
+    }
+
+    /**
+     * Compiles the XML hyphenation patterns.
+     *
+     * @param xml the stream with the XML patterns
+     * @param name unique key representing country-language combination
+     * @param out the stream to write the compiled patterns to
+     * @throws HyphenationException if the patterns cannot be parsed
+     * @throws IOException if writing fails
+     */
+    public static void compile(InputStream xml, String name, OutputStream out) throws HyphenationException, IOException {
+        HyphenationTree hTree = new HyphenationTree();
+        hTree.loadPatterns(xml, name);
+        hTree.writeCompiledPatterns(out);
+    }
+
+    /**
+     * Compiles every XML hyphenation pattern file of the source directory into the target directory.
+     *
+     * @param sourceDirectory the directory with the XML patterns
+     * @param targetDirectory the directory to write the compiled patterns to
+     * @return the number of compiled files
+     * @throws HyphenationException if some patterns cannot be parsed
+     * @throws IOException if reading or writing fails
+     */
+    public static int compileDirectory(String sourceDirectory, String targetDirectory) throws HyphenationException, IOException {
+        File[] files = new File(sourceDirectory).listFiles();
+        if (files == null) {
+            throw new IOException("Cannot list the hyphenation patterns directory " + sourceDirectory);
+        }
+        File target = new File(targetDirectory);
+        if (!target.isDirectory() && !target.mkdirs()) {
+            throw new IOException("Cannot create the directory " + targetDirectory);
+        }
+        int compiled = 0;
+        for (File file : files) {
+            String fileName = file.getName();
+            if (!file.isFile() || !fileName.endsWith(XML_EXTENSION)) {
+                continue;
+            }
+            String key = fileName.substring(0, fileName.length() - XML_EXTENSION.length());
+            try (InputStream in = new FileInputStream(file);
+                    OutputStream out = new FileOutputStream(new File(target,
+                            key + HyphenationConstants.COMPILED_PATTERNS_EXTENSION))) {
+                compile(in, key, out);
+            }
+            compiled++;
+        }
+        return compiled;
+    }
+
+    /**
+     * Compiles the XML hyphenation patterns of a directory.
+     * Usage: {@code HyphenationTreeCompiler <source directory> [<target directory>]}.
+     *
+     * @param args the source directory and optionally the target directory, which defaults to the source one
+     * @throws HyphenationException if some patterns cannot be parsed
+     * @throws IOException if reading or writing fails
+     */
+    public static void main(String[] args) throws HyphenationException, IOException {
+        if (args.length < 1 || args.length > 2) {
+            logger.error("Usage: HyphenationTreeCompiler <source directory> [<target directory>]");
+            return;
+        }
+        int compiled = compileDirectory(args[0], args.length == 2 ? args[1] : args[0]);
+        logger.info("Compiled " + compiled + " hyphenation pattern files");
+    }
+}
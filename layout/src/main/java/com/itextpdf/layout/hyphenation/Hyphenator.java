@@ -18,6 +18,7 @@
 package com.itextpdf.layout.hyphenation;
 
 import com.itextpdf.io.util.ResourceUtil;
+import com.itextpdf.io.util.StreamUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,9 +26,14 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 /**
  * This class is the main entry point to the hyphenation package.
@@ -46,9 +52,9 @@ public final class Hyphenator {
      */
     private static Logger log = LoggerFactory.getLogger(Hyphenator.class);
 
-    private static HyphenationTreeCache hTreeCache;
+    private static volatile HyphenationTreeCache hTreeCache;
 
-    private static List<String> additionalHyphenationFileDirectories;
+    private static final List<String> additionalHyphenationFileDirectories = new CopyOnWriteArrayList<>();
 
     protected String lang;
     protected String country;
@@ -91,12 +97,7 @@ public final class Hyphenator {
      * @param directory directory to register
      */
     public static void registerAdditionalHyphenationFileDirectory(String directory) {
-        synchronized (staticLock) {
-            if (additionalHyphenationFileDirectories == null) {
-                additionalHyphenationFileDirectories = new ArrayList<>();
-            }
-            additionalHyphenationFileDirectories.add(directory);
-        }
+        additionalHyphenationFileDirectories.add(directory);
     }
 
     /**
@@ -113,12 +114,28 @@ public final class Hyphenator {
         return hTreeCache;
     }
 
+    /**
+     * Replaces the default hyphenation tree cache, e.g. with a cache bounded in size.
+     * The cache is shared by all the threads using the static methods of this class.
+     *
+     * @param cache the new default hyphenation tree cache
+     */
+    public static void setHyphenationTreeCache(HyphenationTreeCache cache) {
+        if (cache == null) {
+            throw new IllegalArgumentException("The hyphenation tree cache cannot be null");
+        }
+        synchronized (staticLock) {
+            hTreeCache = cache;
+        }
+    }
+
     /**
      * Clears the default hyphenation tree cache. This method can be used if the underlying data files are changed at runtime.
+     * The size bound of the cache is preserved.
      */
     public static void clearHyphenationTreeCache() {
         synchronized (staticLock) {
-            hTreeCache = new HyphenationTreeCache();
+            hTreeCache = new HyphenationTreeCache(hTreeCache == null ? 0 : hTreeCache.getMaxSize());
         }
     }
 
@@ -187,43 +204,40 @@ public final class Hyphenator {
      * @return the hyphenation tree
      */
     public static HyphenationTree getHyphenationTree2(String lang, String country, Map<String, String> hyphPathNames) {
-        String llccKey = HyphenationTreeCache.constructLlccKey(lang, country);
-        HyphenationTreeCache cache = getHyphenationTreeCache();
-
-        HyphenationTree hTree;
-        // first try to find it in the cache
-        hTree = getHyphenationTreeCache().getHyphenationTree(lang, country);
-        if (hTree != null) {
-            return hTree;
-        }
+        String userKey = HyphenationTreeCache.constructUserKey(lang, country, hyphPathNames);
+        final String key = userKey != null ? userKey : HyphenationTreeCache.constructLlccKey(lang, country);
+
+        // find it in the cache or load it and put it into the pattern cache
+        return getHyphenationTreeCache().getHyphenationTree(lang, country, new Supplier<HyphenationTree>() {
+            @Override
+            public HyphenationTree get() {
+                return loadHyphenationTree(key);
+            }
+        });
+    }
 
-        String key = HyphenationTreeCache.constructUserKey(lang, country, hyphPathNames);
-        if (key == null) {
-            key = llccKey;
+    private static HyphenationTree loadHyphenationTree(String key) {
+        HyphenationTree hTree = null;
+        for (String dir : additionalHyphenationFileDirectories) {
+            hTree = getHyphenationTree(dir, key);
+            if (hTree != null) {
+                break;
+            }
         }
 
-        if (additionalHyphenationFileDirectories != null) {
-            for (String dir : additionalHyphenationFileDirectories) {
-                hTree = getHyphenationTree(dir, key);
-                if (hTree != null) {
-                    break;
-                }
-            }
+        if (hTree == null) {
+            // get from the default directory, preferring the compiled patterns
+            hTree = getCompiledHyphenationTree(ResourceUtil.getResourceStream(
+                    HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + HyphenationConstants.COMPILED_PATTERNS_EXTENSION), key);
         }
 
         if (hTree == null) {
-            // get from the default directory
             InputStream defaultHyphenationResourceStream = ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + ".xml");
             if (defaultHyphenationResourceStream != null) {
                 hTree = getHyphenationTree(defaultHyphenationResourceStream, key);
             }
         }
 
-        // put it into the pattern cache
-        if (hTree != null) {
-            cache.cache(llccKey, hTree);
-        }
-
         return hTree;
     }
 
@@ -235,6 +249,23 @@ public final class Hyphenator {
      * @return the requested HyphenationTree or null if it is not available
      */
     public static HyphenationTree getHyphenationTree(String searchDirectory, String key) {
+        // try the compiled patterns first
+        File compiledFile = new File(searchDirectory, key + HyphenationConstants.COMPILED_PATTERNS_EXTENSION);
+        if (compiledFile.isFile()) {
+            try (RandomAccessFile raf = new RandomAccessFile(compiledFile, "r")) {
+                FileChannel channel = raf.getChannel();
+                HyphenationTree hTree = getCompiledHyphenationTree(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()),
+                        compiledFile.getName());
+                if (hTree != null) {
+                    return hTree;
+                }
+            } catch (IOException ioe) {
+                if (log.isDebugEnabled()) {
+                    log.debug("I/O problem while trying to load " + compiledFile.getName() + ": " + ioe.getMessage());
+                }
+            }
+        }
+
         // try the raw XML file
         String name = key + ".xml";
         try {
@@ -248,6 +279,42 @@ public final class Hyphenator {
         }
     }
 
+    /**
+     * Load tree from the patterns compiled by {@link HyphenationTreeCompiler}.
+     *
+     * @param buffer the buffer holding the compiled patterns
+     * @param name unique key representing country-language combination
+     * @return the requested HyphenationTree or null if it is not available
+     */
+    public static HyphenationTree getCompiledHyphenationTree(ByteBuffer buffer, String name) {
+        HyphenationTree hTree = new HyphenationTree();
+        try {
+            hTree.loadCompiledPatterns(buffer, name);
+        } catch (HyphenationException ex) {
+            log.error("Can't load compiled patterns " + name + ": " + ex.getMessage());
+            return null;
+        }
+        return hTree;
+    }
+
+    private static HyphenationTree getCompiledHyphenationTree(InputStream in, String name) {
+        if (in == null) {
+            return null;
+        }
+        try {
+            return getCompiledHyphenationTree(ByteBuffer.wrap(StreamUtil.inputStreamToArray(in)), name);
+        } catch (IOException ioe) {
+            if (log.isDebugEnabled()) {
+                log.debug("I/O problem while trying to load compiled patterns " + name + ": " + ioe.getMessage());
+            }
+            return null;
+        } finally {
+            try {
+                in.close();
+            } catch (Exception ignored) {}
+        }
+    }
+
     /**
      * Load tree from the stream.
      *
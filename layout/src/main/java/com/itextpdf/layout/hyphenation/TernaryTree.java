@@ -21,7 +21,11 @@
 
 package com.itextpdf.layout.hyphenation;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.Enumeration;
 
 /**
@@ -479,6 +483,71 @@ public class TernaryTree implements Serializable {
         sc = na;
     }
 
+    /**
+     * Writes the nodes and the keys of the tree in the compiled hyphenation patterns format.
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    void writeCompiled(DataOutputStream out) throws IOException {
+        out.writeChar(root);
+        out.writeChar(freenode);
+        out.writeInt(length);
+        writeChars(out, lo, lo.length);
+        writeChars(out, hi, hi.length);
+        writeChars(out, eq, eq.length);
+        writeChars(out, sc, sc.length);
+        writeChars(out, kv.getArray(), kv.length());
+    }
+
+    /**
+     * Reads the nodes and the keys of the tree written by {@link #writeCompiled(DataOutputStream)}.
+     * @param buffer the buffer positioned at the start of the tree
+     */
+    void readCompiled(ByteBuffer buffer) {
+        root = buffer.getChar();
+        freenode = buffer.getChar();
+        length = buffer.getInt();
+        lo = readChars(buffer);
+        hi = readChars(buffer);
+        eq = readChars(buffer);
+        sc = readChars(buffer);
+        kv = new CharVector(readChars(buffer));
+        if (hi.length != lo.length || eq.length != lo.length || sc.length != lo.length || freenode > lo.length) {
+            throw new IllegalArgumentException("Inconsistent sizes of the ternary tree arrays");
+        }
+    }
+
+    static void writeChars(DataOutputStream out, char[] chars, int length) throws IOException {
+        out.writeInt(length);
+        for (int i = 0; i < length; i++) {
+            out.writeChar(chars[i]);
+        }
+    }
+
+    static char[] readChars(ByteBuffer buffer) {
+        char[] chars = new char[readLength(buffer, 2)];
+        // bulk copy instead of reading the chars one by one
+        buffer.asCharBuffer().get(chars);
+        buffer.position(buffer.position() + 2 * chars.length);
+        return chars;
+    }
+
+    /**
+     * Reads the length of an array and checks that the buffer holds that many elements,
+     * so that a corrupted length can't cause a huge allocation.
+     * @param buffer the buffer positioned at the length
+     * @param elementSize the minimal number of bytes each element takes in the buffer
+     * @return the length
+     * @throws BufferUnderflowException if the length is negative or the buffer is too short
+     */
+    static int readLength(ByteBuffer buffer, int elementSize) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining() / elementSize) {
+            throw new BufferUnderflowException();
+        }
+        return length;
+    }
+
     /** @return length */
     public int size() {
         return length;
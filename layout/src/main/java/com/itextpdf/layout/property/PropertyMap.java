@@ -0,0 +1,450 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.property;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A compact map of the properties of elements and renderers keyed by the {@link Property} constants.
+ * <p>
+ * The entries are kept in an open addressing table of primitive keys, so looking up a property neither boxes
+ * the key nor walks through hash map nodes. The methods taking int keys should be preferred, the methods
+ * of {@link Map} are provided for compatibility.
+ */
+public class PropertyMap extends AbstractMap<Integer, Object> {
+
+    private static final int MIN_CAPACITY = 8;
+
+    /**
+     * Marks the entries holding {@code null} values.
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    /**
+     * Marks the slots of the removed entries, which are kept until the next rehash not to break the probe chains.
+     */
+    private static final Object REMOVED = new Object();
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int usedSlots;
+    private EntrySet entrySet;
+
+    /**
+     * Creates an empty map. The table is allocated on the first insertion.
+     */
+    public PropertyMap() {
+    }
+
+    /**
+     * Creates a map with the same mappings as the specified map.
+     *
+     * @param properties the properties to copy
+     */
+    public PropertyMap(Map<Integer, Object> properties) {
+        putAll(properties);
+    }
+
+    /**
+     * Gets the value of the property.
+     *
+     * @param key the property key
+     * @return the value or null if there is no such property or it is set to null
+     */
+    public Object getProperty(int key) {
+        int slot = findSlot(key);
+        return slot < 0 ? null : unmask(values[slot]);
+    }
+
+    /**
+     * Checks whether the property is set, possibly to null.
+     *
+     * @param key the property key
+     * @return true if the property is set
+     */
+    public boolean hasProperty(int key) {
+        return findSlot(key) >= 0;
+    }
+
+    /**
+     * Sets the value of the property.
+     *
+     * @param key   the property key
+     * @param value the property value
+     * @return the previous value or null if the property was not set
+     */
+    public Object setProperty(int key, Object value) {
+        Object maskedValue = value == null ? NULL_VALUE : value;
+        int slot = findSlot(key);
+        if (slot >= 0) {
+            Object previous = values[slot];
+            values[slot] = maskedValue;
+            return unmask(previous);
+        }
+        if (keys == null || usedSlots + 1 > keys.length - (keys.length >> 2)) {
+            rehash(size + 1);
+        }
+        int mask = keys.length - 1;
+        slot = hash(key) & mask;
+        while (values[slot] != null && values[slot] != REMOVED) {
+            slot = (slot + 1) & mask;
+        }
+        if (values[slot] == null) {
+            usedSlots++;
+        }
+        keys[slot] = key;
+        values[slot] = maskedValue;
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the property.
+     *
+     * @param key the property key
+     * @return the removed value or null if the property was not set
+     */
+    public Object deleteProperty(int key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        Object previous = values[slot];
+        values[slot] = REMOVED;
+        size--;
+        return unmask(previous);
+    }
+
+    /**
+     * Gets the value of the property from the map without boxing the key if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of the properties
+     * @param key        the property key
+     * @return the value or null if there is no such property or it is set to null
+     */
+    public static Object getProperty(Map<Integer, Object> properties, int key) {
+        return properties instanceof PropertyMap ? ((PropertyMap) properties).getProperty(key) : properties.get(key);
+    }
+
+    /**
+     * Checks whether the property is set in the map without boxing the key if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of the properties
+     * @param key        the property key
+     * @return true if the property is set
+     */
+    public static boolean hasProperty(Map<Integer, Object> properties, int key) {
+        return properties instanceof PropertyMap ? ((PropertyMap) properties).hasProperty(key)
+                : properties.containsKey(key);
+    }
+
+    /**
+     * Sets the property in the map without boxing the key if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of the properties
+     * @param key        the property key
+     * @param value      the property value
+     */
+    public static void setProperty(Map<Integer, Object> properties, int key, Object value) {
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).setProperty(key, value);
+        } else {
+            properties.put(key, value);
+        }
+    }
+
+    /**
+     * Removes the property from the map without boxing the key if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of the properties
+     * @param key        the property key
+     */
+    public static void deleteProperty(Map<Integer, Object> properties, int key) {
+        if (properties instanceof PropertyMap) {
+            ((PropertyMap) properties).deleteProperty(key);
+        } else {
+            properties.remove(key);
+        }
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof Integer ? getProperty((int) (Integer) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && hasProperty((int) (Integer) key);
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        return setProperty((int) key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return key instanceof Integer ? deleteProperty((int) (Integer) key) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Integer, ?> map) {
+        if (map instanceof PropertyMap) {
+            PropertyMap other = (PropertyMap) map;
+            if (other.size == 0) {
+                return;
+            }
+            if (size == 0 && (keys == null || keys.length < other.keys.length)) {
+                keys = other.keys.clone();
+                values = other.values.clone();
+                size = other.size;
+                usedSlots = other.usedSlots;
+                return;
+            }
+            for (int i = 0; i < other.keys.length; i++) {
+                if (other.values[i] != null && other.values[i] != REMOVED) {
+                    setProperty(other.keys[i], unmask(other.values[i]));
+                }
+            }
+        } else {
+            super.putAll(map);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        keys = null;
+        values = null;
+        size = 0;
+        usedSlots = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private int findSlot(int key) {
+        if (keys == null) {
+            return -1;
+        }
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        Object value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == key && value != REMOVED) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void rehash(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (expectedSize > capacity - (capacity >> 2)) {
+            capacity <<= 1;
+        }
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        usedSlots = size;
+        if (oldKeys == null) {
+            return;
+        }
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null && oldValues[i] != REMOVED) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static Object unmask(Object value) {
+        return value == NULL_VALUE ? null : value;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Integer, Object>> {
+        @Override
+        public Iterator<Map.Entry<Integer, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            PropertyMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Integer, Object>> {
+        private final int[] iteratedKeys = keys;
+        private final Object[] iteratedValues = values;
+        private int nextSlot = -1;
+        private int currentSlot = -1;
+
+        EntryIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iteratedKeys != null && nextSlot < iteratedKeys.length;
+        }
+
+        @Override
+        public Map.Entry<Integer, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            currentSlot = nextSlot;
+            advance();
+            return new Entry(iteratedKeys, iteratedValues, currentSlot);
+        }
+
+        @Override
+        public void remove() {
+            if (currentSlot < 0 || iteratedValues[currentSlot] == null || iteratedValues[currentSlot] == REMOVED) {
+                throw new IllegalStateException();
+            }
+            if (iteratedValues != values) {
+                // the table was rehashed after the iterator had been created
+                PropertyMap.this.deleteProperty(iteratedKeys[currentSlot]);
+            } else {
+                iteratedValues[currentSlot] = REMOVED;
+                size--;
+            }
+            currentSlot = -1;
+        }
+
+        private void advance() {
+            if (iteratedKeys == null) {
+                return;
+            }
+            do {
+                nextSlot++;
+            } while (nextSlot < iteratedKeys.length
+                    && (iteratedValues[nextSlot] == null || iteratedValues[nextSlot] == REMOVED));
+        }
+    }
+
+    private static final class Entry implements Map.Entry<Integer, Object> {
+        private final int[] entryKeys;
+        private final Object[] entryValues;
+        private final int slot;
+
+        Entry(int[] entryKeys, Object[] entryValues, int slot) {
+            this.entryKeys = entryKeys;
+            this.entryValues = entryValues;
+            this.slot = slot;
+        }
+
+        @Override
+        public Integer getKey() {
+            return entryKeys[slot];
+        }
+
+        @Override
+        public Object getValue() {
+            return unmask(entryValues[slot]);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object previous = entryValues[slot];
+            entryValues[slot] = value == null ? NULL_VALUE : value;
+            return unmask(previous);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            Object value = getValue();
+            return getKey().equals(other.getKey())
+                    && (value == null ? other.getValue() == null : value.equals(other.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return entryKeys[slot] ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
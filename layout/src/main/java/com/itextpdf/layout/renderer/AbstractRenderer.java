@@ -92,6 +92,7 @@ import com.itextpdf.layout.property.BoxSizingPropertyValue;
 import com.itextpdf.layout.property.HorizontalAlignment;
 import com.itextpdf.layout.property.OverflowPropertyValue;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
 import com.itextpdf.layout.property.Transform;
 import com.itextpdf.layout.property.TransparentColor;
 import com.itextpdf.layout.property.UnitValue;
@@ -100,7 +101,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -156,9 +156,24 @@ public abstract class AbstractRenderer implements IRenderer {
     protected boolean flushed = false;
     protected LayoutArea occupiedArea;
     protected IRenderer parent;
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new PropertyMap();
     protected boolean isLastRendererForModelElement = true;
 
+    /**
+     * The memoized result of {@link #getMinMaxWidth()}, see {@link #getMemoizedMinMaxWidth()}.
+     */
+    private MinMaxWidth memoizedMinMaxWidth;
+    private IRenderer memoizedMinMaxWidthParent;
+    /**
+     * Whether a change of this renderer may affect the memoized result of it or of its ancestors.
+     * Once set, it is set for the whole subtree as well.
+     */
+    private boolean affectsMemoizedMinMaxWidth;
+    /**
+     * Whether this renderer or some of its descendants may have a memoized result.
+     */
+    private boolean hasMemoizedMinMaxWidthInSubtree;
+
     /**
      * Creates a renderer.
      */
@@ -190,6 +205,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void addChild(IRenderer renderer) {
+        invalidateMemoizedMinMaxWidthOnChildAdded(renderer);
         // https://www.webkit.org/blog/116/webcore-rendering-iii-layout-basics
         // "The rules can be summarized as follows:"...
         Integer positioning = renderer.<Integer>getProperty(Property.POSITION);
@@ -275,7 +291,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public boolean hasOwnProperty(int property) {
-        return properties.containsKey(property);
+        return PropertyMap.hasProperty(properties, property);
     }
 
     /**
@@ -294,7 +310,8 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void deleteOwnProperty(int property) {
-        properties.remove(property);
+        PropertyMap.deleteProperty(properties, property);
+        invalidateMemoizedMinMaxWidth(Property.isPropertyInherited(property));
     }
 
     /**
@@ -304,8 +321,8 @@ public abstract class AbstractRenderer implements IRenderer {
      * @param property the property key to be deleted
      */
     public void deleteProperty(int property) {
-        if (properties.containsKey(property)) {
-            properties.remove(property);
+        if (PropertyMap.hasProperty(properties, property)) {
+            PropertyMap.deleteProperty(properties, property);
         } else {
             if (modelElement != null) {
                 modelElement.deleteOwnProperty(property);
@@ -319,7 +336,7 @@ public abstract class AbstractRenderer implements IRenderer {
     @Override
     public <T1> T1 getProperty(int key) {
         Object property;
-        if ((property = properties.get(key)) != null || properties.containsKey(key)) {
+        if ((property = PropertyMap.getProperty(properties, key)) != null || PropertyMap.hasProperty(properties, key)) {
             return (T1) property;
         }
         if (modelElement != null && ((property = modelElement.<T1>getProperty(key)) != null || modelElement.hasProperty(key))) {
@@ -341,7 +358,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public <T1> T1 getOwnProperty(int property) {
-        return (T1) properties.get(property);
+        return (T1) PropertyMap.getProperty(properties, property);
     }
 
     /**
@@ -358,7 +375,8 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        PropertyMap.setProperty(properties, property, value);
+        invalidateMemoizedMinMaxWidth(Property.isPropertyInherited(property));
     }
 
     /**
@@ -1674,6 +1692,7 @@ public abstract class AbstractRenderer implements IRenderer {
 
     protected void addAllProperties(Map<Integer, Object> properties) {
         this.properties.putAll(properties);
+        invalidateMemoizedMinMaxWidth(true);
     }
 
     /**
@@ -2050,6 +2069,109 @@ public abstract class AbstractRenderer implements IRenderer {
         return MinMaxWidthUtils.countDefaultMinMaxWidth(this);
     }
 
+    /**
+     * Gets the memoized result of {@link #getMinMaxWidth()}. The result is dropped as soon as a property of
+     * this renderer, a property of any of its descendants or an inherited property of any of its ancestors
+     * is changed, or a child is added to this renderer or any of its descendants. Renderers, which memoize
+     * their min and max widths, should also drop the result once they are laid out, since layout may change
+     * their state without going through the property setters.
+     *
+     * @return a copy of the memoized {@link MinMaxWidth}, or null if there is no valid memoized result
+     */
+    MinMaxWidth getMemoizedMinMaxWidth() {
+        if (memoizedMinMaxWidth == null || memoizedMinMaxWidthParent != parent) {
+            return null;
+        }
+        return new MinMaxWidth(memoizedMinMaxWidth.getChildrenMinWidth(), memoizedMinMaxWidth.getChildrenMaxWidth(),
+                memoizedMinMaxWidth.getAdditionalWidth());
+    }
+
+    /**
+     * Memoizes the result of {@link #getMinMaxWidth()}, so that it is not recalculated while
+     * neither the renderer nor its subtree are changed.
+     *
+     * @param minMaxWidth the calculated {@link MinMaxWidth}, which may be further modified by the caller
+     */
+    void memoizeMinMaxWidth(MinMaxWidth minMaxWidth) {
+        memoizedMinMaxWidth = new MinMaxWidth(minMaxWidth.getChildrenMinWidth(), minMaxWidth.getChildrenMaxWidth(),
+                minMaxWidth.getAdditionalWidth());
+        memoizedMinMaxWidthParent = parent;
+        markAffectingMemoizedMinMaxWidth(this);
+        markHavingMemoizedMinMaxWidthInSubtree();
+    }
+
+    /**
+     * Drops the memoized result of {@link #getMinMaxWidth()} of this renderer and all of its ancestors.
+     * Only the renderers which a memoized result depends on are visited, so that the renderers
+     * outside of the memoizing ones, e.g. outside of table cells, are changed at no extra cost.
+     *
+     * @param includeDescendants whether the memoized results of the descendants should be dropped as well
+     */
+    void invalidateMemoizedMinMaxWidth(boolean includeDescendants) {
+        IRenderer renderer = this;
+        while (renderer instanceof AbstractRenderer && ((AbstractRenderer) renderer).affectsMemoizedMinMaxWidth) {
+            ((AbstractRenderer) renderer).memoizedMinMaxWidth = null;
+            renderer = renderer.getParent();
+        }
+        if (includeDescendants) {
+            invalidateSubtreeMemoizedMinMaxWidth(this);
+        }
+    }
+
+    /**
+     * Drops the memoized results of {@link #getMinMaxWidth()} the new child affects.
+     * Shall be called whenever a child is added, including the overridden {@link #addChild(IRenderer)}.
+     *
+     * @param child the added child
+     */
+    void invalidateMemoizedMinMaxWidthOnChildAdded(IRenderer child) {
+        if (affectsMemoizedMinMaxWidth) {
+            markAffectingMemoizedMinMaxWidth(child);
+            invalidateMemoizedMinMaxWidth(false);
+        }
+        if (child instanceof AbstractRenderer && ((AbstractRenderer) child).hasMemoizedMinMaxWidthInSubtree) {
+            markHavingMemoizedMinMaxWidthInSubtree();
+        }
+    }
+
+    /**
+     * Gets the renderers which the min and max widths of this renderer are calculated from.
+     * Renderers which keep their children outside of {@link #childRenderers} before layout should
+     * override this method and return these children as well.
+     *
+     * @return the renderers the min and max widths depend on
+     */
+    List<IRenderer> getMinMaxWidthDependencies() {
+        return childRenderers;
+    }
+
+    private void markHavingMemoizedMinMaxWidthInSubtree() {
+        IRenderer renderer = this;
+        while (renderer instanceof AbstractRenderer && !((AbstractRenderer) renderer).hasMemoizedMinMaxWidthInSubtree) {
+            ((AbstractRenderer) renderer).hasMemoizedMinMaxWidthInSubtree = true;
+            renderer = renderer.getParent();
+        }
+    }
+
+    private static void markAffectingMemoizedMinMaxWidth(IRenderer renderer) {
+        if (renderer instanceof AbstractRenderer && !((AbstractRenderer) renderer).affectsMemoizedMinMaxWidth) {
+            ((AbstractRenderer) renderer).affectsMemoizedMinMaxWidth = true;
+            for (IRenderer dependency : ((AbstractRenderer) renderer).getMinMaxWidthDependencies()) {
+                markAffectingMemoizedMinMaxWidth(dependency);
+            }
+        }
+    }
+
+    private static void invalidateSubtreeMemoizedMinMaxWidth(IRenderer renderer) {
+        if (renderer instanceof AbstractRenderer && ((AbstractRenderer) renderer).hasMemoizedMinMaxWidthInSubtree) {
+            ((AbstractRenderer) renderer).memoizedMinMaxWidth = null;
+            ((AbstractRenderer) renderer).hasMemoizedMinMaxWidthInSubtree = false;
+            for (IRenderer dependency : ((AbstractRenderer) renderer).getMinMaxWidthDependencies()) {
+                invalidateSubtreeMemoizedMinMaxWidth(dependency);
+            }
+        }
+    }
+
     protected boolean setMinMaxWidthBasedOnFixedWidth(MinMaxWidth minMaxWidth) {
         // retrieve returns max width, if there is no width.
         if (hasAbsoluteUnitValue(Property.WIDTH)) {
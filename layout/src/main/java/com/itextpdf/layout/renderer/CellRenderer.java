@@ -52,6 +52,9 @@ import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.layout.IPropertyContainer;
 import com.itextpdf.layout.borders.Border;
 import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+import com.itextpdf.layout.minmaxwidth.MinMaxWidth;
 import com.itextpdf.layout.property.BorderCollapsePropertyValue;
 import com.itextpdf.layout.property.Property;
 import com.itextpdf.layout.property.UnitValue;
@@ -82,6 +85,33 @@ public class CellRenderer extends BlockRenderer {
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The result is memoized, since the table calculates the widths of its cells at least twice:
+     * when its own min and max widths are requested and when it is laid out.
+     */
+    @Override
+    public MinMaxWidth getMinMaxWidth() {
+        MinMaxWidth minMaxWidth = getMemoizedMinMaxWidth();
+        if (minMaxWidth == null) {
+            minMaxWidth = super.getMinMaxWidth();
+            memoizeMinMaxWidth(minMaxWidth);
+        }
+        return minMaxWidth;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LayoutResult layout(LayoutContext layoutContext) {
+        LayoutResult result = super.layout(layoutContext);
+        // layout may change the state of the subtree without going through the property setters
+        invalidateMemoizedMinMaxWidth(false);
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
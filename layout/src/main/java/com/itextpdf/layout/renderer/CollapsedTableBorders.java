@@ -98,9 +98,8 @@ class CollapsedTableBorders extends TableBorders {
             }
         }
         // process right border
-        borderList = getVerticalBorder(col + colspan);
         for (int i = startRow - largeTableIndexOffset + row - rowspan + 1; i < startRow - largeTableIndexOffset + row + 1; i++) {
-            border = borderList.get(i);
+            border = getVerticalBorder(col + colspan, i);
             if (null != border && border.getWidth() > indents[1]) {
                 indents[1] = border.getWidth();
             }
@@ -114,9 +113,8 @@ class CollapsedTableBorders extends TableBorders {
             }
         }
         // process left border
-        borderList = getVerticalBorder(col);
         for (int i = startRow - largeTableIndexOffset + row - rowspan + 1; i < startRow - largeTableIndexOffset + row + 1; i++) {
-            border = borderList.get(i);
+            border = getVerticalBorder(col, i);
             if (null != border && border.getWidth() > indents[3]) {
                 indents[3] = border.getWidth();
             }
@@ -137,6 +135,24 @@ class CollapsedTableBorders extends TableBorders {
     }
 
 
+    /**
+     * Gets the collapsed vertical border at the given row. Unlike {@link #getVerticalBorder(int)}, it
+     * doesn't build the whole collapsed border list, so the cost doesn't depend on the number of rows.
+     *
+     * @param index the index of the vertical border
+     * @param row the row index, counted from the start of the border lists
+     * @return the collapsed border
+     */
+    private Border getVerticalBorder(int index, int row) {
+        if (index == 0) {
+            return getCollapsedBorder(verticalBorders.get(0).get(row), tableBoundingBorders[3]);
+        } else if (index == numberOfColumns) {
+            return getCollapsedBorder(verticalBorders.get(verticalBorders.size() - 1).get(row), tableBoundingBorders[1]);
+        } else {
+            return verticalBorders.get(index).get(row);
+        }
+    }
+
     public List<Border> getHorizontalBorder(int index) {
         if (index == startRow) {
             List<Border> firstBorderOnCurrentPage = TableBorderUtil.createAndFillBorderList(topBorderCollapseWith, tableBoundingBorders[0], numberOfColumns);
@@ -249,7 +265,10 @@ class CollapsedTableBorders extends TableBorders {
             // process only valid cells which hasn't been processed yet
             if (j >= 0 && nextCellRow != rows.size() && nextCellRow > row) {
                 CellRenderer nextCell = rows.get(nextCellRow)[j];
-                nextCell.setProperty(Property.ROWSPAN, ((int) nextCell.getPropertyAsInteger(Property.ROWSPAN)) - rowspansToDeduct[j]);
+                // don't set the unchanged rowspan, which would drop the memoized min and max widths
+                if (rowspansToDeduct[j] != 0) {
+                    nextCell.setProperty(Property.ROWSPAN, ((int) nextCell.getPropertyAsInteger(Property.ROWSPAN)) - rowspansToDeduct[j]);
+                }
                 int nextCellColspan = (int) nextCell.getPropertyAsInteger(Property.COLSPAN);
                 for (int i = j; i < j + nextCellColspan; i++) {
                     rowspansToDeduct[i] = 0;
@@ -284,7 +303,9 @@ class CollapsedTableBorders extends TableBorders {
             }
             if (nextCellRow != rows.size()) {
                 CellRenderer nextCell = rows.get(nextCellRow)[col + currCellColspan];
-                nextCell.setProperty(Property.ROWSPAN, ((int) nextCell.getPropertyAsInteger(Property.ROWSPAN)) - rowspansToDeduct[col + currCellColspan]);
+                if (rowspansToDeduct[col + currCellColspan] != 0) {
+                    nextCell.setProperty(Property.ROWSPAN, ((int) nextCell.getPropertyAsInteger(Property.ROWSPAN)) - rowspansToDeduct[col + currCellColspan]);
+                }
                 int nextCellColspan = (int) nextCell.getPropertyAsInteger(Property.COLSPAN);
                 for (int i = col + currCellColspan; i < col + currCellColspan + nextCellColspan; i++) {
                     rowspansToDeduct[i] = 0;
@@ -377,12 +398,12 @@ class CollapsedTableBorders extends TableBorders {
         float x1 = startX;
         float x2 = x1 + countedColumnWidth[0];
         if (i == 0) {
-            Border firstBorder = getFirstVerticalBorder().get(startRow - largeTableIndexOffset);
+            Border firstBorder = getVerticalBorder(0, startRow - largeTableIndexOffset);
             if (firstBorder != null) {
                 x1 -= firstBorder.getWidth() / 2;
             }
         } else if (i == finishRow - startRow + 1) {
-            Border firstBorder = getFirstVerticalBorder().get(startRow - largeTableIndexOffset + finishRow - startRow + 1 - 1);
+            Border firstBorder = getVerticalBorder(0, startRow - largeTableIndexOffset + finishRow - startRow + 1 - 1);
             if (firstBorder != null) {
                 x1 -= firstBorder.getWidth() / 2;
             }
@@ -409,10 +430,10 @@ class CollapsedTableBorders extends TableBorders {
         Border lastBorder = borders.size() > j - 1 ? borders.get(j - 1) : null;
         if (lastBorder != null) {
             if (i == 0) {
-                if (getVerticalBorder(j).get(startRow - largeTableIndexOffset + i) != null)
-                    x2 += getVerticalBorder(j).get(startRow - largeTableIndexOffset + i).getWidth() / 2;
-            } else if (i == finishRow - startRow + 1 && getVerticalBorder(j).size() > startRow - largeTableIndexOffset + i - 1 && getVerticalBorder(j).get(startRow - largeTableIndexOffset + i - 1) != null) {
-                x2 += getVerticalBorder(j).get(startRow - largeTableIndexOffset + i - 1).getWidth() / 2;
+                if (getVerticalBorder(j, startRow - largeTableIndexOffset + i) != null)
+                    x2 += getVerticalBorder(j, startRow - largeTableIndexOffset + i).getWidth() / 2;
+            } else if (i == finishRow - startRow + 1 && verticalBorders.get(j).size() > startRow - largeTableIndexOffset + i - 1 && getVerticalBorder(j, startRow - largeTableIndexOffset + i - 1) != null) {
+                x2 += getVerticalBorder(j, startRow - largeTableIndexOffset + i - 1).getWidth() / 2;
             }
 
             lastBorder.drawCellBorder(canvas, x1, y1, x2, y1, Border.Side.NONE);
@@ -421,7 +442,6 @@ class CollapsedTableBorders extends TableBorders {
     }
 
     protected TableBorders drawVerticalBorder(int i, float startY, float x1, PdfCanvas canvas, List<Float> heights) {
-        List<Border> borders = getVerticalBorder(i);
         float y1 = startY;
         float y2 = y1;
         if (!heights.isEmpty()) {
@@ -429,8 +449,8 @@ class CollapsedTableBorders extends TableBorders {
         }
         int j;
         for (j = 1; j < heights.size(); j++) {
-            Border prevBorder = borders.get(startRow - largeTableIndexOffset + j - 1);
-            Border curBorder = borders.get(startRow - largeTableIndexOffset + j);
+            Border prevBorder = getVerticalBorder(i, startRow - largeTableIndexOffset + j - 1);
+            Border curBorder = getVerticalBorder(i, startRow - largeTableIndexOffset + j);
             if (prevBorder != null) {
                 if (!prevBorder.equals(curBorder)) {
                     prevBorder.drawCellBorder(canvas, x1, y1, x1, y2, Border.Side.NONE);
@@ -444,10 +464,10 @@ class CollapsedTableBorders extends TableBorders {
                 y2 -= (float) heights.get(j);
             }
         }
-        if (borders.size() == 0) {
+        if (verticalBorders.get(i).size() == 0) {
             return this;
         }
-        Border lastBorder = borders.get(startRow - largeTableIndexOffset + j - 1);
+        Border lastBorder = getVerticalBorder(i, startRow - largeTableIndexOffset + j - 1);
         if (lastBorder != null) {
             lastBorder.drawCellBorder(canvas, x1, y1, x1, y2, Border.Side.NONE);
         }
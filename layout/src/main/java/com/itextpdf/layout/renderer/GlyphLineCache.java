@@ -0,0 +1,270 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.kernel.font.PdfFont;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of the glyph lines a font produces for short texts, so that the texts repeated over and over,
+ * e.g. in table cells, are not mapped to glyphs and shaped again. There is one cache per {@link PdfFont}, which is
+ * kept in {@link PdfFont#getGlyphDataCache()}, so it is dropped together with the font or when glyphs are added to it.
+ * <p>
+ * The cached glyph lines are never handed out, only their copies are, because the renderers modify
+ * their glyph lines.
+ */
+final class GlyphLineCache {
+
+    /**
+     * The maximal number of glyph lines cached per font.
+     */
+    static final int MAX_ENTRIES = 512;
+
+    /**
+     * The maximal length of the cached texts, longer texts are hardly ever repeated.
+     */
+    static final int MAX_TEXT_LENGTH = 64;
+
+    private static final int EVICTION_DIVISOR = 4;
+
+    private final BoundedMap<String, GlyphLine> glyphLines = new BoundedMap<>();
+    private final BoundedMap<ShapingKey, ShapedGlyphLine> shapedGlyphLines = new BoundedMap<>();
+
+    private GlyphLineCache() {
+    }
+
+    /**
+     * Converts the text to the glyph line with the font, replacing the special whitespaces.
+     *
+     * @param font the font
+     * @param text the text
+     * @return the new glyph line
+     */
+    static GlyphLine createGlyphLine(PdfFont font, String text) {
+        if (text.length() > MAX_TEXT_LENGTH) {
+            return TextPreprocessingUtil.replaceSpecialWhitespaceGlyphs(font.createGlyphLine(text), font);
+        }
+        GlyphLineCache cache = getCache(font);
+        GlyphLine glyphLine = cache.glyphLines.get(text);
+        if (glyphLine == null) {
+            glyphLine = TextPreprocessingUtil.replaceSpecialWhitespaceGlyphs(font.createGlyphLine(text), font);
+            cache.glyphLines.put(text, copyOf(glyphLine));
+            return glyphLine;
+        }
+        return copyOf(glyphLine);
+    }
+
+    /**
+     * Creates the key of the shaping of the whole glyph line, or null if the glyph line shall not be cached.
+     *
+     * @param text the glyph line to be shaped
+     * @param script the script the glyph line is shaped for, or null if it is autodetected
+     * @param typographyConfig the configuration of the shaping
+     * @param kerning whether the kerning is applied
+     * @return the key of the shaping or null
+     */
+    static ShapingKey createShapingKey(GlyphLine text, Character.UnicodeScript script, Object typographyConfig,
+            boolean kerning) {
+        if (text.start != 0 || text.end != text.size() || text.size() > MAX_TEXT_LENGTH) {
+            return null;
+        }
+        int[] glyphs = new int[text.size() * 3];
+        for (int i = 0; i < text.size(); i++) {
+            Glyph glyph = text.get(i);
+            glyphs[3 * i] = glyph.getCode();
+            glyphs[3 * i + 1] = glyph.getUnicode();
+            glyphs[3 * i + 2] = glyph.getXAdvance();
+        }
+        return new ShapingKey(glyphs, script, typographyConfig, kerning);
+    }
+
+    /**
+     * Gets a copy of the shaped glyph line.
+     *
+     * @param font the font the glyph line is shaped with
+     * @param key the key of the shaping
+     * @return the cached shaping result, or null if it is not cached
+     */
+    static ShapedGlyphLine getShapedGlyphLine(PdfFont font, ShapingKey key) {
+        ShapedGlyphLine shaped = getCache(font).shapedGlyphLines.get(key);
+        return shaped != null ? new ShapedGlyphLine(copyOf(shaped.glyphLine), shaped.rightToLeftScript) : null;
+    }
+
+    /**
+     * Caches the result of the shaping of the whole glyph line.
+     *
+     * @param font the font the glyph line is shaped with
+     * @param key the key of the shaping
+     * @param shapedText the shaped glyph line
+     * @param rightToLeftScript whether the glyph line contains a right-to-left script
+     */
+    static void putShapedGlyphLine(PdfFont font, ShapingKey key, GlyphLine shapedText, boolean rightToLeftScript) {
+        getCache(font).shapedGlyphLines.put(key, new ShapedGlyphLine(copyOf(shapedText), rightToLeftScript));
+    }
+
+    private static GlyphLineCache getCache(PdfFont font) {
+        ConcurrentMap<Object, Object> glyphDataCache = font.getGlyphDataCache();
+        GlyphLineCache cache = (GlyphLineCache) glyphDataCache.get(GlyphLineCache.class);
+        if (cache == null) {
+            GlyphLineCache newCache = new GlyphLineCache();
+            cache = (GlyphLineCache) glyphDataCache.putIfAbsent(GlyphLineCache.class, newCache);
+            if (cache == null) {
+                cache = newCache;
+            }
+        }
+        return cache;
+    }
+
+    private static GlyphLine copyOf(GlyphLine glyphLine) {
+        GlyphLine copy = glyphLine.copy(glyphLine.start, glyphLine.end);
+        copy.idx = glyphLine.idx - glyphLine.start;
+        return copy;
+    }
+
+    static final class ShapedGlyphLine {
+        final GlyphLine glyphLine;
+        final boolean rightToLeftScript;
+
+        ShapedGlyphLine(GlyphLine glyphLine, boolean rightToLeftScript) {
+            this.glyphLine = glyphLine;
+            this.rightToLeftScript = rightToLeftScript;
+        }
+    }
+
+    static final class ShapingKey {
+        private final int[] glyphs;
+        private final Character.UnicodeScript script;
+        private final Object typographyConfig;
+        private final boolean kerning;
+        private final int hash;
+
+        ShapingKey(int[] glyphs, Character.UnicodeScript script, Object typographyConfig, boolean kerning) {
+            this.glyphs = glyphs;
+            this.script = script;
+            this.typographyConfig = typographyConfig;
+            this.kerning = kerning;
+            int result = Arrays.hashCode(glyphs);
+            result = 31 * result + (script != null ? script.hashCode() : 0);
+            result = 31 * result + (typographyConfig != null ? typographyConfig.hashCode() : 0);
+            this.hash = 31 * result + (kerning ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ShapingKey that = (ShapingKey) o;
+            return hash == that.hash
+                    && kerning == that.kerning
+                    && script == that.script
+                    && (typographyConfig != null ? typographyConfig.equals(that.typographyConfig) : that.typographyConfig == null)
+                    && Arrays.equals(glyphs, that.glyphs);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class BoundedMap<K, V> {
+        private final Map<K, CachedValue<V>> values = new ConcurrentHashMap<>();
+        private final AtomicLong accessClock = new AtomicLong();
+
+        V get(K key) {
+            CachedValue<V> cachedValue = values.get(key);
+            if (cachedValue == null) {
+                return null;
+            }
+            cachedValue.lastAccess = accessClock.incrementAndGet();
+            return cachedValue.value;
+        }
+
+        void put(K key, V value) {
+            values.put(key, new CachedValue<>(value, accessClock.incrementAndGet()));
+            if (values.size() > MAX_ENTRIES) {
+                evictLeastRecentlyUsed();
+            }
+        }
+
+        private synchronized void evictLeastRecentlyUsed() {
+            int size = values.size();
+            if (size <= MAX_ENTRIES) {
+                return;
+            }
+            // evict a batch of entries at once, so that the entries are not sorted on every put
+            List<Map.Entry<K, CachedValue<V>>> entries = new ArrayList<>(values.entrySet());
+            Collections.sort(entries, new Comparator<Map.Entry<K, CachedValue<V>>>() {
+                @Override
+                public int compare(Map.Entry<K, CachedValue<V>> o1, Map.Entry<K, CachedValue<V>> o2) {
+                    return Long.compare(o1.getValue().lastAccess, o2.getValue().lastAccess);
+                }
+            });
+            int toEvict = Math.min(entries.size(), size - MAX_ENTRIES + MAX_ENTRIES / EVICTION_DIVISOR);
+            for (int i = 0; i < toEvict; i++) {
+                values.remove(entries.get(i).getKey());
+            }
+        }
+    }
+
+    private static final class CachedValue<V> {
+        final V value;
+        volatile long lastAccess;
+
+        CachedValue(V value, long lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -134,6 +134,7 @@ public class TableRenderer extends AbstractRenderer {
             // In in this case it will be easier handle row heights in case rowspan.
             Cell cell = (Cell) renderer.getModelElement();
             rows.get(cell.getRow() - rowRange.getStartRow() + cell.getRowspan() - 1)[cell.getCol()] = (CellRenderer) renderer;
+            invalidateMemoizedMinMaxWidthOnChildAdded(renderer);
         } else {
             Logger logger = LoggerFactory.getLogger(TableRenderer.class);
             logger.error("Only CellRenderer could be added");
@@ -1339,6 +1340,31 @@ public class TableRenderer extends AbstractRenderer {
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Before layout the cells are kept in {@link #rows} rather than in {@link #childRenderers},
+     * and the header and footer are not children at all, so they are returned as well.
+     */
+    @Override
+    List<IRenderer> getMinMaxWidthDependencies() {
+        List<IRenderer> dependencies = new ArrayList<>(childRenderers);
+        for (CellRenderer[] row : rows) {
+            for (CellRenderer cell : row) {
+                if (cell != null) {
+                    dependencies.add(cell);
+                }
+            }
+        }
+        if (headerRenderer != null) {
+            dependencies.add(headerRenderer);
+        }
+        if (footerRenderer != null) {
+            dependencies.add(footerRenderer);
+        }
+        return dependencies;
+    }
+
     private void initializeTableLayoutBorders() {
         boolean isSeparated = BorderCollapsePropertyValue.SEPARATE.equals(this.<BorderCollapsePropertyValue>getProperty(Property.BORDER_COLLAPSE));
         bordersHandler = isSeparated
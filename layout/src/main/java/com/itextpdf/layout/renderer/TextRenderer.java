@@ -746,8 +746,25 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
         updateFontAndText();
         Character.UnicodeScript script = this.<Character.UnicodeScript>getProperty(Property.FONT_SCRIPT);
         if (!otfFeaturesApplied && TypographyUtils.isPdfCalligraphAvailable() && text.start < text.end) {
+            FontKerning fontKerning = (FontKerning) this.<FontKerning>getProperty(Property.FONT_KERNING, FontKerning.NO);
+            Object typographyConfig = this.<Object>getProperty(Property.TYPOGRAPHY_CONFIG);
+            // Short texts are often repeated, e.g. in table cells, so the shaping of the whole glyph line is cached
+            GlyphLineCache.ShapingKey shapingKey = hasOtfFont()
+                    ? GlyphLineCache.createShapingKey(text, script, typographyConfig, fontKerning == FontKerning.YES)
+                    : null;
+            GlyphLineCache.ShapedGlyphLine shapedText = shapingKey != null
+                    ? GlyphLineCache.getShapedGlyphLine(font, shapingKey)
+                    : null;
+            if (shapedText != null) {
+                text = shapedText.glyphLine;
+                if (shapedText.rightToLeftScript && parent instanceof LineRenderer) {
+                    setProperty(Property.BASE_DIRECTION, BaseDirection.DEFAULT_BIDI);
+                }
+                otfFeaturesApplied = true;
+                return;
+            }
+            boolean rightToLeftScript = false;
             if (hasOtfFont()) {
-                Object typographyConfig = this.<Object>getProperty(Property.TYPOGRAPHY_CONFIG);
                 Collection<Character.UnicodeScript> supportedScripts = null;
         	    if (typographyConfig != null) {
     	            supportedScripts = TypographyUtils.getSupportedScripts(typographyConfig);
@@ -795,7 +812,10 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                     text.start = shapingRangeStart;
                     text.end = scriptsRange.rangeEnd;
 
-                    if ((scriptsRange.script == Character.UnicodeScript.ARABIC || scriptsRange.script == Character.UnicodeScript.HEBREW) && parent instanceof LineRenderer) {
+                    if (scriptsRange.script == Character.UnicodeScript.ARABIC || scriptsRange.script == Character.UnicodeScript.HEBREW) {
+                        rightToLeftScript = true;
+                    }
+                    if (rightToLeftScript && parent instanceof LineRenderer) {
                         // It's safe to set here BASE_DIRECTION to TextRenderer without additional checks, because
                         // by convention this property makes sense only if it's applied to LineRenderer or it's
                         // parents (Paragraph or above).
@@ -812,10 +832,12 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                 text.end = origTextEnd + delta;
             }
 
-            FontKerning fontKerning = (FontKerning) this.<FontKerning>getProperty(Property.FONT_KERNING, FontKerning.NO);
             if (fontKerning == FontKerning.YES) {
                 TypographyUtils.applyKerning(font.getFontProgram(), text);
             }
+            if (shapingKey != null) {
+                GlyphLineCache.putShapedGlyphLine(font, shapingKey, text, rightToLeftScript);
+            }
 
             otfFeaturesApplied = true;
         }
@@ -1743,8 +1765,7 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                     logger.error(LogMessageConstant.FONT_PROPERTY_MUST_BE_PDF_FONT_OBJECT);
                 }
             }
-            GlyphLine newText = newFont.createGlyphLine(strToBeConverted);
-            newText = TextPreprocessingUtil.replaceSpecialWhitespaceGlyphs(newText, newFont);
+            GlyphLine newText = GlyphLineCache.createGlyphLine(newFont, strToBeConverted);
             setProcessedGlyphLineAndFont(newText, newFont);
         }
     }
@@ -74,6 +74,7 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 @Category(IntegrationTest.class)
@@ -119,6 +120,30 @@ public class LargeElementTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
     }
 
+    @Test
+    public void largeTableFlushReleasesFlushedCellsTest() {
+        Document doc = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())));
+        Table table = new Table(UnitValue.createPercentArray(5), true);
+        doc.add(table);
+        for (int i = 0; i < 1000; i++) {
+            table.addCell(new Cell().add(new Paragraph(MessageFormatUtil.format("Cell {0}", i + 1))));
+        }
+        table.addCell(new Cell().add(new Paragraph("Not flushed 1")));
+        table.addCell(new Cell().add(new Paragraph("Not flushed 2")));
+        table.flush();
+
+        Assert.assertEquals(2, table.getChildren().size());
+        Assert.assertEquals(5, table.getLastRowBottomBorder().size());
+        Assert.assertNotNull(table.getCell(200, 1));
+
+        for (int i = 0; i < 3; i++) {
+            table.addCell(new Cell().add(new Paragraph("Last row")));
+        }
+        table.complete();
+        Assert.assertTrue(table.getChildren().isEmpty());
+        doc.close();
+    }
+
     @Test
     public void largeTableTest02() throws IOException, InterruptedException {
         String testName = "largeTableTest02.pdf";
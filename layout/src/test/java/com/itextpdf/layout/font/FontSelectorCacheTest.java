@@ -0,0 +1,128 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.font;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Collections;
+import java.util.List;
+
+@Category(UnitTest.class)
+public class FontSelectorCacheTest extends ExtendedITextTest {
+
+    private static final List<String> FAMILIES = Collections.singletonList("times");
+
+    @Test
+    public void sharedCacheReusesSelectorsTest() {
+        FontSet fontSet = createFontSet();
+        FontSelectorCache cache = new FontSelectorCache();
+        FontCharacteristics fc = new FontCharacteristics();
+
+        FontSelector selector = new FontProvider(fontSet, "Helvetica", cache).getFontSelector(FAMILIES, fc);
+        Assert.assertSame(selector, new FontProvider(fontSet, "Helvetica", cache).getFontSelector(FAMILIES, fc));
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void selectorsDependOnProviderConfigurationTest() {
+        FontSet fontSet = createFontSet();
+        FontSelectorCache cache = new FontSelectorCache();
+        FontCharacteristics fc = new FontCharacteristics();
+
+        FontSelector selector = new FontProvider(fontSet, "Helvetica", cache).getFontSelector(FAMILIES, fc);
+        Assert.assertNotSame(selector, new FontProvider(fontSet, "Courier", cache).getFontSelector(FAMILIES, fc));
+        Assert.assertNotSame(selector, new FontProvider(createFontSet(), "Helvetica", cache).getFontSelector(FAMILIES, fc));
+        FontSet additionalFonts = new FontSet();
+        additionalFonts.addFont(StandardFonts.SYMBOL);
+        Assert.assertNotSame(selector, new FontProvider(fontSet, "Helvetica", cache)
+                .getFontSelector(FAMILIES, fc, additionalFonts));
+        Assert.assertEquals(4, cache.size());
+    }
+
+    @Test
+    public void selectorIsDroppedWhenFontIsAddedTest() {
+        FontSet fontSet = createFontSet();
+        FontSelectorCache cache = new FontSelectorCache();
+        FontCharacteristics fc = new FontCharacteristics();
+        FontProvider provider = new FontProvider(fontSet, "Helvetica", cache);
+
+        FontSelector selector = provider.getFontSelector(FAMILIES, fc);
+        fontSet.addFont(StandardFonts.ZAPFDINGBATS);
+        FontSelector updatedSelector = provider.getFontSelector(FAMILIES, fc);
+        Assert.assertNotSame(selector, updatedSelector);
+        Assert.assertSame(updatedSelector, provider.getFontSelector(FAMILIES, fc));
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void boundedCacheEvictsLeastRecentlyUsedTest() {
+        FontSet fontSet = createFontSet();
+        FontSelectorCache cache = new FontSelectorCache(4);
+        FontProvider provider = new FontProvider(fontSet, "Helvetica", cache);
+        FontCharacteristics fc = new FontCharacteristics();
+
+        FontSelector first = provider.getFontSelector(Collections.singletonList("family0"), fc);
+        for (int i = 1; i < 4; i++) {
+            provider.getFontSelector(Collections.singletonList("family" + i), fc);
+        }
+        // make the first selector the most recently used one
+        Assert.assertSame(first, provider.getFontSelector(Collections.singletonList("family0"), fc));
+        provider.getFontSelector(Collections.singletonList("family4"), fc);
+
+        Assert.assertTrue(cache.size() <= 4);
+        Assert.assertSame(first, provider.getFontSelector(Collections.singletonList("family0"), fc));
+    }
+
+    private static FontSet createFontSet() {
+        FontSet fontSet = new FontSet();
+        fontSet.addFont(StandardFonts.TIMES_ROMAN, null, "times");
+        fontSet.addFont(StandardFonts.COURIER);
+        fontSet.addFont(StandardFonts.HELVETICA);
+        return fontSet;
+    }
+}
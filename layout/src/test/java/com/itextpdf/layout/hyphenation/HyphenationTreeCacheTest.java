@@ -0,0 +1,171 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.hyphenation;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Category(UnitTest.class)
+public class HyphenationTreeCacheTest extends ExtendedITextTest {
+
+    @Test
+    public void concurrentRequestsLoadTreeOnceTest() throws Exception {
+        final HyphenationTreeCache cache = new HyphenationTreeCache();
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger loads = new AtomicInteger();
+        final Supplier<HyphenationTree> loader = new Supplier<HyphenationTree>() {
+            @Override
+            public HyphenationTree get() {
+                loads.incrementAndGet();
+                try {
+                    // keep the other threads waiting for the loaded tree
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new HyphenationTree();
+            }
+        };
+
+        int threadsCount = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadsCount);
+        try {
+            List<Future<HyphenationTree>> results = new ArrayList<>();
+            for (int i = 0; i < threadsCount; i++) {
+                results.add(executorService.submit(new Callable<HyphenationTree>() {
+                    @Override
+                    public HyphenationTree call() throws InterruptedException {
+                        start.await();
+                        return cache.getHyphenationTree("de", "CH", loader);
+                    }
+                }));
+            }
+            start.countDown();
+            HyphenationTree tree = results.get(0).get();
+            Assert.assertNotNull(tree);
+            for (Future<HyphenationTree> result : results) {
+                Assert.assertSame(tree, result.get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(1, cache.getLoadCount());
+        Assert.assertSame(cache.getHyphenationTree("de", "CH"), cache.getHyphenationTree("de", "CH", loader));
+    }
+
+    @Test
+    public void notLoadedTreeIsNotCachedTest() {
+        HyphenationTreeCache cache = new HyphenationTreeCache();
+        Assert.assertNull(cache.getHyphenationTree("xx", null, new TreeLoader(null)));
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(1, cache.getLoadCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedTreeIsEvictedTest() {
+        HyphenationTreeCache cache = new HyphenationTreeCache(2);
+        HyphenationTree en = new HyphenationTree();
+        HyphenationTree de = new HyphenationTree();
+        cache.cache("en", en);
+        cache.cache("de", de);
+        // make "de" the least recently used one
+        Assert.assertSame(en, cache.getHyphenationTree("en", null));
+        cache.cache("fr", new HyphenationTree());
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertSame(en, cache.getHyphenationTree("en", null));
+        Assert.assertNull(cache.getHyphenationTree("de", null));
+        Assert.assertNotNull(cache.getHyphenationTree("fr", null));
+    }
+
+    @Test
+    public void statisticsTest() {
+        HyphenationTreeCache cache = new HyphenationTreeCache();
+        HyphenationTree tree = new HyphenationTree();
+        cache.getHyphenationTree("en", "GB", new TreeLoader(tree));
+        cache.getHyphenationTree("en", "GB", new TreeLoader(tree));
+        cache.getHyphenationTree("en", "GB");
+
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cache.getLoadCount());
+        Assert.assertTrue(cache.getTotalLoadTime() >= 0);
+    }
+
+    @Test
+    public void languageTreeIsUsedForCountryTest() {
+        HyphenationTreeCache cache = new HyphenationTreeCache();
+        HyphenationTree tree = new HyphenationTree();
+        cache.cache("en", tree);
+        Assert.assertSame(tree, cache.getHyphenationTree("en", "GB", new TreeLoader(null)));
+        Assert.assertEquals(0, cache.getLoadCount());
+    }
+
+    private static class TreeLoader implements Supplier<HyphenationTree> {
+        private final HyphenationTree tree;
+
+        TreeLoader(HyphenationTree tree) {
+            this.tree = tree;
+        }
+
+        @Override
+        public HyphenationTree get() {
+            return tree;
+        }
+    }
+}
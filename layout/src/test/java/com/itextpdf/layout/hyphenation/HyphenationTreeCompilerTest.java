@@ -0,0 +1,196 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.hyphenation;
+
+import com.itextpdf.io.util.ResourceUtil;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+@Category(UnitTest.class)
+public class HyphenationTreeCompilerTest extends ExtendedITextTest {
+
+    private static final String PATTERNS_WITH_HYPHEN_EXCEPTION = "<?xml version=\"1.0\" encoding=\"utf-8\"?>"
+            + "<hyphenation-info><hyphen-char value=\"-\"/><hyphen-min before=\"2\" after=\"2\"/>"
+            + "<classes>aA bB cC eE kK rR</classes>"
+            + "<exceptions>ba-ker ba<hyphen pre=\"k\" no=\"c\" post=\"k\"/>ker</exceptions>"
+            + "<patterns>1ba 1ke 1ker</patterns>"
+            + "</hyphenation-info>";
+
+    @Rule
+    public ExpectedException junitExpectedException = ExpectedException.none();
+
+    @Test
+    public void compiledPatternsHyphenateAsXmlPatternsTest() throws IOException, HyphenationException {
+        String[] words = {"associate", "declination", "hyphenation", "performance", "representation",
+                "uncharacteristically", "a", ""};
+        assertSameHyphenation("en", words);
+    }
+
+    @Test
+    public void compiledGermanPatternsHyphenateAsXmlPatternsTest() throws IOException, HyphenationException {
+        String[] words = {"Silbentrennung", "Donaudampfschifffahrt", "Zusammenarbeit", "Bibliotheken"};
+        assertSameHyphenation("de", words);
+    }
+
+    @Test
+    public void compiledHyphenExceptionTest() throws IOException, HyphenationException {
+        HyphenationTree xmlTree = new HyphenationTree();
+        xmlTree.loadPatterns(new ByteArrayInputStream(PATTERNS_WITH_HYPHEN_EXCEPTION.getBytes(StandardCharsets.UTF_8)),
+                "test");
+        HyphenationTree compiledTree = compile(xmlTree);
+
+        Assert.assertEquals(xmlTree.stoplist.keySet(), compiledTree.stoplist.keySet());
+        Hyphen hyphen = (Hyphen) compiledTree.stoplist.get("backer").get(1);
+        Assert.assertEquals("k", hyphen.preBreak);
+        Assert.assertEquals("c", hyphen.noBreak);
+        Assert.assertEquals("k", hyphen.postBreak);
+        Assert.assertEquals(String.valueOf(xmlTree.hyphenate("baker", 2, 2)),
+                String.valueOf(compiledTree.hyphenate("baker", 2, 2)));
+    }
+
+    @Test
+    public void compileDirectoryAndLoadMappedPatternsTest() throws IOException, HyphenationException {
+        String sourceFolder = "./target/test/com/itextpdf/layout/hyphenation/HyphenationTreeCompilerTest/";
+        createOrClearDestinationFolder(sourceFolder);
+        try (InputStream in = ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + "en.xml");
+                OutputStream out = new FileOutputStream(sourceFolder + "xx.xml")) {
+            StreamUtil.transferBytes(in, out);
+        }
+
+        Assert.assertEquals(1, HyphenationTreeCompiler.compileDirectory(sourceFolder, sourceFolder));
+        Assert.assertTrue(new File(sourceFolder + "xx" + HyphenationConstants.COMPILED_PATTERNS_EXTENSION).isFile());
+        // remove the XML patterns to make sure that the compiled ones are loaded
+        Assert.assertTrue(new File(sourceFolder + "xx.xml").delete());
+        HyphenationTree tree = Hyphenator.getHyphenationTree(sourceFolder, "xx");
+        Assert.assertNotNull(tree);
+        Assert.assertEquals(String.valueOf(loadXml("en").hyphenate("hyphenation", 2, 2)),
+                String.valueOf(tree.hyphenate("hyphenation", 2, 2)));
+    }
+
+    @Test
+    public void truncatedCompiledPatternsTest() throws IOException, HyphenationException {
+        junitExpectedException.expect(HyphenationException.class);
+
+        byte[] compiled = compileResource("en");
+        new HyphenationTree().loadCompiledPatterns(ByteBuffer.wrap(Arrays.copyOf(compiled, compiled.length / 2)), "en");
+    }
+
+    @Test
+    public void hugeArrayLengthInCompiledPatternsTest() throws IOException, HyphenationException {
+        junitExpectedException.expect(HyphenationException.class);
+
+        new HyphenationTree().loadCompiledPatterns(ByteBuffer.wrap(compileResourceWithCorruptedLength("en", Integer.MAX_VALUE)), "en");
+    }
+
+    @Test
+    public void negativeArrayLengthInCompiledPatternsTest() throws IOException, HyphenationException {
+        junitExpectedException.expect(HyphenationException.class);
+
+        new HyphenationTree().loadCompiledPatterns(ByteBuffer.wrap(compileResourceWithCorruptedLength("en", -2)), "en");
+    }
+
+    @Test
+    public void notCompiledPatternsTest() throws HyphenationException {
+        junitExpectedException.expect(HyphenationException.class);
+
+        new HyphenationTree().loadCompiledPatterns(ByteBuffer.wrap("<?xml version=\"1.0\"?>".getBytes(StandardCharsets.ISO_8859_1)), "en");
+    }
+
+    private static void assertSameHyphenation(String key, String[] words) throws IOException, HyphenationException {
+        HyphenationTree xmlTree = loadXml(key);
+        HyphenationTree compiledTree = new HyphenationTree();
+        compiledTree.loadCompiledPatterns(ByteBuffer.wrap(compileResource(key)), key);
+        for (String word : words) {
+            Assert.assertEquals(word, String.valueOf(xmlTree.hyphenate(word, 2, 2)),
+                    String.valueOf(compiledTree.hyphenate(word, 2, 2)));
+        }
+    }
+
+    private static HyphenationTree compile(HyphenationTree tree) throws IOException, HyphenationException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        tree.writeCompiledPatterns(baos);
+        HyphenationTree compiledTree = new HyphenationTree();
+        compiledTree.loadCompiledPatterns(ByteBuffer.wrap(baos.toByteArray()), "test");
+        return compiledTree;
+    }
+
+    private static byte[] compileResource(String key) throws IOException, HyphenationException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (InputStream in = ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + ".xml")) {
+            HyphenationTreeCompiler.compile(in, key, baos);
+        }
+        return baos.toByteArray();
+    }
+
+    private static byte[] compileResourceWithCorruptedLength(String key, int length) throws IOException, HyphenationException {
+        byte[] compiled = compileResource(key);
+        // the length of the first array follows the magic number, the root, the free node and the tree length
+        ByteBuffer.wrap(compiled).putInt(12, length);
+        return compiled;
+    }
+
+    private static HyphenationTree loadXml(String key) throws IOException, HyphenationException {
+        HyphenationTree tree = new HyphenationTree();
+        try (InputStream in = ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + ".xml")) {
+            tree.loadPatterns(in, key);
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.property;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PropertyMapTest extends ExtendedITextTest {
+
+    @Test
+    public void nullValueTest() {
+        PropertyMap properties = new PropertyMap();
+        Assert.assertFalse(properties.hasProperty(Property.FONT));
+        properties.setProperty(Property.FONT, null);
+        Assert.assertTrue(properties.hasProperty(Property.FONT));
+        Assert.assertNull(properties.getProperty(Property.FONT));
+        Assert.assertEquals(1, properties.size());
+        properties.deleteProperty(Property.FONT);
+        Assert.assertFalse(properties.hasProperty(Property.FONT));
+        Assert.assertTrue(properties.isEmpty());
+    }
+
+    @Test
+    public void behavesAsHashMapTest() {
+        Random random = new Random(7);
+        PropertyMap properties = new PropertyMap();
+        Map<Integer, Object> expected = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            // negative and large keys may be used for custom properties
+            int key = random.nextInt(300) - 20;
+            switch (random.nextInt(3)) {
+                case 0:
+                    Object value = random.nextInt(10) == 0 ? null : (Object) i;
+                    Assert.assertEquals(expected.put(key, value), properties.setProperty(key, value));
+                    break;
+                case 1:
+                    Assert.assertEquals(expected.remove(key), properties.deleteProperty(key));
+                    break;
+                default:
+                    Assert.assertEquals(expected.get(key), properties.getProperty(key));
+                    Assert.assertEquals(expected.containsKey(key), properties.hasProperty(key));
+                    break;
+            }
+            Assert.assertEquals(expected.size(), properties.size());
+        }
+        Assert.assertEquals(expected, properties);
+        Assert.assertEquals(expected.hashCode(), properties.hashCode());
+        Assert.assertEquals(expected, new PropertyMap(expected));
+        Assert.assertEquals(expected, new PropertyMap(properties));
+    }
+
+    @Test
+    public void iteratorRemoveTest() {
+        PropertyMap properties = new PropertyMap();
+        for (int i = 1; i <= 50; i++) {
+            properties.setProperty(i, i);
+        }
+        Iterator<Map.Entry<Integer, Object>> iterator = properties.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Object> entry = iterator.next();
+            if (entry.getKey() % 2 == 0) {
+                iterator.remove();
+            } else {
+                entry.setValue(-entry.getKey());
+            }
+        }
+        Assert.assertEquals(25, properties.size());
+        for (int i = 1; i <= 50; i++) {
+            Assert.assertEquals(i % 2 == 0 ? null : (Object) (-i), properties.getProperty(i));
+        }
+    }
+
+    @Test
+    public void putAllTest() {
+        PropertyMap source = new PropertyMap();
+        source.setProperty(Property.FONT_SIZE, 12);
+        source.setProperty(Property.BOLD_SIMULATION, true);
+        PropertyMap target = new PropertyMap();
+        target.putAll(source);
+        target.setProperty(Property.ITALIC_SIMULATION, true);
+        Assert.assertEquals(2, source.size());
+        Assert.assertEquals(3, target.size());
+        Assert.assertEquals(12, target.getProperty(Property.FONT_SIZE));
+
+        Map<Integer, Object> hashMap = new HashMap<>();
+        PropertyMap.setProperty(hashMap, Property.FONT_SIZE, 10);
+        Assert.assertEquals(10, PropertyMap.getProperty(hashMap, Property.FONT_SIZE));
+        Assert.assertTrue(PropertyMap.hasProperty(hashMap, Property.FONT_SIZE));
+        target.putAll(hashMap);
+        Assert.assertEquals(10, target.getProperty(Property.FONT_SIZE));
+    }
+}
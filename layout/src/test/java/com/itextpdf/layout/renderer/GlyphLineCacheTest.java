@@ -0,0 +1,129 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.font.PdfType3Font;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class GlyphLineCacheTest extends ExtendedITextTest {
+
+    @Test
+    public void repeatedTextReturnsIndependentCopiesTest() throws IOException {
+        PdfFont pdfFont = PdfFontFactory.createFont();
+        GlyphLine first = GlyphLineCache.createGlyphLine(pdfFont, "cached text");
+        GlyphLine second = GlyphLineCache.createGlyphLine(pdfFont, "cached text");
+
+        Assert.assertEquals(first, second);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(pdfFont.getGlyph(' ').getCode(), second.get(6).getCode());
+
+        second.set(0, pdfFont.getGlyph('x'));
+        Assert.assertEquals(first, GlyphLineCache.createGlyphLine(pdfFont, "cached text"));
+    }
+
+    @Test
+    public void longTextIsNotCachedTest() throws IOException {
+        PdfFont pdfFont = PdfFontFactory.createFont();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i <= GlyphLineCache.MAX_TEXT_LENGTH; i++) {
+            text.append('a');
+        }
+        GlyphLine glyphLine = GlyphLineCache.createGlyphLine(pdfFont, text.toString());
+        Assert.assertEquals(GlyphLineCache.MAX_TEXT_LENGTH + 1, glyphLine.size());
+        Assert.assertNull(GlyphLineCache.createShapingKey(glyphLine, null, null, false));
+    }
+
+    @Test
+    public void shapedGlyphLineTest() throws IOException {
+        PdfFont pdfFont = PdfFontFactory.createFont();
+        GlyphLine text = GlyphLineCache.createGlyphLine(pdfFont, "shaped");
+        GlyphLineCache.ShapingKey key = GlyphLineCache.createShapingKey(text, Character.UnicodeScript.LATIN, null, true);
+        Assert.assertNull(GlyphLineCache.getShapedGlyphLine(pdfFont, key));
+
+        GlyphLine shaped = new GlyphLine(text);
+        shaped.set(0, new Glyph(pdfFont.getGlyph('S')));
+        GlyphLineCache.putShapedGlyphLine(pdfFont, key, shaped, false);
+
+        GlyphLineCache.ShapingKey sameKey = GlyphLineCache.createShapingKey(
+                GlyphLineCache.createGlyphLine(pdfFont, "shaped"), Character.UnicodeScript.LATIN, null, true);
+        GlyphLineCache.ShapedGlyphLine cached = GlyphLineCache.getShapedGlyphLine(pdfFont, sameKey);
+        Assert.assertNotNull(cached);
+        Assert.assertEquals(shaped, cached.glyphLine);
+        Assert.assertNotSame(shaped, cached.glyphLine);
+        Assert.assertFalse(cached.rightToLeftScript);
+
+        Assert.assertNull(GlyphLineCache.getShapedGlyphLine(pdfFont,
+                GlyphLineCache.createShapingKey(text, Character.UnicodeScript.LATIN, null, false)));
+    }
+
+    @Test
+    public void addingGlyphsToFontInvalidatesCacheTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        pdfDocument.addNewPage();
+        PdfType3Font type3Font = PdfFontFactory.createType3Font(pdfDocument, false);
+        type3Font.addGlyph('a', 600, 0, 0, 600, 700);
+        GlyphLine glyphLine = GlyphLineCache.createGlyphLine(type3Font, "ab");
+        Assert.assertEquals(1, glyphLine.size());
+
+        type3Font.addGlyph('b', 600, 0, 0, 600, 700);
+        glyphLine = GlyphLineCache.createGlyphLine(type3Font, "ab");
+        Assert.assertEquals(2, glyphLine.size());
+        Assert.assertEquals('b', glyphLine.get(1).getUnicode());
+        pdfDocument.close();
+    }
+}
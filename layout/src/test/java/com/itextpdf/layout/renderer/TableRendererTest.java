@@ -117,4 +117,59 @@ public class TableRendererTest extends ExtendedITextTest {
 
         Assert.assertFalse(grandChildren[0].isOriginalNonSplitRenderer);
     }
+
+    @Test
+    public void minMaxWidthIsRecalculatedAfterDescendantChangeTest() {
+        Document doc = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())));
+        Table table = new Table(2);
+        table.addCell("Hello");
+        table.addCell("World");
+
+        TableRenderer tableRenderer = (TableRenderer) table.createRendererSubTree().setParent(doc.getRenderer());
+        MinMaxWidth minMaxWidth = tableRenderer.getMinMaxWidth();
+        float maxWidth = minMaxWidth.getMaxWidth();
+
+        // the returned value is a copy, so modifying it doesn't affect the next calls
+        minMaxWidth.setAdditionalWidth(100);
+        Assert.assertEquals(maxWidth, tableRenderer.getMinMaxWidth().getMaxWidth(), 0.001);
+
+        IRenderer paragraphRenderer = tableRenderer.rows.get(0)[0].getChildRenderers().get(0);
+        paragraphRenderer.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(30));
+        Assert.assertTrue(tableRenderer.getMinMaxWidth().getMaxWidth() > maxWidth);
+    }
+
+    @Test
+    public void minMaxWidthIsRecalculatedAfterInheritedTablePropertyChangeTest() {
+        Document doc = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())));
+        Table table = new Table(2);
+        table.addCell("Hello");
+        table.addCell("World");
+
+        TableRenderer tableRenderer = (TableRenderer) table.createRendererSubTree().setParent(doc.getRenderer());
+        tableRenderer.getMinMaxWidth();
+        tableRenderer.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(30));
+        float maxWidth = tableRenderer.getMinMaxWidth().getMaxWidth();
+
+        TableRenderer freshTableRenderer = (TableRenderer) table.createRendererSubTree().setParent(doc.getRenderer());
+        freshTableRenderer.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(30));
+        Assert.assertEquals(freshTableRenderer.getMinMaxWidth().getMaxWidth(), maxWidth, 0.001);
+    }
+
+    @Test
+    public void minMaxWidthIsRecalculatedAfterNestedTableChangeTest() {
+        Document doc = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())));
+        Table nestedTable = new Table(1);
+        nestedTable.addCell("Nested");
+        Table table = new Table(2);
+        table.addCell("Hello");
+        table.addCell(nestedTable);
+
+        TableRenderer tableRenderer = (TableRenderer) table.createRendererSubTree().setParent(doc.getRenderer());
+        float maxWidth = tableRenderer.getMinMaxWidth().getMaxWidth();
+
+        TableRenderer nestedTableRenderer = (TableRenderer) tableRenderer.rows.get(0)[1].getChildRenderers().get(0);
+        IRenderer paragraphRenderer = nestedTableRenderer.rows.get(0)[0].getChildRenderers().get(0);
+        paragraphRenderer.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(30));
+        Assert.assertTrue(tableRenderer.getMinMaxWidth().getMaxWidth() > maxWidth);
+    }
 }